@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# Measures the time from launch until the application reports readiness and the latency of the
+# first parse request, for every packaging that has been built:
+#
+#   jar     target/csr-parser-0.0.1.jar              mvn package
+#   cds     target/cds/ with the csr-parser.jsa     mvn -Pcds package
+#   native  target/csr-parser                       mvn -Pnative native:compile
+#
+# Usage: scripts/startup-benchmark.sh [runs] [application arguments...]
+# e.g.   scripts/startup-benchmark.sh 5 --csr.parser.warmup.enabled=false
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+PORT=${PORT:-18080}
+SAMPLE=src/main/resources/warmup/sample.csr
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+LOG=$PWD/target/startup-benchmark.log
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# runs a command in another directory, e.g. target/cds, whose archive only matches the classpath it was recorded with
+run_in() {
+    cd "$1"
+    shift
+    exec "$@"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+measure() {
+    local name=$1
+    shift
+    local startup=() first=()
+    for ((run = 1; run <= RUNS; run++)); do
+        local start
+        start=$(now_ms)
+        "$@" --server.port="$PORT" --logging.file.name="$LOG" "${ARGS[@]}" > /dev/null 2>&1 &
+        local pid=$!
+        until curl -sf "http://localhost:$PORT/actuator/health/readiness" > /dev/null 2>&1; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$name: application exited before it became ready, see $LOG" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        startup+=($(( $(now_ms) - start )))
+        first+=($(curl -s -o /dev/null -w '%{time_total}' -F "csr=@$SAMPLE" "http://localhost:$PORT/api/parse-csr" \
+                | awk '{ printf "%.1f", $1 * 1000 }'))
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+    done
+    printf '%-7s ready after %6s ms   first request %6s ms   (median of %d runs)\n' "$name" \
+            "$(printf '%s\n' "${startup[@]}" | median)" "$(printf '%s\n' "${first[@]}" | median)" "$RUNS"
+}
+
+ARGS=("$@")
+if [[ -f target/csr-parser-0.0.1.jar ]]; then
+    measure jar "$JAVA" -jar target/csr-parser-0.0.1.jar
+fi
+if [[ -f target/cds/csr-parser.jsa ]]; then
+    # -Xshare:on fails the run if the archive cannot be used rather than silently running without it
+    measure cds run_in target/cds "$JAVA" -Xshare:on -XX:SharedArchiveFile=csr-parser.jsa -jar csr-parser-0.0.1.jar
+fi
+if [[ -x target/csr-parser ]]; then
+    measure native target/csr-parser
+fi
@@ -0,0 +1,139 @@
+package com.example.project.csr.parser.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.PKCS10CertificationRequestBuilder;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+import org.bouncycastle.util.io.pem.PemReader;
+
+import com.example.project.csr.parser.container.Container;
+
+/**
+ * CSR fixtures for the benchmarks. Apart from the static sample CSR, the fixtures are generated
+ * once per benchmark trial so that key types, subject sizes and SAN counts can be varied freely.
+ *
+ */
+public enum CsrFixtures {
+
+    SAMPLE,
+    RSA_2048,
+    RSA_4096,
+    EC_P256,
+    RSA_2048_LARGE_SUBJECT,
+    RSA_2048_MANY_SAN;
+
+    private static final BouncyCastleProvider PROVIDER = new BouncyCastleProvider();
+    private static final int LARGE_SUBJECT_UNITS = 20;
+    private static final int MANY_SAN_COUNT = 500;
+
+    /**
+     * Creates the PEM encoding of this fixture.
+     *
+     * @return the PEM encoded CSR
+     */
+    public String pem() {
+        if (this == SAMPLE) {
+            return Container.SAMPLE_CSR;
+        }
+        try {
+            StringWriter out = new StringWriter();
+            try (JcaPEMWriter writer = new JcaPEMWriter(out)) {
+                writer.writeObject(generate());
+            }
+            return out.toString();
+        } catch (IOException | OperatorCreationException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate fixture " + name(), e);
+        }
+    }
+
+    /**
+     * Converts a PEM encoded CSR to its DER encoding.
+     *
+     * @param pem the PEM encoded CSR
+     * @return the DER encoding
+     */
+    public static byte[] der(String pem) {
+        try (PemReader reader = new PemReader(new StringReader(pem))) {
+            return reader.readPemObject().getContent();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private PKCS10CertificationRequest generate() throws GeneralSecurityException, IOException, OperatorCreationException {
+        KeyPair keyPair;
+        String signatureAlgorithm;
+        switch (this) {
+            case RSA_4096 -> {
+                keyPair = rsa(4096);
+                signatureAlgorithm = "SHA256withRSA";
+            }
+            case EC_P256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"), new SecureRandom());
+                keyPair = generator.generateKeyPair();
+                signatureAlgorithm = "SHA256withECDSA";
+            }
+            default -> {
+                keyPair = rsa(2048);
+                signatureAlgorithm = "SHA256withRSA";
+            }
+        }
+
+        PKCS10CertificationRequestBuilder builder = new JcaPKCS10CertificationRequestBuilder(subject(), keyPair.getPublic());
+        if (this == RSA_2048_MANY_SAN) {
+            GeneralName[] names = new GeneralName[MANY_SAN_COUNT];
+            for (int i = 0; i < MANY_SAN_COUNT; i++) {
+                names[i] = new GeneralName(GeneralName.dNSName, "host" + i + ".domain.de");
+            }
+            ExtensionsGenerator extensions = new ExtensionsGenerator();
+            extensions.addExtension(Extension.subjectAlternativeName, false, new GeneralNames(names));
+            builder.addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest, extensions.generate());
+        }
+        return builder.build(new JcaContentSignerBuilder(signatureAlgorithm).setProvider(PROVIDER).build(keyPair.getPrivate()));
+    }
+
+    private X500Name subject() {
+        X500NameBuilder builder = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.C, "DE")
+                .addRDN(BCStyle.O, "MyCompany");
+        if (this == RSA_2048_LARGE_SUBJECT) {
+            builder.addRDN(BCStyle.ST, "Berlin")
+                    .addRDN(BCStyle.L, "Berlin");
+            for (int i = 0; i < LARGE_SUBJECT_UNITS; i++) {
+                builder.addRDN(BCStyle.OU, "Unit " + i);
+            }
+            builder.addRDN(BCStyle.SURNAME, "Mustermann")
+                    .addRDN(BCStyle.GIVENNAME, "Erika")
+                    .addRDN(BCStyle.T, "Engineer")
+                    .addRDN(BCStyle.EmailAddress, "info@domain.de");
+        }
+        return builder.addRDN(BCStyle.CN, "www.domain.de").build();
+    }
+
+    private static KeyPair rsa(int bits) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(bits, new SecureRandom());
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.project.csr.parser.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.project.csr.parser.benchmark.CsrFixtures;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.service.ParsCsrService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Serialization of a parse result with every field and extension selected, as JSON by Jackson and
+ * as CBOR by the {@link CsrCborEncoder}, both into a discarding stream. The payload sizes of both
+ * encodings are printed once per trial.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsrEncodingBenchmark {
+
+    @Param({"SAMPLE", "EC_P256", "RSA_2048_LARGE_SUBJECT", "RSA_2048_MANY_SAN"})
+    public CsrFixtures fixture;
+
+    private final ObjectWriter jsonWriter = new ObjectMapper().writerFor(Csr.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private Csr csr;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ParsCsrService parsCsrService = ParsCsrServiceFixture.parsCsrService().build();
+        ParseOptions options = ParseOptions.builder()
+                .verifySignature(true)
+                .extensions(EnumSet.allOf(CsrExtension.class))
+                .fields(EnumSet.allOf(CsrField.class))
+                .build();
+        csr = parsCsrService.parsePKCS10CertificationRequest(
+                new PKCS10CertificationRequest(CsrFixtures.der(fixture.pem())).getEncoded(), options);
+
+        CountingStream json = new CountingStream();
+        jsonWriter.writeValue(json, csr);
+        CountingStream cbor = new CountingStream();
+        CborWriter writer = new CborWriter(cbor);
+        CsrCborEncoder.write(writer, csr);
+        writer.flush();
+        System.out.printf("%n%s: JSON %d bytes, CBOR %d bytes%n", fixture, json.count, cbor.count);
+    }
+
+    /**
+     * JSON encoding by Jackson, as written for the dashboard.
+     */
+    @Benchmark
+    public void json() throws IOException {
+        jsonWriter.writeValue(sink, csr);
+    }
+
+    /**
+     * CBOR encoding with integer keys and precomputed enum names.
+     */
+    @Benchmark
+    public void cbor() throws IOException {
+        CborWriter writer = new CborWriter(sink);
+        CsrCborEncoder.write(writer, csr);
+        writer.flush();
+    }
+
+    private static final class CountingStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.project.csr.parser.service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.project.csr.parser.benchmark.CsrFixtures;
+import com.example.project.csr.parser.config.PolicyProperties;
+import com.example.project.csr.parser.config.PublicKeyProperties;
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+
+/**
+ * Cost of the policy checks: the evaluation of the compiled rules on their own, and the extraction
+ * with the policy enabled, to be compared with {@link ParsCsrServiceBenchmark#extractCsr()}.
+ * The policy allows a few hundred domains, so the SAN check runs against a trie of realistic size.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsrPolicyBenchmark {
+
+    private static final int ALLOWED_DOMAINS = 500;
+
+    @Param({"SAMPLE", "EC_P256", "RSA_2048_LARGE_SUBJECT", "RSA_2048_MANY_SAN"})
+    public CsrFixtures fixture;
+
+    private CsrPolicyEngine policyEngine;
+    private ParsCsrService parsCsrService;
+    private PKCS10CertificationRequest request;
+    private SignatureAlgorithm signatureAlgorithm;
+    private String signatureAlgorithmOid;
+    private PublicKeyInfo publicKey;
+    private List<CsrAttribute> attributes;
+    private List<String> dnsNames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        PolicyProperties properties = new PolicyProperties();
+        properties.setEnabled(true);
+        properties.setAllowedSignatureAlgorithms(EnumSet.of(SignatureAlgorithm.SHA256_WITH_RSA, SignatureAlgorithm.SHA256_WITH_ECDSA));
+        properties.setMinKeySize(Map.of(KeyAlgorithm.RSA, 2048, KeyAlgorithm.EC, 256));
+        properties.setRequiredSubjectAttributes(EnumSet.of(SubjectAttribute.COUNTRY, SubjectAttribute.ORGANIZATION,
+                SubjectAttribute.COMMON_NAME));
+        List<String> domains = new ArrayList<>(ALLOWED_DOMAINS);
+        for (int i = 0; i < ALLOWED_DOMAINS - 1; i++) {
+            domains.add("tenant" + i + ".example.com");
+        }
+        domains.add("domain.de");
+        properties.setAllowedDomains(domains);
+        policyEngine = new CsrPolicyEngine(properties);
+
+        ResultCacheProperties cacheProperties = new ResultCacheProperties();
+        cacheProperties.setEnabled(false);
+        PublicKeyAnalyzer publicKeyAnalyzer = new PublicKeyAnalyzer(new PublicKeyProperties());
+        parsCsrService = ParsCsrServiceFixture.parsCsrService().resultCache(cacheProperties).publicKeyAnalyzer(publicKeyAnalyzer)
+                .policyEngine(policyEngine).build();
+
+        request = new PKCS10CertificationRequest(CsrFixtures.der(fixture.pem()));
+        ASN1ObjectIdentifier oid = request.getSignatureAlgorithm().getAlgorithm();
+        signatureAlgorithmOid = oid.getId();
+        for (SignatureAlgorithm algorithm : SignatureAlgorithm.values()) {
+            if (algorithm.getOid().equals(signatureAlgorithmOid)) {
+                signatureAlgorithm = algorithm;
+            }
+        }
+        publicKey = publicKeyAnalyzer.analyze(request.getSubjectPublicKeyInfo());
+        attributes = parsCsrService.extractCsr(request, ParseOptions.builder()
+                .fields(EnumSet.of(CsrField.ATTRIBUTES)).build()).getAttributes();
+        dnsNames = CsrExtensionDecoder.dnsNames(CsrExtensionDecoder.subjectAltNames(request));
+    }
+
+    /**
+     * Evaluation of the compiled rules on values that are already extracted.
+     */
+    @Benchmark
+    public List<PolicyViolation> evaluate() {
+        return policyEngine.evaluate(signatureAlgorithm, signatureAlgorithmOid, publicKey, attributes, dnsNames);
+    }
+
+    /**
+     * Extraction of the default fields of an already parsed CSR with the policy checked in the same pass.
+     */
+    @Benchmark
+    public Csr extractCsrWithPolicy() throws Exception {
+        return parsCsrService.extractCsr(request, ParseOptions.DEFAULT);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.project.csr.parser.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.project.csr.parser.benchmark.CsrFixtures;
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.config.ReuseIndexProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.model.ReuseHits;
+
+/**
+ * Throughput of the CSR parsing hot path. The result cache is disabled so every invocation
+ * performs the full work. Run with {@code -prof gc} (the default of the benchmark profile)
+ * to also report the allocation rate per operation.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsCsrServiceBenchmark {
+
+    private static final ParseOptions ALL_EXTENSIONS =
+            ParseOptions.builder().extensions(EnumSet.allOf(CsrExtension.class)).build();
+    private static final ParseOptions ALGORITHM_ONLY =
+            ParseOptions.builder().fields(Set.of(CsrField.ALGORITHM)).build();
+    private static final ParseOptions TYPED =
+            ParseOptions.builder().fields(Set.of(CsrField.ATTRIBUTES, CsrField.SIGNATURE_ALGORITHM)).build();
+    private static final ParseOptions WITH_PUBLIC_KEY = ParseOptions.builder()
+            .fields(Set.of(CsrField.SUBJECT, CsrField.ALGORITHM, CsrField.SUBJECT_ALT_NAME, CsrField.PUBLIC_KEY)).build();
+    private static final ParseOptions COMMON_NAME_ONLY =
+            ParseOptions.builder().fields(Set.of(CsrField.COMMON_NAME)).build();
+
+    @Param({"SAMPLE", "RSA_2048", "RSA_4096", "EC_P256", "RSA_2048_LARGE_SUBJECT", "RSA_2048_MANY_SAN"})
+    public CsrFixtures fixture;
+
+    private ParsCsrService parsCsrService;
+    private CsrReuseIndex reuseIndex;
+    private MockMultipartFile file;
+    private byte[] der;
+    private byte[] pem;
+    private PKCS10CertificationRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ResultCacheProperties cacheProperties = new ResultCacheProperties();
+        cacheProperties.setEnabled(false);
+        parsCsrService = ParsCsrServiceFixture.parsCsrService().resultCache(cacheProperties).build();
+        ReuseIndexProperties reuseProperties = new ReuseIndexProperties();
+        reuseProperties.setEnabled(true);
+        reuseIndex = new CsrReuseIndex(reuseProperties);
+
+        pem = fixture.pem().getBytes();
+        file = new MockMultipartFile("csr", "bench.csr", "application/x-pem-file", pem);
+        der = CsrFixtures.der(fixture.pem());
+        request = new PKCS10CertificationRequest(der);
+    }
+
+    /**
+     * PEM decoding, ASN.1 parsing and extraction of an uploaded file.
+     */
+    @Benchmark
+    public Csr parsePKCS10CertificationRequest() throws IOException {
+        return parsCsrService.parsePKCS10CertificationRequest(file);
+    }
+
+    /**
+     * Decoding of an uploaded file into the DER encoding of its CSR, the allocation added to the
+     * ASN.1 parsing by the upload format.
+     */
+    @Benchmark
+    public byte[] decodeUpload() throws IOException {
+        return parsCsrService.decodeUpload(file.getInputStream());
+    }
+
+    /**
+     * PEM decoding, ASN.1 parsing and extraction of a raw text body.
+     */
+    @Benchmark
+    public Csr parseTextBody() throws IOException {
+        return parsCsrService.parseTextBody(new ByteArrayInputStream(pem), ParseOptions.DEFAULT);
+    }
+
+    /**
+     * ASN.1 parsing and extraction of an already DER encoded CSR.
+     */
+    @Benchmark
+    public Csr parseDer() {
+        return parsCsrService.parsePKCS10CertificationRequest(der);
+    }
+
+    /**
+     * ASN.1 parsing and extraction including the decoding of all supported extensions.
+     */
+    @Benchmark
+    public Csr parseDerWithExtensions() {
+        return parsCsrService.parsePKCS10CertificationRequest(der, ALL_EXTENSIONS);
+    }
+
+    /**
+     * ASN.1 parsing and extraction including the public key analysis.
+     */
+    @Benchmark
+    public Csr parseDerWithPublicKey() {
+        return parsCsrService.parsePKCS10CertificationRequest(der, WITH_PUBLIC_KEY);
+    }
+
+    /**
+     * Lazy ASN.1 parsing of the outer structure to read only the signature algorithm.
+     */
+    @Benchmark
+    public Csr parseDerAlgorithmOnly() {
+        return parsCsrService.parsePKCS10CertificationRequest(der, ALGORITHM_ONLY);
+    }
+
+    /**
+     * ASN.1 parsing and extraction of only the common name of the subject.
+     */
+    @Benchmark
+    public Csr parseDerCommonNameOnly() {
+        return parsCsrService.parsePKCS10CertificationRequest(der, COMMON_NAME_ONLY);
+    }
+
+    /**
+     * Lookup and update of the key and subject fingerprints in the reuse index, the cost added to
+     * every parse when the index is enabled.
+     */
+    @Benchmark
+    public ReuseHits recordReuse() {
+        return reuseIndex.record(der);
+    }
+
+    /**
+     * Extraction of the fields of an already parsed CSR.
+     */
+    @Benchmark
+    public Csr extractCsr() throws Exception {
+        return parsCsrService.extractCsr(request, ParseOptions.DEFAULT);
+    }
+
+    /**
+     * Extraction of the typed attributes and signature algorithm of an already parsed CSR,
+     * without formatting the subject as strings.
+     */
+    @Benchmark
+    public Csr extractCsrTyped() throws Exception {
+        return parsCsrService.extractCsr(request, TYPED);
+    }
+}
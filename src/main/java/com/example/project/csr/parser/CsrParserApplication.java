@@ -0,0 +1,32 @@
+package com.example.project.csr.parser;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.example.project.csr.parser.cli.BulkScanRunner;
+import com.example.project.csr.parser.config.CsrParserRuntimeHints;
+
+/**
+ * Entry point of the CSR parser application. Started with a {@code csr.parser.scan.input}, given on
+ * the command line, as a system property or as an environment variable, it runs a bulk scan without
+ * a web server and exits when the scan is finished.
+ *
+ */
+@SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(CsrParserRuntimeHints.class)
+public class CsrParserApplication {
+
+    public static void main(String[] args) {
+        String[] arguments = BulkScanRunner.normalizeArgs(args);
+        SpringApplication application = new SpringApplication(CsrParserApplication.class);
+        if (BulkScanRunner.isBulkScan(arguments)) {
+            application.setWebApplicationType(WebApplicationType.NONE);
+            System.exit(SpringApplication.exit(application.run(arguments)));
+        }
+        application.run(arguments);
+    }
+}
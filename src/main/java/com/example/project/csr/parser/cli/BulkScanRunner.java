@@ -0,0 +1,96 @@
+package com.example.project.csr.parser.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.ScanProperties;
+import com.example.project.csr.parser.model.ScanSummary;
+import com.example.project.csr.parser.service.BulkScanService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the offline bulk scan when the application is started with a {@code csr.parser.scan.input},
+ * e.g. {@code --csr.parser.scan.input=<path>}.
+ *
+ */
+@Component
+@ConditionalOnProperty(prefix = "csr.parser.scan", name = "input")
+@Slf4j
+public class BulkScanRunner implements CommandLineRunner {
+
+    /**
+     * Property that switches the application into bulk scan mode
+     */
+    public static final String INPUT_PROPERTY = "csr.parser.scan.input";
+
+    private static final String SCAN_OPTION_PREFIX = "--csr.parser.scan.";
+
+    private final BulkScanService bulkScanService;
+    private final ScanProperties scanProperties;
+
+    /**
+     * Constructs a new BulkScanRunner.
+     *
+     * @param bulkScanService The service performing the scan
+     * @param scanProperties The scan configuration
+     */
+    public BulkScanRunner(BulkScanService bulkScanService, ScanProperties scanProperties) {
+        this.bulkScanService = bulkScanService;
+        this.scanProperties = scanProperties;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path output = scanProperties.resolveOutput();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            ScanSummary summary = bulkScanService.scan(scanProperties.getInput(), out);
+            log.info("Report with {} items written to {}", summary.getCsrs(), output.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Checks whether the application is started for a bulk scan, that is whether a scan input is set
+     * on the command line, as a system property ({@code -Dcsr.parser.scan.input}) or as an environment
+     * variable ({@code CSR_PARSER_SCAN_INPUT}).
+     *
+     * @param args the command line arguments of the application, as returned by {@link #normalizeArgs}
+     * @return {@code true} if a scan input is given
+     */
+    public static boolean isBulkScan(String... args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return Binder.get(environment).bind(INPUT_PROPERTY, Path.class).isBound();
+    }
+
+    /**
+     * Joins scan options given as {@code --csr.parser.scan.<name> <value>} into the
+     * {@code --csr.parser.scan.<name>=<value>} form Spring Boot reads from the command line.
+     *
+     * @param args the command line arguments of the application
+     * @return the arguments with every scan option carrying its value
+     */
+    public static String[] normalizeArgs(String... args) {
+        List<String> result = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith(SCAN_OPTION_PREFIX) && arg.indexOf('=') < 0
+                    && i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                arg = arg + "=" + args[++i];
+            }
+            result.add(arg);
+        }
+        return result.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.project.csr.parser.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Minimal CBOR (RFC 8949) writer for the data items the parse results consist of: maps, arrays,
+ * integers, booleans and text strings. Items are encoded into a buffer of its own that is written
+ * to the target stream when it is full or flushed. Text is UTF-8 encoded directly into the buffer,
+ * without an intermediate byte array per string; ASCII text is copied in bulk.
+ * <p>
+ * Not thread-safe; a writer belongs to one response.
+ *
+ */
+public final class CborWriter {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1 << 5;
+    private static final int MAJOR_TEXT = 3 << 5;
+    private static final int MAJOR_ARRAY = 4 << 5;
+    private static final int MAJOR_MAP = 5 << 5;
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+
+    // the longest header is the initial byte and an eight byte argument, the longest character four bytes
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Constructs a new CborWriter with a buffer of 512 bytes. Response bodies are buffered by the
+     * server anyway, so a small buffer only saves the per-item calls into it.
+     *
+     * @param out The stream the encoded items are written to
+     */
+    public CborWriter(OutputStream out) {
+        this(out, 512);
+    }
+
+    /**
+     * Constructs a new CborWriter.
+     *
+     * @param out The stream the encoded items are written to
+     * @param bufferSize The size of the buffer, at least 16 bytes
+     */
+    public CborWriter(OutputStream out, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Starts a map of the given number of entries, which must follow as alternating keys and values.
+     *
+     * @param size the number of entries
+     * @throws IOException if the buffer cannot be written
+     */
+    public void writeMapHeader(int size) throws IOException {
+        writeHeader(MAJOR_MAP, size);
+    }
+
+    /**
+     * Starts an array of the given number of items, which must follow.
+     *
+     * @param size the number of items
+     * @throws IOException if the buffer cannot be written
+     */
+    public void writeArrayHeader(int size) throws IOException {
+        writeHeader(MAJOR_ARRAY, size);
+    }
+
+    /**
+     * Writes an integer in its shortest encoding.
+     *
+     * @param value the integer
+     * @throws IOException if the buffer cannot be written
+     */
+    public void writeInt(long value) throws IOException {
+        if (value >= 0) {
+            writeHeader(MAJOR_UNSIGNED, value);
+        } else {
+            writeHeader(MAJOR_NEGATIVE, -1 - value);
+        }
+    }
+
+    /**
+     * Writes a boolean.
+     *
+     * @param value the boolean
+     * @throws IOException if the buffer cannot be written
+     */
+    public void writeBoolean(boolean value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) (value ? TRUE : FALSE);
+    }
+
+    /**
+     * Writes a text string. Unpaired surrogates are replaced by {@code ?}, as by {@link String#getBytes}.
+     *
+     * @param value the text
+     * @throws IOException if the buffer cannot be written
+     */
+    @SuppressWarnings("deprecation")
+    public void writeText(String value) throws IOException {
+        int length = value.length();
+        int ascii = asciiPrefix(value);
+        writeHeader(MAJOR_TEXT, ascii == length ? length : ascii + utf8Length(value, ascii));
+        // the ASCII prefix, usually the whole text, is its own UTF-8 encoding; the deprecated getBytes
+        // copies the low byte of every char straight from the compact string without an intermediate array
+        int i = 0;
+        while (i < ascii) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int end = Math.min(ascii, i + buffer.length - position);
+            value.getBytes(i, end, buffer, position);
+            position += end - i;
+            i = end;
+        }
+        for (; i < length; i++) {
+            ensure(4);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xe0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    /**
+     * Writes bytes that already hold one or more encoded data items.
+     *
+     * @param encoded the encoded items
+     * @throws IOException if the buffer cannot be written
+     */
+    public void writeEncoded(byte[] encoded) throws IOException {
+        if (encoded.length > buffer.length - position) {
+            drain();
+            if (encoded.length > buffer.length) {
+                out.write(encoded);
+                return;
+            }
+        }
+        System.arraycopy(encoded, 0, buffer, position, encoded.length);
+        position += encoded.length;
+    }
+
+    /**
+     * Writes the buffered items to the target stream and flushes it.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Encodes a text string into a standalone data item, e.g. to precompute the encoding of a constant.
+     *
+     * @param value the text
+     * @return the encoded text string
+     */
+    public static byte[] encodeText(String value) {
+        byte[] encoded = new byte[Math.max(MIN_BUFFER_SIZE, utf8Length(value, 0) + 9)];
+        CborWriter writer = new CborWriter(OutputStream.nullOutputStream(), encoded.length);
+        try {
+            writer.writeText(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Buffer of the exact size overflowed", e);
+        }
+        return Arrays.copyOf(writer.buffer, writer.position);
+    }
+
+    private void writeHeader(int major, long argument) throws IOException {
+        ensure(9);
+        if (argument < 24) {
+            buffer[position++] = (byte) (major | argument);
+        } else if (argument < 0x100) {
+            buffer[position++] = (byte) (major | 24);
+            buffer[position++] = (byte) argument;
+        } else if (argument < 0x1_0000) {
+            buffer[position++] = (byte) (major | 25);
+            writeBigEndian(argument, 2);
+        } else if (argument < 0x1_0000_0000L) {
+            buffer[position++] = (byte) (major | 26);
+            writeBigEndian(argument, 4);
+        } else {
+            buffer[position++] = (byte) (major | 27);
+            writeBigEndian(argument, 8);
+        }
+    }
+
+    private void writeBigEndian(long value, int bytes) {
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static int asciiPrefix(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int utf8Length(String value, int from) {
+        int length = value.length();
+        int encodedLength = length - from;
+        for (int i = from; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    encodedLength += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // four bytes for the two chars of the pair
+                    encodedLength += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    encodedLength += 2;
+                }
+            }
+        }
+        return encodedLength;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.project.csr.parser.codec;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.CsrExtensions;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.PolicyRule;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PssParameters;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.example.project.csr.parser.model.ReuseHits;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+
+/**
+ * Encodes parse results as CBOR for machine clients. Every object is a map keyed by small integers
+ * instead of the JSON property names, so a key takes a single byte; fields that are absent in the
+ * JSON are absent from the map as well. Enum values are text strings holding the same names as in
+ * the JSON, encoded once per constant. The keys of each object:
+ * <ul>
+ *     <li>{@code Csr}: 1 subject, 2 commonName, 3 publicKeyAlgorithm, 4 subjectAltName, 5 signatureValid,
+ *     6 extensions, 7 attributes, 8 signatureAlgorithm, 9 signatureAlgorithmOid, 10 publicKey, 11 reuse,
+ *     12 violations</li>
+ *     <li>{@code CsrExtensions}: 1 subjectAltNames, 2 keyUsage, 3 extendedKeyUsage, 4 ca, 5 pathLengthConstraint</li>
+ *     <li>{@code CsrAttribute}: 1 type, 2 oid, 3 value</li>
+ *     <li>{@code PublicKeyInfo}: 1 algorithm, 2 oid, 3 keySize, 4 curve, 5 pss, 6 fingerprint, 7 blocklisted</li>
+ *     <li>{@code PssParameters}: 1 hashAlgorithm, 2 maskGenHashAlgorithm, 3 saltLength</li>
+ *     <li>{@code ReuseHits}: 1 previousKeyUses, 2 previousSubjectUses, 3 reused</li>
+ *     <li>{@code PolicyViolation}: 1 rule, 2 message</li>
+ *     <li>{@code CsrBatchItem}: 1 index, 2 source, 3 csr, 4 error</li>
+ * </ul>
+ * Keys are only ever added, never renumbered, so older clients keep working.
+ *
+ */
+public final class CsrCborEncoder {
+
+    private static final byte[][] SIGNATURE_ALGORITHMS = encodedNames(SignatureAlgorithm.values());
+    private static final byte[][] KEY_ALGORITHMS = encodedNames(KeyAlgorithm.values());
+    private static final byte[][] SUBJECT_ATTRIBUTES = encodedNames(SubjectAttribute.values());
+    private static final byte[][] POLICY_RULES = encodedNames(PolicyRule.values());
+
+    private CsrCborEncoder() {
+    }
+
+    /**
+     * Writes a parse result.
+     *
+     * @param writer The writer of the response
+     * @param csr The parse result
+     * @throws IOException if the response cannot be written
+     */
+    public static void write(CborWriter writer, Csr csr) throws IOException {
+        writer.writeMapHeader(present(csr.getSubject()) + present(csr.getCommonName()) + present(csr.getPublicKeyAlgorithm())
+                + present(csr.getSubjectAltName()) + present(csr.getSignatureValid()) + present(csr.getExtensions())
+                + present(csr.getAttributes()) + present(csr.getSignatureAlgorithm()) + present(csr.getSignatureAlgorithmOid())
+                + present(csr.getPublicKey()) + present(csr.getReuse()) + present(csr.getViolations()));
+        if (csr.getSubject() != null) {
+            writer.writeInt(1);
+            writeTexts(writer, csr.getSubject());
+        }
+        writeText(writer, 2, csr.getCommonName());
+        writeText(writer, 3, csr.getPublicKeyAlgorithm());
+        if (csr.getSubjectAltName() != null) {
+            writer.writeInt(4);
+            writeTexts(writer, csr.getSubjectAltName());
+        }
+        writeBoolean(writer, 5, csr.getSignatureValid());
+        if (csr.getExtensions() != null) {
+            writer.writeInt(6);
+            writeExtensions(writer, csr.getExtensions());
+        }
+        if (csr.getAttributes() != null) {
+            writer.writeInt(7);
+            writer.writeArrayHeader(csr.getAttributes().size());
+            for (CsrAttribute attribute : csr.getAttributes()) {
+                writeAttribute(writer, attribute);
+            }
+        }
+        if (csr.getSignatureAlgorithm() != null) {
+            writer.writeInt(8);
+            writer.writeEncoded(SIGNATURE_ALGORITHMS[csr.getSignatureAlgorithm().ordinal()]);
+        }
+        writeText(writer, 9, csr.getSignatureAlgorithmOid());
+        if (csr.getPublicKey() != null) {
+            writer.writeInt(10);
+            writePublicKey(writer, csr.getPublicKey());
+        }
+        if (csr.getReuse() != null) {
+            writer.writeInt(11);
+            writeReuse(writer, csr.getReuse());
+        }
+        if (csr.getViolations() != null) {
+            writer.writeInt(12);
+            writer.writeArrayHeader(csr.getViolations().size());
+            for (PolicyViolation violation : csr.getViolations()) {
+                writer.writeMapHeader(2);
+                writer.writeInt(1);
+                writer.writeEncoded(POLICY_RULES[violation.getRule().ordinal()]);
+                writer.writeInt(2);
+                writer.writeText(violation.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the result of one CSR of a batch or stream.
+     *
+     * @param writer The writer of the response
+     * @param item The result of the CSR
+     * @throws IOException if the response cannot be written
+     */
+    public static void write(CborWriter writer, CsrBatchItem item) throws IOException {
+        writer.writeMapHeader(1 + present(item.getSource()) + present(item.getCsr()) + present(item.getError()));
+        writer.writeInt(1);
+        writer.writeInt(item.getIndex());
+        writeText(writer, 2, item.getSource());
+        if (item.getCsr() != null) {
+            writer.writeInt(3);
+            write(writer, item.getCsr());
+        }
+        writeText(writer, 4, item.getError());
+    }
+
+    private static void writeExtensions(CborWriter writer, CsrExtensions extensions) throws IOException {
+        writer.writeMapHeader(present(extensions.getSubjectAltNames()) + present(extensions.getKeyUsage())
+                + present(extensions.getExtendedKeyUsage()) + present(extensions.getCa())
+                + present(extensions.getPathLengthConstraint()));
+        if (extensions.getSubjectAltNames() != null) {
+            writer.writeInt(1);
+            writeTexts(writer, extensions.getSubjectAltNames());
+        }
+        if (extensions.getKeyUsage() != null) {
+            writer.writeInt(2);
+            writeTexts(writer, extensions.getKeyUsage());
+        }
+        if (extensions.getExtendedKeyUsage() != null) {
+            writer.writeInt(3);
+            writeTexts(writer, extensions.getExtendedKeyUsage());
+        }
+        writeBoolean(writer, 4, extensions.getCa());
+        writeInt(writer, 5, extensions.getPathLengthConstraint());
+    }
+
+    private static void writeAttribute(CborWriter writer, CsrAttribute attribute) throws IOException {
+        writer.writeMapHeader(present(attribute.getType()) + present(attribute.getOid()) + present(attribute.getValue()));
+        if (attribute.getType() != null) {
+            writer.writeInt(1);
+            writer.writeEncoded(SUBJECT_ATTRIBUTES[attribute.getType().ordinal()]);
+        }
+        writeText(writer, 2, attribute.getOid());
+        writeText(writer, 3, attribute.getValue());
+    }
+
+    private static void writePublicKey(CborWriter writer, PublicKeyInfo publicKey) throws IOException {
+        writer.writeMapHeader(present(publicKey.getAlgorithm()) + present(publicKey.getOid()) + present(publicKey.getKeySize())
+                + present(publicKey.getCurve()) + present(publicKey.getPss()) + present(publicKey.getFingerprint())
+                + present(publicKey.getBlocklisted()));
+        if (publicKey.getAlgorithm() != null) {
+            writer.writeInt(1);
+            writer.writeEncoded(KEY_ALGORITHMS[publicKey.getAlgorithm().ordinal()]);
+        }
+        writeText(writer, 2, publicKey.getOid());
+        writeInt(writer, 3, publicKey.getKeySize());
+        writeText(writer, 4, publicKey.getCurve());
+        if (publicKey.getPss() != null) {
+            PssParameters pss = publicKey.getPss();
+            writer.writeInt(5);
+            writer.writeMapHeader(present(pss.getHashAlgorithm()) + present(pss.getMaskGenHashAlgorithm()) + 1);
+            writeText(writer, 1, pss.getHashAlgorithm());
+            writeText(writer, 2, pss.getMaskGenHashAlgorithm());
+            writer.writeInt(3);
+            writer.writeInt(pss.getSaltLength());
+        }
+        writeText(writer, 6, publicKey.getFingerprint());
+        writeBoolean(writer, 7, publicKey.getBlocklisted());
+    }
+
+    private static void writeReuse(CborWriter writer, ReuseHits reuse) throws IOException {
+        writer.writeMapHeader(2 + present(reuse.getPreviousSubjectUses()));
+        writer.writeInt(1);
+        writer.writeInt(reuse.getPreviousKeyUses());
+        writeInt(writer, 2, reuse.getPreviousSubjectUses());
+        writer.writeInt(3);
+        writer.writeBoolean(reuse.isReused());
+    }
+
+    private static void writeTexts(CborWriter writer, List<String> values) throws IOException {
+        writer.writeArrayHeader(values.size());
+        for (String value : values) {
+            writer.writeText(value);
+        }
+    }
+
+    private static void writeText(CborWriter writer, int key, String value) throws IOException {
+        if (value != null) {
+            writer.writeInt(key);
+            writer.writeText(value);
+        }
+    }
+
+    private static void writeInt(CborWriter writer, int key, Integer value) throws IOException {
+        if (value != null) {
+            writer.writeInt(key);
+            writer.writeInt(value);
+        }
+    }
+
+    private static void writeBoolean(CborWriter writer, int key, Boolean value) throws IOException {
+        if (value != null) {
+            writer.writeInt(key);
+            writer.writeBoolean(value);
+        }
+    }
+
+    private static int present(Object value) {
+        return value != null ? 1 : 0;
+    }
+
+    private static byte[][] encodedNames(Enum<?>[] constants) {
+        byte[][] names = new byte[constants.length][];
+        for (Enum<?> constant : constants) {
+            names[constant.ordinal()] = CborWriter.encodeText(constant.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.project.csr.parser.codec;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrBatchItem;
+
+/**
+ * Writes parse results as {@code application/cbor} with the {@link CsrCborEncoder}: a single
+ * {@link Csr}, or the list of {@link CsrBatchItem}s of a batch as an array. The items are encoded
+ * straight into the response body. Registered after the JSON converter, so CBOR is only chosen
+ * when the client asks for it.
+ *
+ */
+public class CsrCborHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    /**
+     * Constructs a new CsrCborHttpMessageConverter.
+     */
+    public CsrCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Csr.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (supports(clazz) || isBatch(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // the element type of a batch is only known from the generic type passed to canWrite
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CborWriter writer = new CborWriter(outputMessage.getBody());
+        if (value instanceof Csr csr) {
+            CsrCborEncoder.write(writer, csr);
+        } else {
+            List<?> items = (List<?>) value;
+            writer.writeArrayHeader(items.size());
+            for (Object item : items) {
+                CsrCborEncoder.write(writer, (CsrBatchItem) item);
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CBOR request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CBOR request bodies are not supported", inputMessage);
+    }
+
+    private static boolean isBatch(Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass()) && resolved.getGeneric(0).toClass() == CsrBatchItem.class;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.example.project.csr.parser.controller.AdmissionFilter;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.service.AdaptiveConcurrencyLimiter;
+
+/**
+ * Places admission control in front of the parse, batch, stream and job endpoints, unless
+ * {@code csr.parser.admission.enabled=false} or the application runs without a web server. The
+ * endpoints share one concurrency limit and one budget of request bytes in flight.
+ *
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "csr.parser.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    /**
+     * Registers the admission filter ahead of the request parsing of Spring MVC, so a request is
+     * rejected before its multipart body is read.
+     *
+     * @param properties the admission control configuration
+     * @param streamProperties the streaming configuration
+     * @param metrics the instrumentation of the parsing path
+     * @param exceptionResolver the resolver that renders rejections like other API errors
+     * @return the registration of the admission filter
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionProperties properties, StreamProperties streamProperties,
+                                                                   CsrParserMetrics metrics,
+                                                                   @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(),
+                properties.getMinLimit(), properties.getMaxLimit());
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionFilter(properties, streamProperties, limiter, metrics, exceptionResolver));
+        registration.addUrlPatterns("/api/parse-csr", "/api/parse-csr/*", "/api/jobs");
+        // after the observation filter, so rejected requests are still recorded as HTTP server requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
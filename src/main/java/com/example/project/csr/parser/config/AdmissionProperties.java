@@ -0,0 +1,54 @@
+package com.example.project.csr.parser.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the admission control of the parse endpoint, bound from {@code csr.parser.admission.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.admission")
+public class AdmissionProperties {
+
+    /**
+     * Whether requests to the parse endpoint pass admission control.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of concurrent requests admitted before the limit has adapted to the observed latency.
+     */
+    private int initialLimit = 32;
+
+    /**
+     * Lower bound of the adaptive concurrency limit.
+     */
+    private int minLimit = 4;
+
+    /**
+     * Upper bound of the adaptive concurrency limit.
+     */
+    private int maxLimit = 512;
+
+    /**
+     * Maximum total size in bytes of the request bodies being processed at the same time.
+     * A request without a Content-Length is counted with {@link #maxRequestSize}.
+     */
+    private long maxInFlightBytes = 64L * 1024 * 1024;
+
+    /**
+     * Maximum size in bytes of a single request, checked against its Content-Length before the body is read.
+     */
+    private long maxRequestSize = 1024L * 1024;
+
+    /**
+     * Delay sent in the Retry-After header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
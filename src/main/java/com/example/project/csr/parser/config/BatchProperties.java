@@ -0,0 +1,40 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for batch CSR parsing, bound from {@code csr.parser.batch.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.batch")
+public class BatchProperties {
+
+    /**
+     * Number of worker threads used to parse batch items. Zero or less uses one thread per available core.
+     */
+    private int threads = 0;
+
+    /**
+     * Maximum number of parse tasks waiting for a worker before the submitting thread runs them itself.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Maximum number of CSRs accepted in a single batch request.
+     */
+    private int maxItems = 1000;
+
+    /**
+     * Resolves the effective number of worker threads.
+     *
+     * @return the configured thread count, or the number of available cores if none is configured
+     */
+    public int resolveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.project.csr.parser.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.project.csr.parser.codec.CsrCborHttpMessageConverter;
+
+/**
+ * Offers parse results as CBOR next to JSON. The converter is appended behind the default ones,
+ * so a request without an {@code Accept} header, or with a wildcard one as sent by the dashboard,
+ * still gets JSON.
+ *
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CsrCborHttpMessageConverter());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.project.csr.parser.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Executor service that limits how many tasks run at the same time on a delegate that would
+ * otherwise start every task immediately, such as a virtual-thread-per-task executor.
+ * When the limit is reached, {@link #execute(Runnable)} blocks the submitting thread until a task
+ * finishes, which applies the same backpressure as a bounded pool running tasks in the caller.
+ *
+ */
+class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final TaskDecorator decorator;
+
+    /**
+     * Constructs a new ConcurrencyLimitedExecutorService.
+     *
+     * @param delegate The executor running the tasks
+     * @param maxConcurrency The maximum number of tasks running at the same time
+     * @param decorator The decorator applied to every task, e.g. to carry over the MDC of the submitter
+     */
+    ConcurrencyLimitedExecutorService(ExecutorService delegate, int maxConcurrency, TaskDecorator decorator) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+        this.decorator = decorator;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a free execution slot", e);
+        }
+        Runnable task = decorator.decorate(command);
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
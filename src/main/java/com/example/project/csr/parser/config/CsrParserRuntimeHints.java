@@ -0,0 +1,70 @@
+package com.example.project.csr.parser.config;
+
+import java.security.Provider;
+import java.util.List;
+import java.util.Set;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.example.project.csr.parser.logging.JsonLogEncoder;
+import com.example.project.csr.parser.service.ParserWarmup;
+
+/**
+ * Registers the reflection and resource hints a native image of the parser needs beyond the ones
+ * Spring derives on its own.
+ * <p>
+ * The BouncyCastle provider loads its algorithm mappings by class name and instantiates every
+ * algorithm implementation reflectively, neither of which a native image can see. Only the
+ * mappings of the key and digest algorithms a CSR is verified with are registered; the provider
+ * skips the mappings it cannot load, so the algorithms the parser never uses stay out of the image.
+ *
+ */
+public class CsrParserRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String PROVIDER_PACKAGE = "org.bouncycastle.jcajce.provider.";
+
+    // mappings class of an algorithm family and the prefix of the implementations it registers
+    private static final List<String[]> MAPPINGS = List.of(
+            new String[] {"asymmetric.RSA$Mappings", "asymmetric.rsa."},
+            new String[] {"asymmetric.DSA$Mappings", "asymmetric.dsa."},
+            new String[] {"asymmetric.EC$Mappings", "asymmetric.ec."},
+            new String[] {"asymmetric.EdEC$Mappings", "asymmetric.edec."},
+            new String[] {"digest.SHA1$Mappings", "digest.SHA1$"},
+            new String[] {"digest.SHA224$Mappings", "digest.SHA224$"},
+            new String[] {"digest.SHA256$Mappings", "digest.SHA256$"},
+            new String[] {"digest.SHA384$Mappings", "digest.SHA384$"},
+            new String[] {"digest.SHA512$Mappings", "digest.SHA512$"});
+
+    private static final Set<String> SERVICE_TYPES = Set.of("Signature", "KeyFactory", "AlgorithmParameters", "MessageDigest");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern(ParserWarmup.SAMPLE);
+        hints.reflection().registerType(JsonLogEncoder.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        for (String[] mapping : MAPPINGS) {
+            hints.reflection().registerType(TypeReference.of(PROVIDER_PACKAGE + mapping[0]),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        // the implementations are read from a provider instance, so they match the BouncyCastle version on the classpath
+        for (Provider.Service service : new BouncyCastleProvider().getServices()) {
+            if (SERVICE_TYPES.contains(service.getType()) && isMapped(service.getClassName())) {
+                hints.reflection().registerType(TypeReference.of(service.getClassName()),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        }
+    }
+
+    private static boolean isMapped(String className) {
+        for (String[] mapping : MAPPINGS) {
+            if (className.startsWith(PROVIDER_PACKAGE + mapping[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.project.csr.parser.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for asynchronous parse jobs, bound from {@code csr.parser.jobs.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.jobs")
+public class JobProperties {
+
+    /**
+     * Directory the uploaded bundles and the results of jobs are spilled to.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "csr-parser-jobs");
+
+    /**
+     * Number of jobs that run at the same time. The CSRs of each job are parsed on the batch executor.
+     */
+    private int threads = 2;
+
+    /**
+     * Maximum number of jobs waiting for a job thread. Further submissions are rejected with 503.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Maximum number of queued and running jobs per tenant. Further submissions are rejected with 429.
+     */
+    private int maxActiveJobsPerTenant = 4;
+
+    /**
+     * Maximum size of an uploaded bundle in bytes.
+     */
+    private long maxUploadSize = 1024L * 1024 * 1024;
+
+    /**
+     * Number of results per page returned when polling a job.
+     */
+    private int pageSize = 100;
+
+    /**
+     * Time a finished job and its results are kept before they are deleted.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Interval at which expired jobs are deleted in the background, so their files do not outlive the
+     * retention period on an idle node. Zero or negative only deletes them on submit and poll.
+     */
+    private Duration expiryInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,63 @@
+package com.example.project.csr.parser.config;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+import com.example.project.csr.parser.controller.CorrelationIdFilter;
+
+/**
+ * Tags the log lines of every request with a correlation ID, including the lines written by the
+ * tasks a request hands to the application task executor, e.g. streamed responses.
+ *
+ */
+@Configuration
+public class LoggingConfig {
+
+    /**
+     * Registers the correlation ID filter ahead of every other filter, so that admission control
+     * and observation already log with the ID.
+     *
+     * @return the registration of the correlation ID filter
+     */
+    @Bean
+    public FilterRegistrationBean<CorrelationIdFilter> correlationIdFilter() {
+        FilterRegistrationBean<CorrelationIdFilter> registration = new FilterRegistrationBean<>(new CorrelationIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Copies the MDC of the submitting thread into the tasks of the application task executor, which
+     * runs the asynchronous part of streamed responses, and of the parser executor. The MDC the task
+     * finds is restored afterwards, since the parser executor may run a task on the submitting thread.
+     *
+     * @return the decorator applied to the application task executor
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the request logging, bound from {@code csr.parser.logging.*}.
+ * Only the per-request success lines are sampled; failures are always logged.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.logging")
+public class LoggingProperties {
+
+    /**
+     * Fraction of successful requests that are logged, between 0 and 1.
+     */
+    private double successSampleRate = 1.0;
+
+    /**
+     * Maximum number of success lines logged per second across all requests. Zero or negative logs
+     * every sampled line.
+     */
+    private int successMaxPerSecond = 10;
+
+    /**
+     * Capacity of the queue of each asynchronous appender, read by {@code logback-spring.xml}.
+     */
+    private int queueSize = 8192;
+}
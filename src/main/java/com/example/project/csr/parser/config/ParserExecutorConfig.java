@@ -0,0 +1,79 @@
+package com.example.project.csr.parser.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Configures the bounded executor used to fan out CSR parsing work across the available cores.
+ * With {@code spring.threads.virtual.enabled=true}, which also moves Tomcat request handling to
+ * virtual threads, the parse tasks run on virtual threads as well.
+ *
+ */
+@Configuration
+public class ParserExecutorConfig {
+
+    /**
+     * Creates a fixed-size executor with a bounded work queue. When the queue is full the submitting
+     * thread parses the item itself, which throttles producers instead of growing the heap.
+     *
+     * @param batchProperties the batch configuration
+     * @param mdcTaskDecorator the decorator carrying the MDC of the submitting request into every task
+     * @return the executor used for parallel CSR parsing
+     */
+    @Bean(name = "csrParserExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService csrParserExecutor(BatchProperties batchProperties, TaskDecorator mdcTaskDecorator) {
+        int threads = batchProperties.resolveThreads();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("csr-parser-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()) {
+            @Override
+            public void execute(Runnable command) {
+                super.execute(mdcTaskDecorator.decorate(command));
+            }
+        };
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per parse task. The number of tasks running
+     * at the same time is limited to the configured thread count, and submitters block while the
+     * limit is reached, so the fan-out stays bounded like its platform-thread counterpart.
+     *
+     * @param batchProperties the batch configuration
+     * @param mdcTaskDecorator the decorator carrying the MDC of the submitting request into every task
+     * @return the executor used for parallel CSR parsing
+     */
+    @Bean(name = "csrParserExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualCsrParserExecutor(BatchProperties batchProperties, TaskDecorator mdcTaskDecorator) {
+        return new ConcurrencyLimitedExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("csr-parser-", 0).factory()),
+                batchProperties.resolveThreads(), mdcTaskDecorator);
+    }
+
+    /**
+     * Creates the executor that runs asynchronous parse jobs, each of which fans its CSRs out to the
+     * parser executor. Jobs beyond the queue capacity are rejected rather than queued without bound.
+     *
+     * @param jobProperties the job configuration
+     * @return the executor used for asynchronous parse jobs
+     */
+    @Bean(name = "csrJobExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService csrJobExecutor(JobProperties jobProperties) {
+        return new ThreadPoolExecutor(jobProperties.getThreads(), jobProperties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(jobProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("csr-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
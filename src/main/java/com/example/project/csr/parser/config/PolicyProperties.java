@@ -0,0 +1,55 @@
+package com.example.project.csr.parser.config;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the policy checks evaluated while a CSR is parsed, bound from
+ * {@code csr.parser.policy.*}. A rule that is left empty is not checked.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.policy")
+public class PolicyProperties {
+
+    /**
+     * Whether every parsed CSR is checked against the policy and its violations are reported.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Signature algorithms a CSR may be signed with, e.g. {@code SHA256_WITH_RSA}. Algorithms that are not
+     * one of the {@link SignatureAlgorithm}s are never allowed once the list is set.
+     */
+    private Set<SignatureAlgorithm> allowedSignatureAlgorithms = EnumSet.noneOf(SignatureAlgorithm.class);
+
+    /**
+     * Minimum size in bits of the subject public key per key algorithm, e.g. {@code RSA=2048} and {@code EC=256}.
+     */
+    private Map<KeyAlgorithm, Integer> minKeySize = new EnumMap<>(KeyAlgorithm.class);
+
+    /**
+     * Attributes the subject must contain, e.g. {@code COUNTRY}, {@code ORGANIZATION} and {@code COMMON_NAME}.
+     */
+    private Set<SubjectAttribute> requiredSubjectAttributes = EnumSet.noneOf(SubjectAttribute.class);
+
+    /**
+     * Domains the DNS names of the subject alternative name extension must belong to. A domain allows
+     * itself and all of its subdomains, e.g. {@code domain.de} allows {@code www.domain.de} and
+     * {@code *.domain.de}.
+     */
+    private List<String> allowedDomains = List.of();
+}
@@ -0,0 +1,29 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the public key analysis, bound from {@code csr.parser.public-key.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.public-key")
+public class PublicKeyProperties {
+
+    /**
+     * Location of the weak key blocklist, e.g. {@code file:/etc/csr-parser/weak-keys.txt}. The file lists the
+     * hex encoded SHA-256 fingerprints of the DER encoded SubjectPublicKeyInfo of blocked keys, one per line.
+     * No key is blocked if no location is configured.
+     */
+    private Resource blocklist;
+
+    /**
+     * Maximum number of decoded key algorithm parameters, e.g. named curves, kept in the cache.
+     */
+    private long parameterCacheSize = 1_000;
+}
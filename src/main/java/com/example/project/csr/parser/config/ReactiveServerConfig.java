@@ -0,0 +1,96 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import com.example.project.csr.parser.controller.ReactiveParserHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the reactive parse API on a Netty server of its own when {@code csr.parser.reactive.enabled=true}.
+ * The application itself stays a servlet application, so the reactive routes are served on a separate
+ * port rather than by Tomcat. The servlet filters for admission control and the correlation ID do not
+ * apply to this port.
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "csr.parser.reactive", name = "enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    /**
+     * Creates the Netty server of the reactive parse API. It is started and stopped with the
+     * application context.
+     *
+     * @param handler the handler of the reactive routes
+     * @param objectMapper the object mapper shared with the servlet API, so both APIs render the same JSON
+     * @param properties the reactive API configuration
+     * @return the reactive server
+     */
+    @Bean
+    public ReactiveParserServer reactiveParserServer(ReactiveParserHandler handler, ObjectMapper objectMapper,
+                                                     ReactiveServerProperties properties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        WebHttpHandlerBuilder httpHandler = WebHttpHandlerBuilder.webHandler(
+                RouterFunctions.toWebHandler(handler.routes(), strategies));
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(properties.getPort());
+        factory.setAddress(properties.getAddress());
+        return new ReactiveParserServer(factory.getWebServer(httpHandler.build()));
+    }
+
+    /**
+     * The Netty server of the reactive parse API.
+     */
+    @Slf4j
+    public static class ReactiveParserServer implements SmartLifecycle {
+
+        private final WebServer webServer;
+        private volatile boolean running;
+
+        ReactiveParserServer(WebServer webServer) {
+            this.webServer = webServer;
+        }
+
+        @Override
+        public void start() {
+            webServer.start();
+            running = true;
+            log.info("Reactive parse API started on port {}", webServer.getPort());
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+            webServer.stop();
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        /**
+         * Returns the port the server listens on.
+         *
+         * @return the local port, or -1 if the server is not running
+         */
+        public int getPort() {
+            return webServer.getPort();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.project.csr.parser.config;
+
+import java.net.InetAddress;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the reactive parse API, bound from {@code csr.parser.reactive.*}.
+ * The reactive API runs on its own Netty server next to the servlet container.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.reactive")
+public class ReactiveServerProperties {
+
+    /**
+     * Whether the reactive parse API is started.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port of the reactive parse API. Zero selects a free port.
+     */
+    private int port = 8081;
+
+    /**
+     * Address the reactive parse API binds to. Defaults to all interfaces.
+     */
+    private InetAddress address;
+}
@@ -0,0 +1,33 @@
+package com.example.project.csr.parser.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the parse result cache, bound from {@code csr.parser.cache.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.cache")
+public class ResultCacheProperties {
+
+    /**
+     * Whether parse results are cached at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of parse results kept in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which a cached parse result expires.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
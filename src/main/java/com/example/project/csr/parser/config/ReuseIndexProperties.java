@@ -0,0 +1,35 @@
+package com.example.project.csr.parser.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the key reuse and duplicate subject index, bound from {@code csr.parser.reuse.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.reuse")
+public class ReuseIndexProperties {
+
+    /**
+     * Whether every parsed CSR is recorded in the index and its reuse hits are reported.
+     */
+    private boolean enabled = false;
+
+    /**
+     * File the index is restored from at startup and saved to periodically and at shutdown.
+     * The index lives in memory only if no file is configured.
+     */
+    private Path snapshot;
+
+    /**
+     * Interval between two snapshots. Zero or negative saves the index at shutdown only.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+}
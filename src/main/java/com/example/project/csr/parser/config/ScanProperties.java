@@ -0,0 +1,92 @@
+package com.example.project.csr.parser.config;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.project.csr.parser.model.ScanFormat;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the offline bulk scan, bound from {@code csr.parser.scan.*}.
+ * Setting {@code input} starts the application as a command line tool instead of a web server.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.scan")
+public class ScanProperties {
+
+    /**
+     * Directory, zip archive or (gzipped) tar archive to scan.
+     */
+    private Path input;
+
+    /**
+     * File the report is written to. Defaults to {@code csr-scan-report.ndjson} or {@code csr-scan-report.csv}
+     * in the working directory.
+     */
+    private Path output;
+
+    /**
+     * Format of the report.
+     */
+    private ScanFormat format = ScanFormat.NDJSON;
+
+    /**
+     * File name extensions of the files that are scanned, without the leading dot.
+     */
+    private List<String> fileExtensions = List.of("csr", "pem", "der", "p10", "req");
+
+    /**
+     * Maximum size of a single scanned file. Larger files are reported as failed.
+     */
+    private int maxFileSize = 16 * 1024 * 1024;
+
+    /**
+     * Capacity of each of the queues between the read, parse and write stages.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Number of parse workers. Zero or less uses one worker per available core.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Whether the proof-of-possession signature of every CSR is verified.
+     */
+    private boolean verify = false;
+
+    /**
+     * Extensions to decode, e.g. {@code san,keyUsage}.
+     */
+    private List<String> extensions = List.of();
+
+    /**
+     * Fields of the result to extract, e.g. {@code cn,algorithm}. Empty selects the default fields.
+     */
+    private List<String> fields = List.of();
+
+    /**
+     * Resolves the file the report is written to.
+     *
+     * @return the configured output file, or the default report file for the configured format
+     */
+    public Path resolveOutput() {
+        return output != null ? output : Path.of("csr-scan-report." + format.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolves the effective number of parse workers.
+     *
+     * @return the configured worker count, or the number of available cores if none is configured
+     */
+    public int resolveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
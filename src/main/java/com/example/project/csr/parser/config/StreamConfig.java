@@ -0,0 +1,28 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies the timeout of {@link StreamProperties} to the asynchronous part of streamed responses.
+ * The stream endpoint is the only one answering asynchronously, so the default timeout of Spring MVC
+ * is its timeout. Registered after the auto-configuration, so it overrides
+ * {@code spring.mvc.async.request-timeout}.
+ *
+ */
+@Configuration
+public class StreamConfig implements WebMvcConfigurer {
+
+    private final StreamProperties streamProperties;
+
+    public StreamConfig(StreamProperties streamProperties) {
+        this.streamProperties = streamProperties;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // a negative timeout lets the container wait indefinitely
+        configurer.setDefaultTimeout(streamProperties.getTimeout().isPositive() ? streamProperties.getTimeout().toMillis() : -1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.project.csr.parser.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for streaming CSR parsing, bound from {@code csr.parser.stream.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.stream")
+public class StreamProperties {
+
+    /**
+     * Maximum size in bytes of a single DER encoded CSR. Larger objects are rejected without being buffered.
+     */
+    private int maxObjectSize = 64 * 1024;
+
+    /**
+     * Maximum number of CSRs parsed concurrently while streaming. Zero or less uses two per available core.
+     */
+    private int window = 0;
+
+    /**
+     * Maximum duration of a streamed response. Zero or less means no limit, so an arbitrarily large
+     * stream is not cut off by the 30 second default of the servlet container. Takes precedence over
+     * {@code spring.mvc.async.request-timeout}.
+     */
+    private Duration timeout = Duration.ZERO;
+
+    /**
+     * Resolves the effective number of CSRs parsed concurrently.
+     *
+     * @return the configured window, or twice the number of available cores if none is configured
+     */
+    public int resolveWindow() {
+        return window > 0 ? window : 2 * Runtime.getRuntime().availableProcessors();
+    }
+}
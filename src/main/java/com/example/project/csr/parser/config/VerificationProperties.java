@@ -0,0 +1,21 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for CSR signature verification, bound from {@code csr.parser.verification.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.verification")
+public class VerificationProperties {
+
+    /**
+     * Maximum number of content verifier providers cached per public key and signature algorithm.
+     */
+    private long verifierCacheSize = 10_000;
+}
@@ -0,0 +1,27 @@
+package com.example.project.csr.parser.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the warm-up of the parse path at startup, bound from
+ * {@code csr.parser.warmup.*}.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "csr.parser.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether a sample CSR is parsed before the application reports readiness.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of times the sample CSR is parsed.
+     */
+    private int iterations = 200;
+}
@@ -0,0 +1,425 @@
+package com.example.project.csr.parser.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.example.project.csr.parser.config.AdmissionProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.exceptions.handler.ErrorHandler;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.metrics.CsrParserMetrics.Rejection;
+import com.example.project.csr.parser.service.AdaptiveConcurrencyLimiter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control in front of the parse, batch, stream and job endpoints. A request is rejected
+ * before its body is read if its Content-Length exceeds the request size limit (413), if admitting it
+ * would exceed the budget of request bytes in flight (503), or if the adaptive concurrency limit has
+ * been reached (429). A chunked body is cut off with 413 once it exceeds the request size limit. Raw
+ * bodies are additionally checked on their first bytes, so a body that is neither DER nor text, or
+ * whose DER header announces an oversized CSR, is rejected (400 or 413) before it is read any further.
+ *
+ * <p>The bodies of the stream and job endpoints are not limited in size. They are consumed a few CSRs
+ * at a time and are counted against the budget with the CSRs they hold in memory.</p>
+ *
+ * <p>Rejections are rendered by the {@link ErrorHandler} like any other error of the API.</p>
+ *
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final int SNIFF_LENGTH = 16;
+    private static final int DER_SEQUENCE = 0x30;
+    private static final MediaType PEM = MediaType.parseMediaType("application/x-pem-file");
+    private static final MediaType PKCS10 = MediaType.parseMediaType("application/pkcs10");
+    private static final Set<String> STREAMED_PATHS = Set.of("/api/parse-csr/stream", "/api/jobs");
+
+    private final AdmissionProperties properties;
+    private final StreamProperties streamProperties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CsrParserMetrics metrics;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+
+    /**
+     * Constructs a new AdmissionFilter.
+     *
+     * @param properties The admission control configuration
+     * @param streamProperties The streaming configuration, which limits the size of a single CSR
+     * @param limiter The concurrency limiter of the parse endpoints
+     * @param metrics The instrumentation of the parsing path
+     * @param exceptionResolver The resolver that renders rejections through the {@link ErrorHandler}
+     */
+    public AdmissionFilter(AdmissionProperties properties, StreamProperties streamProperties,
+                           AdaptiveConcurrencyLimiter limiter, CsrParserMetrics metrics,
+                           HandlerExceptionResolver exceptionResolver) {
+        this.properties = properties;
+        this.streamProperties = streamProperties;
+        this.limiter = limiter;
+        this.metrics = metrics;
+        this.exceptionResolver = exceptionResolver;
+        metrics.registerAdmissionGauges(limiter::getLimit, inFlightBytes::get);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean streamed = STREAMED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+        long length = request.getContentLengthLong();
+        if (!streamed && length > properties.getMaxRequestSize()) {
+            reject(request, response, Rejection.SIZE, tooLarge());
+            return;
+        }
+        // a chunked body may grow up to the request size limit, a streamed body holds a window of CSRs at a time
+        long charged = streamed ? (long) streamProperties.resolveWindow() * streamProperties.getMaxObjectSize()
+                : length >= 0 ? length : properties.getMaxRequestSize();
+        if (inFlightBytes.addAndGet(charged) > properties.getMaxInFlightBytes()) {
+            inFlightBytes.addAndGet(-charged);
+            reject(request, response, Rejection.BYTES, new InvalidCsrFileExceptions(
+                    "Too many request bytes in flight, try again later", HttpStatus.SERVICE_UNAVAILABLE));
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            inFlightBytes.addAndGet(-charged);
+            reject(request, response, Rejection.CONCURRENCY, new InvalidCsrFileExceptions(
+                    "Too many concurrent requests, try again later", HttpStatus.TOO_MANY_REQUESTS));
+            return;
+        }
+        AdmittedRequest admitted = new AdmittedRequest(request, streamed ? Long.MAX_VALUE : properties.getMaxRequestSize());
+        // the duration of a stream follows the number of CSRs it carries, not the load of the server
+        Admission admission = new Admission(admitted, charged, !streamed);
+        boolean deferred = false;
+        try {
+            try {
+                if (!sniff(admitted)) {
+                    reject(request, response, Rejection.CONTENT, new InvalidCsrFileExceptions(
+                            "Input is not a valid PKCS#10 CSR", HttpStatus.BAD_REQUEST));
+                    return;
+                }
+            } catch (InvalidCsrFileExceptions e) {
+                reject(request, response, Rejection.SIZE, e);
+                return;
+            }
+            try {
+                chain.doFilter(admitted, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                if (!rejectTruncated(admitted, response)) {
+                    throw e;
+                }
+                return;
+            }
+            if (rejectTruncated(admitted, response)) {
+                return;
+            }
+            admission.completed = true;
+            if (request.isAsyncStarted()) {
+                // the body of a streamed response is read after the filter chain has returned
+                request.getAsyncContext().addListener(admission);
+                deferred = true;
+            }
+        } finally {
+            if (!deferred) {
+                admission.release();
+            }
+        }
+    }
+
+    private InvalidCsrFileExceptions tooLarge() {
+        return new InvalidCsrFileExceptions("Request body exceeds the maximum size of " + properties.getMaxRequestSize() + " bytes",
+                HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    /**
+     * Replaces the response to a body that was cut off at the request size limit, whatever the
+     * endpoint made of the failed read.
+     *
+     * @return whether the body was cut off and the request has been rejected
+     */
+    private boolean rejectTruncated(AdmittedRequest admitted, HttpServletResponse response) {
+        if (!admitted.exceeded || response.isCommitted()) {
+            return false;
+        }
+        response.reset();
+        reject(admitted, response, Rejection.SIZE, tooLarge());
+        return true;
+    }
+
+    /**
+     * Checks the first bytes of a raw body, which the admitted request replays. Multipart bodies are
+     * parsed by the container and checked by the endpoint itself.
+     *
+     * @return whether the body may hold a CSR
+     * @throws InvalidCsrFileExceptions if the DER header announces a CSR exceeding the maximum size
+     */
+    private boolean sniff(AdmittedRequest request) throws IOException {
+        MediaType contentType;
+        try {
+            contentType = request.getContentType() != null ? MediaType.parseMediaType(request.getContentType()) : null;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+        boolean der = MediaType.APPLICATION_OCTET_STREAM.equalsTypeAndSubtype(contentType) || PKCS10.equalsTypeAndSubtype(contentType);
+        boolean text = MediaType.TEXT_PLAIN.equalsTypeAndSubtype(contentType) || PEM.equalsTypeAndSubtype(contentType);
+        if (!der && !text) {
+            return true;
+        }
+        byte[] prefix = request.prefix(SNIFF_LENGTH);
+        // an empty body is reported by the endpoint
+        return prefix.length == 0 || (der ? isDerPrefix(prefix) : isTextPrefix(prefix));
+    }
+
+    private boolean isDerPrefix(byte[] prefix) {
+        if ((prefix[0] & 0xff) != DER_SEQUENCE || prefix.length < 2) {
+            return false;
+        }
+        int first = prefix[1] & 0xff;
+        if (first < 0x80) {
+            return true;
+        }
+        int lengthOctets = first & 0x7f;
+        if (lengthOctets == 0 || lengthOctets > 4 || prefix.length < 2 + lengthOctets) {
+            return false;
+        }
+        long length = 0;
+        for (int i = 0; i < lengthOctets; i++) {
+            length = (length << 8) | (prefix[2 + i] & 0xff);
+        }
+        if (2 + lengthOctets + length > streamProperties.getMaxObjectSize()) {
+            throw new InvalidCsrFileExceptions("CSR exceeds the maximum size of " + streamProperties.getMaxObjectSize() + " bytes",
+                    HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        return true;
+    }
+
+    /**
+     * Accepts printable ASCII and white space, which covers PEM armor, preamble lines and base64,
+     * and an optional UTF-8 byte order mark.
+     */
+    private static boolean isTextPrefix(byte[] prefix) {
+        int start = prefix.length >= 3 && (prefix[0] & 0xff) == 0xef && (prefix[1] & 0xff) == 0xbb && (prefix[2] & 0xff) == 0xbf ? 3 : 0;
+        for (int i = start; i < prefix.length; i++) {
+            byte b = prefix[i];
+            if ((b < 0x20 || b > 0x7e) && b != '\r' && b != '\n' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Rejection rejection,
+                        InvalidCsrFileExceptions exception) {
+        metrics.recordRejection(rejection);
+        log.warn("Rejected request to {}: {}", request.getRequestURI(), exception.getMessage());
+        HttpStatus status = exception.getResponseStatus();
+        if (status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, properties.getRetryAfter().toSeconds())));
+        }
+        // the body of a rejected request is not read; close the connection rather than drain it
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        exceptionResolver.resolveException(request, response, null, exception);
+    }
+
+    /**
+     * Admission of a request, released once its response is complete. A streamed response completes
+     * after the filter chain has returned.
+     */
+    private final class Admission implements AsyncListener {
+
+        private final AdmittedRequest request;
+        private final long charged;
+        private final boolean sampled;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean completed;
+
+        Admission(AdmittedRequest request, long charged, boolean sampled) {
+            this.request = request;
+            this.charged = charged;
+            this.sampled = sampled;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                // the limit follows the processing time of the server, not the time a client takes to send its body
+                limiter.release(System.nanoTime() - start - request.bodyNanos, completed && sampled);
+                inFlightBytes.addAndGet(-charged);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            completed = false;
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            completed = false;
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Request whose body is limited in size and starts with the bytes already read by {@link #sniff}.
+     * The time spent waiting for the body is accounted, so that it can be told apart from processing.
+     */
+    private static final class AdmittedRequest extends HttpServletRequestWrapper {
+
+        private final long maxSize;
+        private byte[] prefix = new byte[0];
+        private ServletInputStream in;
+        private volatile long bodyNanos;
+        private volatile boolean exceeded;
+
+        AdmittedRequest(HttpServletRequest request, long maxSize) {
+            super(request);
+            this.maxSize = maxSize;
+        }
+
+        byte[] prefix(int length) throws IOException {
+            prefix = super.getInputStream().readNBytes(length);
+            return prefix;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (in == null) {
+                in = new LimitedInputStream(this, super.getInputStream());
+            }
+            return in;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        // the container reads a multipart body while parsing its parts, bounded by the multipart size limits
+        @Override
+        public Collection<Part> getParts() throws IOException, ServletException {
+            long start = System.nanoTime();
+            try {
+                return super.getParts();
+            } finally {
+                bodyNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public Part getPart(String name) throws IOException, ServletException {
+            long start = System.nanoTime();
+            try {
+                return super.getPart(name);
+            } finally {
+                bodyNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private static final class LimitedInputStream extends ServletInputStream {
+
+        private final AdmittedRequest request;
+        private final byte[] prefix;
+        private final ServletInputStream body;
+        private int position;
+        private long count;
+
+        LimitedInputStream(AdmittedRequest request, ServletInputStream body) {
+            this.request = request;
+            this.prefix = request.prefix;
+            this.body = body;
+            this.count = prefix.length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position < prefix.length) {
+                return prefix[position++] & 0xff;
+            }
+            long start = System.nanoTime();
+            int b = body.read();
+            request.bodyNanos += System.nanoTime() - start;
+            return b < 0 ? b : counted(b, 1);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position < prefix.length) {
+                int read = Math.min(len, prefix.length - position);
+                System.arraycopy(prefix, position, b, off, read);
+                position += read;
+                return read;
+            }
+            long start = System.nanoTime();
+            int read = body.read(b, off, len);
+            request.bodyNanos += System.nanoTime() - start;
+            return read < 0 ? read : counted(read, read);
+        }
+
+        private int counted(int result, int read) throws IOException {
+            count += read;
+            if (count > request.maxSize) {
+                request.exceeded = true;
+                throw new IOException("Request body exceeds the maximum size of " + request.maxSize + " bytes");
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= prefix.length && body.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < prefix.length || body.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            body.setReadListener(readListener);
+        }
+    }
+}
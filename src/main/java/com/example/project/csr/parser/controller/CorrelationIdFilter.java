@@ -0,0 +1,53 @@
+package com.example.project.csr.parser.controller;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Assigns every request a correlation ID, taken from the {@value #HEADER} request header or generated,
+ * and puts it into the MDC, so every log line written while the request is handled carries it. The ID
+ * is echoed in the response header of the same name.
+ *
+ */
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    /**
+     * Header carrying the correlation ID in requests and responses
+     */
+    public static final String HEADER = "X-Correlation-Id";
+
+    /**
+     * MDC key of the correlation ID
+     */
+    public static final String MDC_KEY = "correlationId";
+
+    // restricted so that a client cannot inject line breaks or markup into the logs
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String id = request.getHeader(HEADER);
+        if (id == null || !VALID_ID.matcher(id).matches()) {
+            // a random long rather than a UUID, which would draw on the shared SecureRandom
+            id = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(HEADER, id);
+        MDC.put(MDC_KEY, id);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.project.csr.parser.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.project.csr.parser.model.JobPage;
+import com.example.project.csr.parser.model.JobStatus;
+import com.example.project.csr.parser.service.ParseJobService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for asynchronous parse jobs. A job parses a bundle of Certificate Signing
+ * Requests (CSR) that is too large to be answered within a single request; its progress and its
+ * results are polled page by page.
+ *
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@Slf4j
+public class JobController {
+
+    /**
+     * Header identifying the tenant a job belongs to.
+     */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final ParseJobService parseJobService;
+
+    /**
+     * Constructs a new JobController.
+     *
+     * @param parseJobService The service running the parse jobs
+     */
+    public JobController(ParseJobService parseJobService) {
+        this.parseJobService = parseJobService;
+    }
+
+    /**
+     * Endpoint for submitting a bundle of PEM or DER encoded CSRs. The bundle is stored and the job
+     * is queued before the response is sent, the CSRs are parsed in the background.
+     *
+     * @param body The raw request body containing the encoded CSRs
+     * @param tenant The tenant submitting the job
+     * @param verify Whether the proof-of-possession signature of every CSR is verified
+     * @param extensions The extensions to decode, e.g. {@code san,keyUsage}
+     * @param fields The fields of the result to extract, e.g. {@code cn,algorithm}; all default fields if absent
+     * @return ResponseEntity with status 202 containing the status of the queued job and its location
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(consumes = {"application/x-pem-file", "application/pkcs10", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<JobStatus> submitJob(InputStream body,
+                                               @RequestHeader(value = TENANT_HEADER, defaultValue = "default") String tenant,
+                                               @RequestParam(value = "verify", defaultValue = "false") boolean verify,
+                                               @RequestParam(value = "extensions", required = false) List<String> extensions,
+                                               @RequestParam(value = "fields", required = false) List<String> fields) throws IOException {
+        log.info("Received parse job from tenant {}", tenant);
+        JobStatus status = parseJobService.submit(tenant, body, ParserController.parseOptions(verify, extensions, fields));
+        return ResponseEntity.accepted().location(URI.create("/api/jobs/" + status.getId())).body(status);
+    }
+
+    /**
+     * Endpoint for polling a job. Returns its progress and a page of its results.
+     *
+     * @param id The identifier of the job
+     * @param tenant The tenant the job belongs to
+     * @param page The number of the page of results, starting at zero
+     * @return ResponseEntity containing the status of the job and the requested page
+     * @throws IOException if the results cannot be read
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobPage> getJob(@PathVariable("id") String id,
+                                          @RequestHeader(value = TENANT_HEADER, defaultValue = "default") String tenant,
+                                          @RequestParam(value = "page", defaultValue = "0") int page) throws IOException {
+        return new ResponseEntity<>(parseJobService.getPage(tenant, id, page), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint for cancelling a job and deleting its results.
+     *
+     * @param id The identifier of the job
+     * @param tenant The tenant the job belongs to
+     * @return ResponseEntity containing the status of the job when it was deleted
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<JobStatus> deleteJob(@PathVariable("id") String id,
+                                               @RequestHeader(value = TENANT_HEADER, defaultValue = "default") String tenant) {
+        log.info("Deleting parse job {} of tenant {}", id, tenant);
+        return new ResponseEntity<>(parseJobService.delete(tenant, id), HttpStatus.OK);
+    }
+}
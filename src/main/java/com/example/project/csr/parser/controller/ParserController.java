@@ -1,24 +1,46 @@
 package com.example.project.csr.parser.controller;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.project.csr.parser.codec.CborWriter;
+import com.example.project.csr.parser.codec.CsrCborEncoder;
 import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.logging.LogSampler;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.model.CacheStatistics;
 import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.service.BatchParsCsrService;
+import com.example.project.csr.parser.service.CsrResultCache;
 import com.example.project.csr.parser.service.ParsCsrService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -31,16 +53,36 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ParserController {
 
+    private static final String CBOR_SEQUENCE_VALUE = "application/cbor-seq";
+    private static final MediaType CBOR_SEQUENCE = MediaType.parseMediaType(CBOR_SEQUENCE_VALUE);
+
     private final ParsCsrService parsCsrService;
+    private final BatchParsCsrService batchParsCsrService;
+    private final CsrResultCache csrResultCache;
+    private final CsrParserMetrics metrics;
+    private final LogSampler successLog;
+    private final ObjectWriter itemWriter;
 
     /**
-     * Constructs a new ParserController with the required service dependency.
+     * Constructs a new ParserController with the required service dependencies.
      *
      * @param parsCsrService The service responsible for parsing CSR files
+     * @param batchParsCsrService The service responsible for parsing batches of CSR files
+     * @param csrResultCache The cache of previously parsed CSRs
+     * @param metrics The instrumentation of the parsing path
+     * @param successLog The sampler deciding which successful requests are logged
+     * @param objectMapper The mapper used to write streamed results
      */
     @Autowired
-    public ParserController(ParsCsrService parsCsrService) {
+    public ParserController(ParsCsrService parsCsrService, BatchParsCsrService batchParsCsrService,
+                            CsrResultCache csrResultCache, CsrParserMetrics metrics, LogSampler successLog,
+                            ObjectMapper objectMapper) {
         this.parsCsrService = parsCsrService;
+        this.batchParsCsrService = batchParsCsrService;
+        this.csrResultCache = csrResultCache;
+        this.metrics = metrics;
+        this.successLog = successLog;
+        this.itemWriter = objectMapper.writerFor(CsrBatchItem.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
 
@@ -49,32 +91,252 @@ public class ParserController {
      * Accepts a CSR file in PEM format and returns the parsed information.
      *
      * @param multipartFile The CSR file to be parsed (must be in PEM format)
+     * @param verify Whether the proof-of-possession signature of the CSR is verified
+     * @param extensions The extensions to decode, e.g. {@code san,keyUsage}
+     * @param fields The fields of the result to extract, e.g. {@code cn,algorithm}; all default fields if absent
      * @return ResponseEntity containing the parsed CSR information
      * @throws IOException if the file cannot be read
      * @throws IllegalArgumentException if the file is not a valid CSR
      */
     @PostMapping(value = "/parse-csr", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Csr> parseCsr(@RequestParam("csr") MultipartFile multipartFile) throws IOException {
-        log.info("Received CSR parsing request for file: {}, size: {} bytes",
+    public ResponseEntity<Csr> parseCsr(@RequestParam("csr") MultipartFile multipartFile,
+                                        @RequestParam(value = "verify", defaultValue = "false") boolean verify,
+                                        @RequestParam(value = "extensions", required = false) List<String> extensions,
+                                        @RequestParam(value = "fields", required = false) List<String> fields) throws IOException {
+        log.debug("Received CSR parsing request for file: {}, size: {} bytes",
                 multipartFile.getOriginalFilename(),
                 multipartFile.getSize());
 
+        metrics.recordUploadSize(multipartFile.getSize());
+
         if (multipartFile.isEmpty()) {
-            log.error("Received empty file");
+            log.error("Received empty file: {}", multipartFile.getOriginalFilename());
+            metrics.recordError(true);
             throw new InvalidCsrFileExceptions("The provided file is empty", HttpStatus.BAD_REQUEST );
         }
 
+        ParseOptions options = parseOptions(verify, extensions, fields);
         try {
-            Csr csr = parsCsrService.parsePKCS10CertificationRequest(multipartFile);
-            log.info("Successfully parsed CSR file. Subject count: {}", csr.getSubject().size());
+            Csr csr = parsCsrService.parsePKCS10CertificationRequest(multipartFile, options);
+            if (successLog.sample()) {
+                log.info("Successfully parsed CSR file: {}, size: {} bytes. Subject count: {}", multipartFile.getOriginalFilename(),
+                        multipartFile.getSize(), csr.getSubject() != null ? csr.getSubject().size() : 0);
+            }
             return new ResponseEntity<>(csr, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
-            log.error("Invalid CSR file provided: {}", e.getMessage());
+            log.error("Invalid CSR file provided: {}, size: {} bytes: {}", multipartFile.getOriginalFilename(),
+                    multipartFile.getSize(), e.getMessage());
             throw new InvalidCsrFileExceptions(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
-            log.error("Error processing CSR file: {}", e.getMessage(), e);
+            log.error("Error processing CSR file: {}, size: {} bytes: {}", multipartFile.getOriginalFilename(),
+                    multipartFile.getSize(), e.getMessage(), e);
             throw new RuntimeException("Failed to process CSR file", e);
         }
     }
 
+    /**
+     * Endpoint for parsing the raw DER encoding of a Certificate Signing Request (CSR).
+     * The request body is handed to the ASN.1 parser as is, without multipart decoding.
+     *
+     * @param body The DER encoded CSR
+     * @param verify Whether the proof-of-possession signature of the CSR is verified
+     * @param extensions The extensions to decode, e.g. {@code san,keyUsage}
+     * @param fields The fields of the result to extract, e.g. {@code cn,algorithm}; all default fields if absent
+     * @return ResponseEntity containing the parsed CSR information
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/parse-csr", consumes = {"application/pkcs10", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Csr> parseCsrDer(InputStream body,
+                                           @RequestParam(value = "verify", defaultValue = "false") boolean verify,
+                                           @RequestParam(value = "extensions", required = false) List<String> extensions,
+                                           @RequestParam(value = "fields", required = false) List<String> fields) throws IOException {
+        log.debug("Received DER encoded CSR parsing request");
+        ParseOptions options = parseOptions(verify, extensions, fields);
+        try {
+            Csr csr = parsCsrService.parseDerBody(body, options);
+            if (successLog.sample()) {
+                log.info("Successfully parsed DER encoded CSR body. Subject count: {}",
+                        csr.getSubject() != null ? csr.getSubject().size() : 0);
+            }
+            return new ResponseEntity<>(csr, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid CSR body provided: {}", e.getMessage());
+            throw new InvalidCsrFileExceptions(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error processing DER encoded CSR body: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to process CSR body", e);
+        }
+    }
+
+    /**
+     * Endpoint for parsing a Certificate Signing Request (CSR) sent as PEM or bare base64 text.
+     * The request body is decoded on its raw bytes, without multipart or character decoding.
+     *
+     * @param body The PEM or base64 encoded CSR
+     * @param verify Whether the proof-of-possession signature of the CSR is verified
+     * @param extensions The extensions to decode, e.g. {@code san,keyUsage}
+     * @param fields The fields of the result to extract, e.g. {@code cn,algorithm}; all default fields if absent
+     * @return ResponseEntity containing the parsed CSR information
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/parse-csr", consumes = {"application/x-pem-file", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Csr> parseCsrText(InputStream body,
+                                            @RequestParam(value = "verify", defaultValue = "false") boolean verify,
+                                            @RequestParam(value = "extensions", required = false) List<String> extensions,
+                                            @RequestParam(value = "fields", required = false) List<String> fields) throws IOException {
+        log.debug("Received text encoded CSR parsing request");
+        ParseOptions options = parseOptions(verify, extensions, fields);
+        try {
+            Csr csr = parsCsrService.parseTextBody(body, options);
+            if (successLog.sample()) {
+                log.info("Successfully parsed text encoded CSR body. Subject count: {}",
+                        csr.getSubject() != null ? csr.getSubject().size() : 0);
+            }
+            return new ResponseEntity<>(csr, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid CSR body provided: {}", e.getMessage());
+            throw new InvalidCsrFileExceptions(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error processing text encoded CSR body: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to process CSR body", e);
+        }
+    }
+
+    /**
+     * Endpoint for parsing many Certificate Signing Request (CSR) files in one request.
+     * Accepts several {@code csr} parts, each of which may contain one or more PEM encoded CSRs,
+     * and returns one result per CSR. A CSR that cannot be parsed is reported as a failed item
+     * without failing the whole batch.
+     *
+     * @param multipartFiles The CSR files to be parsed (must be in PEM format)
+     * @param verify Whether the proof-of-possession signature of every CSR is verified
+     * @param extensions The extensions to decode, e.g. {@code san,keyUsage}
+     * @param fields The fields of the result to extract, e.g. {@code cn,algorithm}; all default fields if absent
+     * @return ResponseEntity containing one result per CSR found
+     * @throws IOException if a file cannot be read
+     */
+    @PostMapping(value = "/parse-csr/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<CsrBatchItem>> parseCsrBatch(@RequestParam("csr") List<MultipartFile> multipartFiles,
+                                                            @RequestParam(value = "verify", defaultValue = "false") boolean verify,
+                                                            @RequestParam(value = "extensions", required = false) List<String> extensions,
+                                                            @RequestParam(value = "fields", required = false) List<String> fields) throws IOException {
+        log.info("Received batch CSR parsing request with {} files", multipartFiles.size());
+        for (MultipartFile multipartFile : multipartFiles) {
+            metrics.recordUploadSize(multipartFile.getSize());
+        }
+
+        List<CsrBatchItem> items = batchParsCsrService.parseBatch(multipartFiles, parseOptions(verify, extensions, fields));
+        log.info("Finished batch CSR parsing request. Items: {}", items.size());
+        return new ResponseEntity<>(items, HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint for parsing an arbitrarily large stream of Certificate Signing Requests (CSR).
+     * Reads PEM or DER encoded CSRs one at a time from the raw request body and writes one
+     * newline-delimited JSON result per CSR as soon as it is parsed, so neither the upload
+     * nor the response is ever held in memory as a whole. Clients preferring
+     * {@code application/cbor-seq} get a sequence of CBOR items instead.
+     *
+     * @param body The raw request body containing the encoded CSRs
+     * @param accept The media types accepted by the client
+     * @param verify Whether the proof-of-possession signature of every CSR is verified
+     * @param extensions The extensions to decode, e.g. {@code san,keyUsage}
+     * @param fields The fields of the result to extract, e.g. {@code cn,algorithm}; all default fields if absent
+     * @return ResponseEntity streaming one JSON line or CBOR item per CSR found
+     */
+    @PostMapping(value = "/parse-csr/stream",
+            consumes = {"application/x-pem-file", "application/pkcs10", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, CBOR_SEQUENCE_VALUE})
+    public ResponseEntity<StreamingResponseBody> parseCsrStream(InputStream body,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                @RequestParam(value = "verify", defaultValue = "false") boolean verify,
+                                                                @RequestParam(value = "extensions", required = false) List<String> extensions,
+                                                                @RequestParam(value = "fields", required = false) List<String> fields) {
+        log.info("Received streaming CSR parsing request");
+
+        ParseOptions options = parseOptions(verify, extensions, fields);
+        if (prefersCborSequence(accept)) {
+            StreamingResponseBody response = out -> {
+                CborWriter writer = new CborWriter(out);
+                batchParsCsrService.parseStream(body, options, item -> {
+                    try {
+                        CsrCborEncoder.write(writer, item);
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            };
+            return ResponseEntity.ok().contentType(CBOR_SEQUENCE).body(response);
+        }
+        StreamingResponseBody response = out -> batchParsCsrService.parseStream(body, options, item -> {
+            try {
+                itemWriter.writeValue(out, item);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(response);
+    }
+
+    /**
+     * Endpoint exposing the hit and miss counters of the parse result cache.
+     *
+     * @return ResponseEntity containing the current cache statistics
+     */
+    @GetMapping("/parse-csr/cache")
+    public ResponseEntity<CacheStatistics> cacheStatistics() {
+        return new ResponseEntity<>(csrResultCache.getStatistics(), HttpStatus.OK);
+    }
+
+    /**
+     * Checks whether the client ranks {@code application/cbor-seq} above newline-delimited JSON,
+     * which stays the response of clients without a preference.
+     */
+    private static boolean prefersCborSequence(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (CBOR_SEQUENCE.equalsTypeAndSubtype(type)) {
+                    cbor = Math.max(cbor, type.getQualityValue());
+                } else if (type.includes(MediaType.APPLICATION_NDJSON)) {
+                    json = Math.max(json, type.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return cbor > json;
+    }
+
+    /**
+     * Builds the parse options from the request parameters. Shared with {@link ReactiveParserHandler}.
+     *
+     * @param verify Whether the proof-of-possession signature is verified
+     * @param extensions The names of the extensions to decode, or {@code null} if none are requested
+     * @param fields The names of the fields to extract, or {@code null} for the default fields
+     * @return the parse options
+     * @throws InvalidCsrFileExceptions if an unknown extension or field is requested
+     */
+    static ParseOptions parseOptions(boolean verify, List<String> extensions, List<String> fields) {
+        if (!verify && extensions == null && fields == null) {
+            return ParseOptions.DEFAULT;
+        }
+        try {
+            return ParseOptions.builder()
+                    .verifySignature(verify)
+                    .extensions(extensions != null ? CsrExtension.fromParameterNames(extensions) : Set.of())
+                    .fields(fields != null ? CsrField.fromParameterNames(fields) : CsrField.DEFAULT)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCsrFileExceptions(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
 }
@@ -0,0 +1,137 @@
+package com.example.project.csr.parser.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.example.project.csr.parser.exceptions.model.ErrorResponse;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.service.ReactiveParsCsrService;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of the raw body endpoints of {@link ParserController}, served on the Netty
+ * server of the reactive API. Request bodies are consumed as a stream of buffers, so a slow
+ * client occupies a connection but no thread while its upload is in transit.
+ *
+ */
+@Component
+@Slf4j
+public class ReactiveParserHandler {
+
+    private static final MediaType PKCS10 = MediaType.parseMediaType("application/pkcs10");
+    private static final MediaType PEM_FILE = MediaType.parseMediaType("application/x-pem-file");
+
+    private final ReactiveParsCsrService reactiveParsCsrService;
+
+    /**
+     * Constructs a new ReactiveParserHandler.
+     *
+     * @param reactiveParsCsrService The service parsing CSRs from reactive request bodies
+     */
+    public ReactiveParserHandler(ReactiveParsCsrService reactiveParsCsrService) {
+        this.reactiveParsCsrService = reactiveParsCsrService;
+    }
+
+    /**
+     * Routes of the reactive API, mirroring the paths of {@link ParserController}.
+     *
+     * @return the router function
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST("/api/parse-csr/stream", this::parseCsrStream)
+                .POST("/api/parse-csr", this::parseCsr)
+                .build();
+    }
+
+    /**
+     * Parses a single CSR sent as DER ({@code application/pkcs10}, {@code application/octet-stream}) or
+     * as PEM or base64 text ({@code application/x-pem-file}, {@code text/plain}).
+     *
+     * @param request The request with the {@code verify}, {@code extensions} and {@code fields} parameters
+     * @return the parsed CSR, or an error response
+     */
+    public Mono<ServerResponse> parseCsr(ServerRequest request) {
+        MediaType contentType = request.headers().contentType().orElse(MediaType.APPLICATION_OCTET_STREAM);
+        boolean text;
+        if (PKCS10.isCompatibleWith(contentType) || MediaType.APPLICATION_OCTET_STREAM.isCompatibleWith(contentType)) {
+            text = false;
+        } else if (PEM_FILE.isCompatibleWith(contentType) || MediaType.TEXT_PLAIN.isCompatibleWith(contentType)) {
+            text = true;
+        } else {
+            return error(new InvalidCsrFileExceptions("Unsupported content type " + contentType, HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        }
+        return Mono.fromCallable(() -> parseOptions(request))
+                .flatMap(options -> reactiveParsCsrService.parse(request.body(BodyExtractors.toDataBuffers()), text, options))
+                .flatMap(csr -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(csr))
+                .onErrorResume(ReactiveParserHandler::error);
+    }
+
+    /**
+     * Parses all CSRs in the request body and streams one newline-delimited JSON result per CSR.
+     *
+     * @param request The request with the {@code verify}, {@code extensions} and {@code fields} parameters
+     * @return the streamed results, or an error response for invalid parameters
+     */
+    public Mono<ServerResponse> parseCsrStream(ServerRequest request) {
+        log.info("Received reactive streaming CSR parsing request");
+        return Mono.fromCallable(() -> parseOptions(request))
+                .flatMap(options -> {
+                    Flux<CsrBatchItem> items = reactiveParsCsrService.parseStream(request.body(BodyExtractors.toDataBuffers()), options);
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(items, CsrBatchItem.class);
+                })
+                .onErrorResume(ReactiveParserHandler::error);
+    }
+
+    private static ParseOptions parseOptions(ServerRequest request) {
+        return ParserController.parseOptions(
+                request.queryParam("verify").map(Boolean::parseBoolean).orElse(false),
+                listParameter(request, "extensions"),
+                listParameter(request, "fields"));
+    }
+
+    /**
+     * Reads a list parameter given as repeated or comma separated values, like the binding of {@link ParserController}.
+     */
+    private static List<String> listParameter(ServerRequest request, String name) {
+        List<String> values = request.queryParams().get(name);
+        if (values == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<>();
+        for (String value : values) {
+            result.addAll(List.of(value.split(",")));
+        }
+        return result;
+    }
+
+    private static Mono<ServerResponse> error(Throwable e) {
+        HttpStatus status;
+        if (e instanceof InvalidCsrFileExceptions invalid) {
+            status = invalid.getResponseStatus();
+        } else if (e instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else {
+            log.error("Error processing reactive CSR request: {}", e.getMessage(), e);
+            return Mono.error(e);
+        }
+        log.error("Invalid CSR body provided: {}", e.getMessage());
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(e.getMessage(), status.toString()));
+    }
+}
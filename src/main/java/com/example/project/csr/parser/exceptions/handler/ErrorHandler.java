@@ -1,5 +1,6 @@
 package com.example.project.csr.parser.exceptions.handler;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +30,7 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(InvalidCsrFileExceptions.class)
     protected ResponseEntity<Object> handleBookNotFoundException(final InvalidCsrFileExceptions exception) {
-        return ResponseEntity.status(exception.getResponseStatus()).body(new ErrorResponse(exception.getMessage(),exception.getResponseStatus().toString()));
+        // errors are JSON even for clients that only accept CBOR, as there is no CBOR encoding of them
+        return ResponseEntity.status(exception.getResponseStatus()).contentType(MediaType.APPLICATION_JSON).body(new ErrorResponse(exception.getMessage(),exception.getResponseStatus().toString()));
     }
 }
@@ -0,0 +1,72 @@
+package com.example.project.csr.parser.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.LoggingProperties;
+
+/**
+ * Decides which per-request success lines are logged. A line is first sampled at the configured rate
+ * and then counted against a budget of lines per second, so the log volume stays bounded however
+ * high the request rate. The decision is lock-free: the current second and the number of lines
+ * logged in it share a single atomic word.
+ *
+ */
+@Component
+public final class LogSampler {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long COUNT_MASK = 0xffff_ffffL;
+
+    private final double sampleRate;
+    private final int maxPerSecond;
+    private final LongSupplier nanoClock;
+    // the second in the upper and the number of lines logged in it in the lower 32 bits
+    private final AtomicLong window = new AtomicLong();
+
+    /**
+     * Constructs a new LogSampler.
+     *
+     * @param properties The request logging configuration
+     */
+    @Autowired
+    public LogSampler(LoggingProperties properties) {
+        this(properties.getSuccessSampleRate(), properties.getSuccessMaxPerSecond(), System::nanoTime);
+    }
+
+    LogSampler(double sampleRate, int maxPerSecond, LongSupplier nanoClock) {
+        this.sampleRate = sampleRate;
+        this.maxPerSecond = maxPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Decides whether a success line is logged.
+     *
+     * @return {@code true} if the line is sampled and within the budget of the current second
+     */
+    public boolean sample() {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        long second = nanoClock.getAsLong() / NANOS_PER_SECOND;
+        while (true) {
+            long current = window.get();
+            long count = current >>> 32 == (second & COUNT_MASK) ? current & COUNT_MASK : 0;
+            if (count >= maxPerSecond) {
+                return false;
+            }
+            if (window.compareAndSet(current, (second << 32) | (count + 1))) {
+                return true;
+            }
+        }
+    }
+}
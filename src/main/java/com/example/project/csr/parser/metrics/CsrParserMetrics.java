@@ -0,0 +1,173 @@
+package com.example.project.csr.parser.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer instrumentation of the CSR parsing path.
+ *
+ * <ul>
+ *     <li>{@code csr.parse.duration} - timer per parsing stage ({@code pem}, {@code asn1}, {@code extraction})</li>
+ *     <li>{@code csr.parse.algorithm} - counter of parsed CSRs per signature algorithm</li>
+ *     <li>{@code csr.parse.errors} - counter of failed parses per error type ({@code invalid}, {@code runtime})</li>
+ *     <li>{@code csr.upload.size} - distribution of the uploaded file sizes in bytes</li>
+ *     <li>{@code csr.admission.rejected} - counter of requests rejected by admission control per reason</li>
+ *     <li>{@code csr.admission.limit} - gauge of the adaptive concurrency limit of the parse endpoint</li>
+ *     <li>{@code csr.admission.inflight.bytes} - gauge of the request bytes being processed by the parse endpoint</li>
+ * </ul>
+ *
+ * <p>Meters with a fixed set of tags are registered once, so recording costs no registry lookup.</p>
+ *
+ */
+@Component
+public class CsrParserMetrics {
+
+    /**
+     * Stages of the parsing path that are timed separately
+     */
+    public enum Stage {
+        PEM("pem"),
+        ASN1("asn1"),
+        EXTRACTION("extraction");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Reasons for rejecting a request before it is parsed
+     */
+    public enum Rejection {
+        CONCURRENCY("concurrency"),
+        BYTES("bytes"),
+        SIZE("size"),
+        CONTENT("content");
+
+        private final String tag;
+
+        Rejection(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+    private final Map<String, Counter> algorithmCounters = new ConcurrentHashMap<>();
+    private final Counter invalidErrors;
+    private final Counter runtimeErrors;
+    private final DistributionSummary uploadSize;
+    private final Counter[] rejectionCounters = new Counter[Rejection.values().length];
+
+    /**
+     * Constructs a new CsrParserMetrics and registers its meters.
+     *
+     * @param registry The registry the meters are registered with
+     */
+    public CsrParserMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("csr.parse.duration")
+                    .description("Time spent in a stage of CSR parsing")
+                    .tag("stage", stage.tag)
+                    .register(registry);
+        }
+        this.invalidErrors = errorCounter("invalid");
+        this.runtimeErrors = errorCounter("runtime");
+        this.uploadSize = DistributionSummary.builder("csr.upload.size")
+                .description("Size of uploaded CSR files")
+                .baseUnit("bytes")
+                .register(registry);
+        for (Rejection rejection : Rejection.values()) {
+            rejectionCounters[rejection.ordinal()] = Counter.builder("csr.admission.rejected")
+                    .description("Requests rejected by admission control per reason")
+                    .tag("reason", rejection.tag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Records the duration of a parsing stage.
+     *
+     * @param stage The stage that was executed
+     * @param startNanos The value of {@link System#nanoTime()} when the stage started
+     */
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a successfully parsed CSR by its signature algorithm.
+     *
+     * @param algorithm The human-readable signature algorithm
+     */
+    public void recordAlgorithm(String algorithm) {
+        algorithmCounters.computeIfAbsent(algorithm, name -> Counter.builder("csr.parse.algorithm")
+                .description("Parsed CSRs per signature algorithm")
+                .tag("algorithm", name)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Counts a failed parse. Invalid input, reported to clients as
+     * {@code InvalidCsrFileExceptions}, is counted separately from unexpected runtime failures.
+     *
+     * @param invalidInput {@code true} if the input was not a valid CSR
+     */
+    public void recordError(boolean invalidInput) {
+        (invalidInput ? invalidErrors : runtimeErrors).increment();
+    }
+
+    /**
+     * Records the size of an uploaded file.
+     *
+     * @param bytes The size of the upload in bytes
+     */
+    public void recordUploadSize(long bytes) {
+        uploadSize.record(bytes);
+    }
+
+    /**
+     * Counts a request rejected by admission control.
+     *
+     * @param rejection The reason the request was rejected
+     */
+    public void recordRejection(Rejection rejection) {
+        rejectionCounters[rejection.ordinal()].increment();
+    }
+
+    /**
+     * Registers the gauges of the admission control of the parse endpoint.
+     *
+     * @param limit Supplies the current concurrency limit
+     * @param inFlightBytes Supplies the request bytes currently being processed
+     */
+    public void registerAdmissionGauges(Supplier<Number> limit, Supplier<Number> inFlightBytes) {
+        Gauge.builder("csr.admission.limit", limit)
+                .description("Adaptive concurrency limit of the parse endpoint")
+                .register(registry);
+        Gauge.builder("csr.admission.inflight.bytes", inFlightBytes)
+                .description("Request bytes being processed by the parse endpoint")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Counter errorCounter(String type) {
+        return Counter.builder("csr.parse.errors")
+                .description("Failed CSR parses per error type")
+                .tag("type", type)
+                .register(registry);
+    }
+}
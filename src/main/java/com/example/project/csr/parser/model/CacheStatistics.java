@@ -0,0 +1,24 @@
+package com.example.project.csr.parser.model;
+
+import lombok.Getter;
+
+/**
+ * Snapshot of the hit and miss counters of the parse result cache.
+ *
+ */
+@Getter
+public class CacheStatistics {
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final long evictionCount;
+
+    public CacheStatistics(long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+    }
+}
@@ -2,19 +2,69 @@ package com.example.project.csr.parser.model;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 
+/**
+ * Result of parsing a CSR. Only the fields selected by the {@link ParseOptions} are set. The subject
+ * is available both as typed {@link #getAttributes() attributes} and, for compatibility, as lists of
+ * strings in the format "type= value".
+ *
+ */
 @Getter
-@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Csr {
     private final List<String> subject;
+    private final String commonName;
     private final String publicKeyAlgorithm;
     private final List<String> subjectAltName;
+    private final Boolean signatureValid;
+    private final CsrExtensions extensions;
+    private final List<CsrAttribute> attributes;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String signatureAlgorithmOid;
+    private final PublicKeyInfo publicKey;
+    private final ReuseHits reuse;
+    private final List<PolicyViolation> violations;
 
     public Csr(List<String> subject, String publicKeyAlgorithm, List<String> subjectAltName) {
+        this(subject, null, publicKeyAlgorithm, subjectAltName, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Constructs a Csr holding the fields selected by the {@link ParseOptions} and the result of the policy checks.
+     *
+     * @param subject the subject names in the format "type= value"
+     * @param commonName the value of the first common name of the subject
+     * @param publicKeyAlgorithm the human-readable signature algorithm
+     * @param subjectAltName the subject alternative names in the format "type= value"
+     * @param signatureValid whether the proof-of-possession signature is valid, or {@code null} if it was not verified
+     * @param extensions the decoded extensions, or {@code null} if none were selected
+     * @param attributes the typed subject attributes, in the order of the subject
+     * @param signatureAlgorithm the signature algorithm, or {@code null} if it is not a known algorithm
+     * @param signatureAlgorithmOid the object identifier of the signature algorithm
+     * @param publicKey the subject public key
+     * @param reuse the reuse of the key and the subject in earlier submissions, or {@code null} if not tracked
+     * @param violations the violations of the policy, or {@code null} if the policy is disabled
+     */
+    @Builder(toBuilder = true)
+    public Csr(List<String> subject, String commonName, String publicKeyAlgorithm, List<String> subjectAltName,
+               Boolean signatureValid, CsrExtensions extensions, List<CsrAttribute> attributes,
+               SignatureAlgorithm signatureAlgorithm, String signatureAlgorithmOid, PublicKeyInfo publicKey,
+               ReuseHits reuse, List<PolicyViolation> violations) {
         this.subject = subject;
+        this.commonName = commonName;
         this.publicKeyAlgorithm = publicKeyAlgorithm;
         this.subjectAltName = subjectAltName;
+        this.signatureValid = signatureValid;
+        this.extensions = extensions;
+        this.attributes = attributes;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.signatureAlgorithmOid = signatureAlgorithmOid;
+        this.publicKey = publicKey;
+        this.reuse = reuse;
+        this.violations = violations;
     }
 }
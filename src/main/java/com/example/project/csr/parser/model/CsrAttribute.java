@@ -0,0 +1,29 @@
+package com.example.project.csr.parser.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Value;
+
+/**
+ * A single attribute of the CSR subject.
+ *
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsrAttribute {
+
+    /**
+     * The attribute type, or {@code null} if the type is not one of the {@link SubjectAttribute}s.
+     */
+    SubjectAttribute type;
+
+    /**
+     * The object identifier of the attribute type, e.g. {@code 2.5.4.3}.
+     */
+    String oid;
+
+    /**
+     * The attribute value.
+     */
+    String value;
+}
@@ -0,0 +1,49 @@
+package com.example.project.csr.parser.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+
+/**
+ * Result of parsing a single CSR within a batch. Either {@code csr} or {@code error} is set.
+ *
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsrBatchItem {
+    private final int index;
+    private final String source;
+    private final Csr csr;
+    private final String error;
+
+    public CsrBatchItem(int index, String source, Csr csr, String error) {
+        this.index = index;
+        this.source = source;
+        this.csr = csr;
+        this.error = error;
+    }
+
+    /**
+     * Creates a successful batch item.
+     *
+     * @param index position of the CSR within the batch
+     * @param source name of the uploaded file the CSR was read from
+     * @param csr the parsed CSR
+     * @return the batch item
+     */
+    public static CsrBatchItem success(int index, String source, Csr csr) {
+        return new CsrBatchItem(index, source, csr, null);
+    }
+
+    /**
+     * Creates a failed batch item.
+     *
+     * @param index position of the CSR within the batch
+     * @param source name of the uploaded file the CSR was read from
+     * @param error message describing why the CSR could not be parsed
+     * @return the batch item
+     */
+    public static CsrBatchItem failure(int index, String source, String error) {
+        return new CsrBatchItem(index, source, null, error);
+    }
+}
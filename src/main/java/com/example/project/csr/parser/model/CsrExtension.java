@@ -0,0 +1,62 @@
+package com.example.project.csr.parser.model;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * X.509 extensions that can be decoded from the PKCS#9 extensionRequest attribute of a CSR.
+ *
+ */
+public enum CsrExtension {
+    SUBJECT_ALT_NAME("san"),
+    KEY_USAGE("keyUsage"),
+    EXTENDED_KEY_USAGE("extendedKeyUsage"),
+    BASIC_CONSTRAINTS("basicConstraints");
+
+    private final String parameterName;
+
+    CsrExtension(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * Returns the name used to select this extension in request parameters.
+     *
+     * @return the parameter name, e.g. {@code san}
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Resolves the extensions selected by request parameter values.
+     *
+     * @param parameterNames the parameter names, e.g. {@code san} or {@code keyUsage}; {@code all} selects every extension
+     * @return the selected extensions
+     * @throws IllegalArgumentException if a name does not denote a known extension
+     */
+    public static Set<CsrExtension> fromParameterNames(List<String> parameterNames) {
+        Set<CsrExtension> extensions = EnumSet.noneOf(CsrExtension.class);
+        for (String parameterName : parameterNames) {
+            String name = parameterName.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if ("all".equalsIgnoreCase(name)) {
+                return EnumSet.allOf(CsrExtension.class);
+            }
+            extensions.add(fromParameterName(name));
+        }
+        return extensions;
+    }
+
+    private static CsrExtension fromParameterName(String name) {
+        for (CsrExtension extension : values()) {
+            if (extension.parameterName.equalsIgnoreCase(name)) {
+                return extension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown extension: " + name);
+    }
+}
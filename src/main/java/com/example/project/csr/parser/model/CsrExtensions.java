@@ -0,0 +1,32 @@
+package com.example.project.csr.parser.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+
+/**
+ * X.509 extensions requested by a CSR. Only the extensions selected by the caller are decoded;
+ * all others stay {@code null}. A selected extension that is absent from the CSR is reported as
+ * an empty list, or as {@code null} for basic constraints.
+ *
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsrExtensions {
+    private final List<String> subjectAltNames;
+    private final List<String> keyUsage;
+    private final List<String> extendedKeyUsage;
+    private final Boolean ca;
+    private final Integer pathLengthConstraint;
+
+    public CsrExtensions(List<String> subjectAltNames, List<String> keyUsage, List<String> extendedKeyUsage,
+                         Boolean ca, Integer pathLengthConstraint) {
+        this.subjectAltNames = subjectAltNames;
+        this.keyUsage = keyUsage;
+        this.extendedKeyUsage = extendedKeyUsage;
+        this.ca = ca;
+        this.pathLengthConstraint = pathLengthConstraint;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.project.csr.parser.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields of the parse result that can be selected individually. Fields that are not selected are
+ * not extracted from the CSR at all.
+ *
+ */
+public enum CsrField {
+    SUBJECT("subject"),
+    COMMON_NAME("cn"),
+    ALGORITHM("algorithm"),
+    SUBJECT_ALT_NAME("subjectAltName"),
+    ATTRIBUTES("attributes"),
+    SIGNATURE_ALGORITHM("signatureAlgorithm"),
+    PUBLIC_KEY("publicKey");
+
+    /**
+     * Fields returned when the caller does not select any
+     */
+    public static final Set<CsrField> DEFAULT = Collections.unmodifiableSet(EnumSet.of(SUBJECT, ALGORITHM, SUBJECT_ALT_NAME));
+
+    private final String parameterName;
+
+    CsrField(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * Returns the name used to select this field in request parameters.
+     *
+     * @return the parameter name, e.g. {@code cn}
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Resolves the fields selected by request parameter values.
+     *
+     * @param parameterNames the parameter names, e.g. {@code cn} or {@code algorithm}; {@code all} selects every field
+     * @return the selected fields, or the {@link #DEFAULT} fields if none is named
+     * @throws IllegalArgumentException if a name does not denote a known field
+     */
+    public static Set<CsrField> fromParameterNames(List<String> parameterNames) {
+        Set<CsrField> fields = EnumSet.noneOf(CsrField.class);
+        for (String parameterName : parameterNames) {
+            String name = parameterName.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if ("all".equalsIgnoreCase(name)) {
+                return EnumSet.allOf(CsrField.class);
+            }
+            fields.add(fromParameterName(name));
+        }
+        return fields.isEmpty() ? DEFAULT : fields;
+    }
+
+    private static CsrField fromParameterName(String name) {
+        for (CsrField field : values()) {
+            if (field.parameterName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
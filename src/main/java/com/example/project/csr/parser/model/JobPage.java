@@ -0,0 +1,36 @@
+package com.example.project.csr.parser.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.Value;
+
+/**
+ * A page of the results of an asynchronous parse job together with the progress of the job.
+ * The results are passed through as they were spilled to disk, in the format of {@link CsrBatchItem}.
+ *
+ */
+@Value
+public class JobPage {
+
+    /**
+     * The progress of the job.
+     */
+    JobStatus job;
+
+    /**
+     * The number of the page, starting at zero.
+     */
+    int page;
+
+    /**
+     * The maximum number of results per page.
+     */
+    int pageSize;
+
+    /**
+     * The results on this page; empty if the page is not available yet.
+     */
+    List<JsonNode> items;
+}
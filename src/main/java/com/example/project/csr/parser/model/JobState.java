@@ -0,0 +1,22 @@
+package com.example.project.csr.parser.model;
+
+/**
+ * Lifecycle states of an asynchronous parse job.
+ *
+ */
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * Checks whether the job has stopped and will not change anymore.
+     *
+     * @return {@code true} for completed, failed and cancelled jobs
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.project.csr.parser.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Progress of an asynchronous parse job.
+ *
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobStatus {
+
+    /**
+     * The identifier of the job, used to poll it.
+     */
+    String id;
+
+    /**
+     * The tenant that submitted the job.
+     */
+    String tenant;
+
+    /**
+     * The current state of the job.
+     */
+    JobState state;
+
+    Instant submittedAt;
+
+    Instant startedAt;
+
+    Instant finishedAt;
+
+    /**
+     * Size of the uploaded bundle in bytes.
+     */
+    long inputBytes;
+
+    /**
+     * Number of bytes of the bundle read so far.
+     */
+    long bytesRead;
+
+    /**
+     * Number of CSRs parsed so far, including failed ones.
+     */
+    int itemsProcessed;
+
+    /**
+     * Number of CSRs that could not be parsed.
+     */
+    int itemsFailed;
+
+    /**
+     * Number of results that can be fetched; lags behind {@link #itemsProcessed} by less than a page while the job runs.
+     */
+    int itemsAvailable;
+
+    /**
+     * Number of result pages that can be fetched.
+     */
+    int pages;
+
+    /**
+     * The reason the job failed, or {@code null} if it did not fail.
+     */
+    String error;
+
+    /**
+     * Returns the fraction of the bundle that has been read.
+     *
+     * @return the progress between 0 and 1
+     */
+    public double getProgress() {
+        if (state == JobState.COMPLETED) {
+            return 1.0;
+        }
+        return inputBytes > 0 ? Math.min(1.0, (double) bytesRead / inputBytes) : 0.0;
+    }
+}
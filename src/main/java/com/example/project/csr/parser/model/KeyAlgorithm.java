@@ -0,0 +1,29 @@
+package com.example.project.csr.parser.model;
+
+/**
+ * Algorithms of the subject public key of a CSR that are reported by name.
+ *
+ */
+public enum KeyAlgorithm {
+    RSA("1.2.840.113549.1.1.1"),
+    RSASSA_PSS("1.2.840.113549.1.1.10"),
+    DSA("1.2.840.10040.4.1"),
+    EC("1.2.840.10045.2.1"),
+    ED25519("1.3.101.112"),
+    ED448("1.3.101.113");
+
+    private final String oid;
+
+    KeyAlgorithm(String oid) {
+        this.oid = oid;
+    }
+
+    /**
+     * Returns the object identifier of the algorithm.
+     *
+     * @return the dotted OID, e.g. {@code 1.2.840.113549.1.1.1}
+     */
+    public String getOid() {
+        return oid;
+    }
+}
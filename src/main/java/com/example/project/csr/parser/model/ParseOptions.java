@@ -0,0 +1,38 @@
+package com.example.project.csr.parser.model;
+
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Options controlling which optional information is computed while parsing a CSR.
+ * Options take part in the parse result cache key, so they must stay immutable.
+ *
+ */
+@Value
+@Builder(toBuilder = true)
+public class ParseOptions {
+
+    /**
+     * Options used when the caller does not ask for any optional information.
+     */
+    public static final ParseOptions DEFAULT = ParseOptions.builder().build();
+
+    /**
+     * Whether the proof-of-possession signature of the CSR is verified.
+     */
+    boolean verifySignature;
+
+    /**
+     * The extensions decoded from the extensionRequest attribute of the CSR.
+     */
+    @Builder.Default
+    Set<CsrExtension> extensions = Set.of();
+
+    /**
+     * The fields of the parse result that are extracted from the CSR.
+     */
+    @Builder.Default
+    Set<CsrField> fields = CsrField.DEFAULT;
+}
@@ -0,0 +1,12 @@
+package com.example.project.csr.parser.model;
+
+/**
+ * Rules of the policy a CSR is checked against while it is parsed.
+ *
+ */
+public enum PolicyRule {
+    SIGNATURE_ALGORITHM,
+    KEY_SIZE,
+    SUBJECT_ATTRIBUTE,
+    SAN_DOMAIN
+}
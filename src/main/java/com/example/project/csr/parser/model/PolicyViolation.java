@@ -0,0 +1,21 @@
+package com.example.project.csr.parser.model;
+
+import lombok.Value;
+
+/**
+ * A violation of the policy by a CSR.
+ *
+ */
+@Value
+public class PolicyViolation {
+
+    /**
+     * The rule that is violated.
+     */
+    PolicyRule rule;
+
+    /**
+     * Description of the violation, e.g. {@code RSA key of 1024 bits is below the minimum of 2048 bits}.
+     */
+    String message;
+}
@@ -0,0 +1,26 @@
+package com.example.project.csr.parser.model;
+
+import lombok.Value;
+
+/**
+ * Parameters of an RSASSA-PSS public key that restrict how the key may be used.
+ *
+ */
+@Value
+public class PssParameters {
+
+    /**
+     * The hash algorithm, e.g. {@code SHA-256}, or its OID if it is not known by name.
+     */
+    String hashAlgorithm;
+
+    /**
+     * The hash algorithm of the MGF1 mask generation function.
+     */
+    String maskGenHashAlgorithm;
+
+    /**
+     * The length of the salt in bytes.
+     */
+    int saltLength;
+}
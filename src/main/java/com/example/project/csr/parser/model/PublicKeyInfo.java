@@ -0,0 +1,51 @@
+package com.example.project.csr.parser.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The subject public key of a CSR.
+ *
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublicKeyInfo {
+
+    /**
+     * The key algorithm, or {@code null} if the algorithm is not one of the {@link KeyAlgorithm}s.
+     */
+    KeyAlgorithm algorithm;
+
+    /**
+     * The object identifier of the key algorithm, e.g. {@code 1.2.840.113549.1.1.1}.
+     */
+    String oid;
+
+    /**
+     * The key size in bits, e.g. the modulus length of an RSA key, or {@code null} if unknown.
+     */
+    Integer keySize;
+
+    /**
+     * The name of the curve of an elliptic curve key, e.g. {@code secp256r1}, or {@code null} for other keys.
+     */
+    String curve;
+
+    /**
+     * The parameters of an RSASSA-PSS key, or {@code null} for other keys and unrestricted RSASSA-PSS keys.
+     */
+    PssParameters pss;
+
+    /**
+     * The hex encoded SHA-256 fingerprint of the DER encoded SubjectPublicKeyInfo.
+     */
+    String fingerprint;
+
+    /**
+     * Whether the key is on the weak key blocklist, or {@code null} if no blocklist is configured.
+     */
+    Boolean blocklisted;
+}
@@ -0,0 +1,33 @@
+package com.example.project.csr.parser.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Value;
+
+/**
+ * How often the public key and the subject of a CSR were seen in earlier submissions.
+ *
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReuseHits {
+
+    /**
+     * Number of earlier submissions with the same SubjectPublicKeyInfo; zero for a new key.
+     */
+    int previousKeyUses;
+
+    /**
+     * Number of earlier submissions with the same normalized subject, or {@code null} if the subject is empty.
+     */
+    Integer previousSubjectUses;
+
+    /**
+     * Checks whether the key or the subject was seen before.
+     *
+     * @return {@code true} if this submission reuses a key or repeats a subject
+     */
+    public boolean isReused() {
+        return previousKeyUses > 0 || (previousSubjectUses != null && previousSubjectUses > 0);
+    }
+}
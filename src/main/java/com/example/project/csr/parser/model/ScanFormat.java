@@ -0,0 +1,16 @@
+package com.example.project.csr.parser.model;
+
+/**
+ * Output formats of the bulk scan report.
+ *
+ */
+public enum ScanFormat {
+    /**
+     * One JSON object per CSR and line
+     */
+    NDJSON,
+    /**
+     * One comma separated row per CSR, preceded by a header row
+     */
+    CSV
+}
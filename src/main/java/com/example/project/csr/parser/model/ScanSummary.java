@@ -0,0 +1,40 @@
+package com.example.project.csr.parser.model;
+
+import lombok.Getter;
+
+/**
+ * Totals of a finished bulk scan.
+ *
+ */
+@Getter
+public class ScanSummary {
+    private final long files;
+    private final long csrs;
+    private final long failures;
+    private final long elapsedMillis;
+
+    public ScanSummary(long files, long csrs, long failures, long elapsedMillis) {
+        this.files = files;
+        this.csrs = csrs;
+        this.failures = failures;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the scan throughput.
+     *
+     * @return the number of scanned files per second
+     */
+    public double getFilesPerSecond() {
+        return elapsedMillis > 0 ? files * 1000.0 / elapsedMillis : files;
+    }
+
+    /**
+     * Returns the scan throughput in CSRs, which is the relevant figure for bundle files.
+     *
+     * @return the number of scanned CSRs per second
+     */
+    public double getCsrsPerSecond() {
+        return elapsedMillis > 0 ? csrs * 1000.0 / elapsedMillis : csrs;
+    }
+}
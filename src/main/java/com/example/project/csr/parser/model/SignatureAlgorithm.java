@@ -0,0 +1,47 @@
+package com.example.project.csr.parser.model;
+
+/**
+ * Signature algorithms of a CSR that are reported by name.
+ *
+ */
+public enum SignatureAlgorithm {
+    SHA1_WITH_RSA("1.2.840.113549.1.1.5", "SHA-1 with RSA"),
+    SHA256_WITH_RSA("1.2.840.113549.1.1.11", "SHA-256 with RSA"),
+    SHA384_WITH_RSA("1.2.840.113549.1.1.12", "SHA-384 with RSA"),
+    SHA512_WITH_RSA("1.2.840.113549.1.1.13", "SHA-512 with RSA"),
+    SHA256_WITH_ECDSA("1.2.840.10045.4.3.2", "SHA-256 with ECDSA"),
+    SHA384_WITH_ECDSA("1.2.840.10045.4.3.3", "SHA-384 with ECDSA"),
+    SHA512_WITH_ECDSA("1.2.840.10045.4.3.4", "SHA-512 with ECDSA"),
+    ED25519("1.3.101.112", "Ed25519");
+
+    /**
+     * Name reported for signature algorithms that are not listed
+     */
+    public static final String UNKNOWN_NAME = "Unknown Algorithm";
+
+    private final String oid;
+    private final String displayName;
+
+    SignatureAlgorithm(String oid, String displayName) {
+        this.oid = oid;
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the object identifier of the algorithm.
+     *
+     * @return the dotted OID, e.g. {@code 1.2.840.113549.1.1.11}
+     */
+    public String getOid() {
+        return oid;
+    }
+
+    /**
+     * Returns the human-readable name of the algorithm.
+     *
+     * @return the name, e.g. {@code SHA-256 with RSA}
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
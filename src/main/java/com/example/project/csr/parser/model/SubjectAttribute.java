@@ -0,0 +1,59 @@
+package com.example.project.csr.parser.model;
+
+/**
+ * Standard X.500 attribute types of a CSR subject that are reported by name.
+ * Each type knows the label under which it appears in the string format of the subject and
+ * whether it is reported as a subject alternative name there.
+ *
+ */
+public enum SubjectAttribute {
+    COUNTRY("2.5.4.6", "Country Name (C)", false),
+    STATE_OR_PROVINCE("2.5.4.8", "State or Province Name (ST)", false),
+    LOCALITY("2.5.4.7", "Locality Name (L)", false),
+    ORGANIZATION("2.5.4.10", "Organization Name (O)", false),
+    ORGANIZATIONAL_UNIT("2.5.4.11", "Organizational Unit (OU)", false),
+    COMMON_NAME("2.5.4.3", "Common Name (CN)", false),
+    SURNAME("2.5.4.4", "Surname", true),
+    GIVEN_NAME("2.5.4.42", "Given Name", true),
+    TITLE("2.5.4.12", "Title", true),
+    EMAIL_ADDRESS("1.2.840.113549.1.9.1", "Email Address", true);
+
+    private final String oid;
+    private final String prefix;
+    private final boolean alternative;
+
+    SubjectAttribute(String oid, String name, boolean alternative) {
+        this.oid = oid;
+        // the "= " separator is part of the prefix, so formatting an attribute costs a single concatenation
+        this.prefix = name + "= ";
+        this.alternative = alternative;
+    }
+
+    /**
+     * Returns the object identifier of the attribute type.
+     *
+     * @return the dotted OID, e.g. {@code 2.5.4.3}
+     */
+    public String getOid() {
+        return oid;
+    }
+
+    /**
+     * Returns whether the attribute is reported as a subject alternative name in the string format.
+     *
+     * @return {@code true} for alternative names such as the email address
+     */
+    public boolean isAlternative() {
+        return alternative;
+    }
+
+    /**
+     * Formats a value of this attribute type in the string format, e.g. {@code Common Name (CN)= www.domain.de}.
+     *
+     * @param value the attribute value
+     * @return the formatted attribute
+     */
+    public String format(String value) {
+        return prefix.concat(value);
+    }
+}
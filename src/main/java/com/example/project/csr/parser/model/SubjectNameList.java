@@ -0,0 +1,62 @@
+package com.example.project.csr.parser.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * String view of the subject attributes in the format "type= value". Only the positions of the
+ * matching attributes are determined up front; an entry is formatted when it is read, so callers
+ * that use the typed attributes never pay for building the strings.
+ *
+ */
+public final class SubjectNameList extends AbstractList<String> implements RandomAccess {
+
+    private final List<CsrAttribute> attributes;
+    private final int[] positions;
+
+    private SubjectNameList(List<CsrAttribute> attributes, boolean alternative) {
+        this.attributes = attributes;
+        int[] matches = new int[attributes.size()];
+        int count = 0;
+        for (int i = 0; i < matches.length; i++) {
+            SubjectAttribute type = attributes.get(i).getType();
+            if (type != null && type.isAlternative() == alternative) {
+                matches[count++] = i;
+            }
+        }
+        this.positions = count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Creates the view of the subject names, i.e. the known attributes that are not alternative names.
+     *
+     * @param attributes the subject attributes
+     * @return the subject names in the format "type= value"
+     */
+    public static List<String> subjectNames(List<CsrAttribute> attributes) {
+        return new SubjectNameList(attributes, false);
+    }
+
+    /**
+     * Creates the view of the subject alternative names, e.g. the email address.
+     *
+     * @param attributes the subject attributes
+     * @return the subject alternative names in the format "type= value"
+     */
+    public static List<String> subjectAltNames(List<CsrAttribute> attributes) {
+        return new SubjectNameList(attributes, true);
+    }
+
+    @Override
+    public String get(int index) {
+        CsrAttribute attribute = attributes.get(positions[index]);
+        return attribute.getType().format(attribute.getValue());
+    }
+
+    @Override
+    public int size() {
+        return positions.length;
+    }
+}
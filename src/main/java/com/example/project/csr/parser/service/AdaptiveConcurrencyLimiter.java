@@ -0,0 +1,127 @@
+package com.example.project.csr.parser.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to the observed latency, following the gradient approach of TCP
+ * Vegas: a short-term average of the request latency is compared with a long-term one. While the
+ * two agree the limit grows by roughly its square root per sample, so the server is probed for
+ * spare capacity; once requests queue up and the short-term latency rises above the long-term one
+ * by more than the tolerance, the limit shrinks in proportion, down to half per sample.
+ *
+ * <p>The limit only grows while it is actually used, so a quiet period does not inflate it.</p>
+ *
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    // a window of roughly 600 samples, so a burst of slow requests does not become the new baseline
+    private static final double LONG_SMOOTHING = 1.0 / 600;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limit;
+    private int inFlight;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit the limit before any latency has been observed
+     * @param minLimit the lower bound of the limit
+     * @param maxLimit the upper bound of the limit
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admits a request if the limit has not been reached.
+     *
+     * @return {@code true} if the request was admitted and must be followed by {@link #release}
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends an admitted request and adapts the limit to its latency.
+     *
+     * @param latencyNanos the time the request took
+     * @param sample {@code false} if the request ended abnormally and its latency says nothing about the load
+     */
+    public void release(long latencyNanos, boolean sample) {
+        lock.lock();
+        try {
+            int concurrent = inFlight--;
+            if (!sample || latencyNanos <= 0) {
+                return;
+            }
+            if (longLatency == 0) {
+                shortLatency = latencyNanos;
+                longLatency = latencyNanos;
+            } else {
+                shortLatency += (latencyNanos - shortLatency) * SHORT_SMOOTHING;
+                longLatency += (latencyNanos - longLatency) * LONG_SMOOTHING;
+            }
+            // after a long overload the long-term average has drifted up; let it recover quickly
+            if (longLatency > shortLatency * 2) {
+                longLatency *= 0.95;
+            }
+            if (concurrent < limit / 2) {
+                return;
+            }
+            double gradient = Math.clamp(TOLERANCE * longLatency / shortLatency, 0.5, 1.0);
+            double target = limit * gradient + Math.sqrt(limit);
+            limit = Math.clamp(limit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING, minLimit, maxLimit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the number of requests admitted at the same time
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of admitted requests that have not been released.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
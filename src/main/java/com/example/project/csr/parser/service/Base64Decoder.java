@@ -0,0 +1,92 @@
+package com.example.project.csr.parser.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decodes base64 text straight from a byte buffer into an exactly sized array, skipping line
+ * breaks and other whitespace on the way. Unlike {@link java.util.Base64.Decoder} it needs no
+ * intermediate copy of the text without its line breaks.
+ *
+ */
+final class Base64Decoder {
+
+    private static final byte INVALID = -1;
+    private static final byte WHITESPACE = -2;
+    private static final byte[] VALUES = new byte[256];
+
+    static {
+        Arrays.fill(VALUES, INVALID);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+        VALUES[' '] = WHITESPACE;
+        VALUES['\t'] = WHITESPACE;
+        VALUES['\r'] = WHITESPACE;
+        VALUES['\n'] = WHITESPACE;
+    }
+
+    private Base64Decoder() {
+    }
+
+    /**
+     * Decodes the base64 text between two absolute positions of the buffer.
+     *
+     * @param src the buffer holding the text; its position and limit are not changed
+     * @param from the absolute position of the first byte of the text
+     * @param to the absolute position after the last byte of the text
+     * @return the decoded bytes
+     * @throws IllegalArgumentException if the text is not valid base64
+     */
+    static byte[] decode(ByteBuffer src, int from, int to) {
+        int symbols = 0;
+        int padding = 0;
+        for (int i = from; i < to; i++) {
+            int b = src.get(i) & 0xff;
+            byte value = VALUES[b];
+            if (value >= 0) {
+                if (padding > 0) {
+                    throw new IllegalArgumentException("Input byte array has incorrect ending byte at " + (i - from));
+                }
+                symbols++;
+            } else if (b == '=') {
+                if (++padding > 2) {
+                    throw new IllegalArgumentException("Input byte array has too much padding");
+                }
+            } else if (value == INVALID) {
+                throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(b));
+            }
+        }
+        int remainder = symbols % 4;
+        if (remainder == 1 || (padding > 0 && remainder + padding != 4)) {
+            throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+
+        byte[] out = new byte[symbols / 4 * 3 + (remainder == 0 ? 0 : remainder - 1)];
+        int bits = 0;
+        int count = 0;
+        int o = 0;
+        for (int i = from; i < to && o < out.length; i++) {
+            byte value = VALUES[src.get(i) & 0xff];
+            if (value < 0) {
+                continue;
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                out[o++] = (byte) (bits >> 16);
+                out[o++] = (byte) (bits >> 8);
+                out[o++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 2) {
+            out[o] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            out[o++] = (byte) (bits >> 10);
+            out[o] = (byte) (bits >> 2);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.project.csr.parser.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.project.csr.parser.config.BatchProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.metrics.CsrParserMetrics.Stage;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.ParseOptions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for parsing many Certificate Signing Requests (CSR) in a single call.
+ * Every uploaded file or stream may contain one or more PEM or DER encoded CSRs. The encoded
+ * objects are read sequentially and the ASN.1 parsing and extraction of each CSR is fanned out
+ * to a bounded executor.
+ *
+ */
+@Service
+@Slf4j
+public class BatchParsCsrService {
+
+    private final ParsCsrService parsCsrService;
+    private final ExecutorService executor;
+    private final CsrParserMetrics metrics;
+    private final BatchProperties batchProperties;
+    private final StreamProperties streamProperties;
+
+    /**
+     * Constructs a new BatchParsCsrService.
+     *
+     * @param parsCsrService The service responsible for parsing a single CSR
+     * @param executor The executor used to parse the CSRs in parallel
+     * @param metrics The instrumentation of the parsing stages
+     * @param batchProperties The batch configuration
+     * @param streamProperties The streaming configuration
+     */
+    public BatchParsCsrService(ParsCsrService parsCsrService,
+                               @Qualifier("csrParserExecutor") ExecutorService executor,
+                               CsrParserMetrics metrics,
+                               BatchProperties batchProperties,
+                               StreamProperties streamProperties) {
+        this.parsCsrService = parsCsrService;
+        this.executor = executor;
+        this.metrics = metrics;
+        this.batchProperties = batchProperties;
+        this.streamProperties = streamProperties;
+    }
+
+    /**
+     * Parses all CSRs contained in the given files. A CSR that cannot be parsed results in a failed
+     * item and does not affect the other items of the batch.
+     *
+     * @param csrFiles the uploaded files, each containing one or more PEM or DER encoded CSRs
+     * @param options the optional information to compute for every CSR
+     * @return one item per CSR found, in upload order
+     * @throws IOException if a file cannot be read
+     * @throws InvalidCsrFileExceptions if the batch contains more CSRs than allowed
+     */
+    public List<CsrBatchItem> parseBatch(List<MultipartFile> csrFiles, ParseOptions options) throws IOException {
+        List<CompletableFuture<CsrBatchItem>> items = new ArrayList<>();
+        try {
+            readBatch(csrFiles, options, items);
+        } catch (InvalidCsrFileExceptions e) {
+            // the batch is rejected as a whole, so the CSRs still waiting for the executor are not parsed
+            for (CompletableFuture<CsrBatchItem> item : items) {
+                item.cancel(false);
+            }
+            throw e;
+        }
+        log.info("Parsing batch of {} CSRs from {} files", items.size(), csrFiles.size());
+
+        List<CsrBatchItem> result = new ArrayList<>(items.size());
+        for (CompletableFuture<CsrBatchItem> item : items) {
+            result.add(item.join());
+        }
+        return result;
+    }
+
+    /**
+     * Reads the CSRs of all files and submits each for parsing as soon as it is read.
+     *
+     * @param items receives one item per CSR found, in upload order
+     * @throws InvalidCsrFileExceptions if the batch contains more CSRs than allowed
+     */
+    private void readBatch(List<MultipartFile> csrFiles, ParseOptions options, List<CompletableFuture<CsrBatchItem>> items) {
+        for (MultipartFile csrFile : csrFiles) {
+            String source = csrFile.getOriginalFilename();
+            int found = 0;
+            try (EncodedCsrReader reader = new EncodedCsrReader(csrFile.getInputStream(), streamProperties.getMaxObjectSize())) {
+                while (true) {
+                    CompletableFuture<CsrBatchItem> item;
+                    try {
+                        byte[] encoded = readNext(reader);
+                        if (encoded == null) {
+                            break;
+                        }
+                        checkBatchSize(items.size());
+                        item = submit(items.size(), source, encoded, options);
+                    } catch (IllegalArgumentException e) {
+                        checkBatchSize(items.size());
+                        item = failed(items.size(), source, e.getMessage());
+                    }
+                    items.add(item);
+                    found++;
+                }
+            } catch (IOException e) {
+                log.error("Failed to read CSR data from file {}: {}", source, e.getMessage());
+                checkBatchSize(items.size());
+                items.add(failed(items.size(), source, e.getMessage()));
+                found++;
+            }
+            if (found == 0) {
+                checkBatchSize(items.size());
+                items.add(failed(items.size(), source, "No PEM or DER encoded CSR found"));
+            }
+        }
+    }
+
+    /**
+     * Parses all CSRs contained in a stream and hands each result to the sink as soon as it and all
+     * preceding results are complete. At most a fixed window of CSRs is held in memory at any time,
+     * independent of the size of the stream.
+     *
+     * @param in the stream containing PEM or DER encoded CSRs
+     * @param options the optional information to compute for every CSR
+     * @param sink receives one item per CSR found, in stream order
+     * @return the number of items handed to the sink
+     */
+    public int parseStream(InputStream in, ParseOptions options, Consumer<CsrBatchItem> sink) {
+        int window = streamProperties.resolveWindow();
+        Deque<CompletableFuture<CsrBatchItem>> pending = new ArrayDeque<>(window);
+        int index = 0;
+        try (EncodedCsrReader reader = new EncodedCsrReader(in, streamProperties.getMaxObjectSize())) {
+            while (true) {
+                CompletableFuture<CsrBatchItem> item;
+                try {
+                    byte[] encoded = readNext(reader);
+                    if (encoded == null) {
+                        break;
+                    }
+                    item = submit(index, null, encoded, options);
+                } catch (IllegalArgumentException e) {
+                    item = failed(index, null, e.getMessage());
+                }
+                pending.add(item);
+                index++;
+                while (pending.size() >= window || (!pending.isEmpty() && pending.peek().isDone())) {
+                    sink.accept(pending.poll().join());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read CSR stream: {}", e.getMessage());
+            pending.add(failed(index++, null, e.getMessage()));
+        }
+        while (!pending.isEmpty()) {
+            sink.accept(pending.poll().join());
+        }
+        log.info("Finished parsing CSR stream. Items: {}", index);
+        return index;
+    }
+
+    /**
+     * Schedules the parsing of a single DER encoded CSR on the executor. Cancelling the returned
+     * future before the executor has started the task skips the parsing.
+     *
+     * @param index position of the CSR within the batch
+     * @param source name of the file the CSR was read from
+     * @param encoded the DER encoding of the CSR
+     * @param options the optional information to compute
+     * @return a future completing with the batch item
+     */
+    private CompletableFuture<CsrBatchItem> submit(int index, String source, byte[] encoded, ParseOptions options) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return CsrBatchItem.success(index, source, parsCsrService.parsePKCS10CertificationRequest(encoded, options));
+            } catch (RuntimeException e) {
+                return CsrBatchItem.failure(index, source, e.getMessage());
+            }
+        }, executor);
+    }
+
+    /**
+     * Reads the next encoded CSR, recording the decoding time and decoding errors.
+     */
+    private byte[] readNext(EncodedCsrReader reader) throws IOException {
+        long start = System.nanoTime();
+        try {
+            byte[] encoded = reader.next();
+            metrics.recordStage(Stage.PEM, start);
+            return encoded;
+        } catch (IllegalArgumentException e) {
+            metrics.recordError(true);
+            throw e;
+        }
+    }
+
+    private void checkBatchSize(int size) {
+        if (size >= batchProperties.getMaxItems()) {
+            throw new InvalidCsrFileExceptions("A batch may contain at most " + batchProperties.getMaxItems() + " CSRs",
+                    HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+    }
+
+    private static CompletableFuture<CsrBatchItem> failed(int index, String source, String error) {
+        return CompletableFuture.completedFuture(CsrBatchItem.failure(index, source, error));
+    }
+}
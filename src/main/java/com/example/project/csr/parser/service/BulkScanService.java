@@ -0,0 +1,381 @@
+package com.example.project.csr.parser.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.example.project.csr.parser.config.ScanProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.model.ScanSummary;
+import com.example.project.csr.parser.service.MappedCsrBundle.Region;
+import com.example.project.csr.parser.service.ScanInputReader.ScanEntry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service scanning a directory tree or archive of CSR files offline and writing one report item per CSR.
+ *
+ * <p>The scan runs as a pipeline of three stages on a work-stealing pool: a single reader enumerates
+ * the files, a configurable number of workers parse them and a single writer appends the results to
+ * the report. The stages are connected by bounded queues, so a slow stage throttles the stages in
+ * front of it instead of letting files pile up in memory. Report items are written in completion
+ * order, not in file order.</p>
+ *
+ */
+@Service
+@Slf4j
+public class BulkScanService {
+
+    private static final ScanEntry END_OF_INPUT = new ScanEntry(null, null, null);
+    private static final List<CsrBatchItem> END_OF_RESULTS = List.of();
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final ParsCsrService parsCsrService;
+    private final ScanProperties scanProperties;
+    private final StreamProperties streamProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new BulkScanService.
+     *
+     * @param parsCsrService The service responsible for parsing a single CSR
+     * @param scanProperties The scan configuration
+     * @param streamProperties The configuration limiting the size of a single CSR
+     * @param objectMapper The mapper used to write NDJSON reports
+     */
+    public BulkScanService(ParsCsrService parsCsrService, ScanProperties scanProperties,
+                           StreamProperties streamProperties, ObjectMapper objectMapper) {
+        this.parsCsrService = parsCsrService;
+        this.scanProperties = scanProperties;
+        this.streamProperties = streamProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Scans all matching files of the input and writes the report.
+     *
+     * @param input the directory, zip archive or tar archive to scan
+     * @param out the stream the report is written to; it is flushed but not closed
+     * @return the totals of the scan
+     * @throws IOException if the input cannot be read or the report cannot be written
+     * @throws InterruptedException if the scan is interrupted
+     */
+    public ScanSummary scan(Path input, OutputStream out) throws IOException, InterruptedException {
+        ParseOptions options = ParseOptions.builder()
+                .verifySignature(scanProperties.isVerify())
+                .extensions(CsrExtension.fromParameterNames(scanProperties.getExtensions()))
+                .fields(CsrField.fromParameterNames(scanProperties.getFields()))
+                .build();
+        int workers = scanProperties.resolveParallelism();
+        log.info("Scanning {} with {} parse workers", input, workers);
+        ScanSummary summary = Files.isDirectory(input) || ScanInputReader.isArchive(input)
+                ? scanFiles(input, out, options, workers)
+                : scanBundle(input, out, options, workers);
+        log.info("Scanned {} files ({} CSRs, {} failed) in {} ms: {} files/sec, {} CSRs/sec", summary.getFiles(),
+                summary.getCsrs(), summary.getFailures(), summary.getElapsedMillis(),
+                String.format("%.1f", summary.getFilesPerSecond()), String.format("%.1f", summary.getCsrsPerSecond()));
+        return summary;
+    }
+
+    /**
+     * Scans the files of a directory tree or archive.
+     */
+    private ScanSummary scanFiles(Path input, OutputStream out, ParseOptions options, int workers)
+            throws IOException, InterruptedException {
+        ScanInputReader reader = new ScanInputReader(scanProperties.getFileExtensions(), scanProperties.getMaxFileSize());
+        BlockingQueue<ScanEntry> files = new ArrayBlockingQueue<>(scanProperties.getQueueCapacity());
+        BlockingQueue<List<CsrBatchItem>> results = new ArrayBlockingQueue<>(scanProperties.getQueueCapacity());
+        AtomicLong fileCount = new AtomicLong();
+        Pipeline pipeline = new Pipeline();
+
+        long start = System.nanoTime();
+        // one thread each for the reader and the writer on top of the parse workers
+        ForkJoinPool pool = new ForkJoinPool(workers + 2);
+        try {
+            Future<?> readStage = pool.submit(() -> {
+                try {
+                    reader.read(input, entry -> {
+                        fileCount.incrementAndGet();
+                        pipeline.put(files, entry);
+                    });
+                    return null;
+                } finally {
+                    for (int i = 0; i < workers; i++) {
+                        pipeline.put(files, END_OF_INPUT);
+                    }
+                }
+            });
+            for (int i = 0; i < workers; i++) {
+                pool.submit(() -> {
+                    try {
+                        for (ScanEntry entry = files.take(); entry != END_OF_INPUT; entry = files.take()) {
+                            pipeline.put(results, parse(entry, options));
+                        }
+                    } finally {
+                        pipeline.put(results, END_OF_RESULTS);
+                    }
+                    return null;
+                });
+            }
+            Future<ScanSummary> writeStage = pool.submit(() -> write(results, workers, out, start, fileCount));
+
+            ScanSummary summary = await(writeStage, pipeline);
+            await(readStage, pipeline);
+            return summary;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Scans a single bundle file of concatenated CSRs. The bundle is split into regions that are
+     * first counted and then parsed in parallel; the counts give every CSR its index within the bundle.
+     */
+    private ScanSummary scanBundle(Path input, OutputStream out, ParseOptions options, int workers)
+            throws IOException, InterruptedException {
+        String source = input.getFileName().toString();
+        BlockingQueue<List<CsrBatchItem>> results = new ArrayBlockingQueue<>(scanProperties.getQueueCapacity());
+        Pipeline pipeline = new Pipeline();
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try (MappedCsrBundle bundle = MappedCsrBundle.open(input, streamProperties.getMaxObjectSize())) {
+            // a few regions per worker even out regions that are slower to parse
+            List<Region> regions = bundle.split(workers * 4);
+            List<Future<Integer>> counts = new ArrayList<>(regions.size());
+            for (Region region : regions) {
+                counts.add(pool.submit(() -> bundle.count(region)));
+            }
+            int[] firstIndex = new int[regions.size()];
+            int total = 0;
+            for (int i = 0; i < regions.size(); i++) {
+                firstIndex[i] = total;
+                total += await(counts.get(i), pipeline);
+            }
+            log.info("Bundle {} contains {} objects in {} regions", source, total, regions.size());
+            if (total == 0) {
+                ScanReportWriter writer = ScanReportWriter.create(scanProperties.getFormat(), out, objectMapper);
+                writer.write(CsrBatchItem.failure(0, source, "No PEM or DER encoded CSR found"));
+                writer.flush();
+                return new ScanSummary(1, 1, 1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+
+            List<Future<?>> parseStage = new ArrayList<>(regions.size());
+            for (int i = 0; i < regions.size(); i++) {
+                Region region = regions.get(i);
+                RegionParser parser = new RegionParser(source, firstIndex[i], options, results, pipeline);
+                parseStage.add(pool.submit(() -> {
+                    try {
+                        bundle.scan(region, parser);
+                        parser.flush();
+                    } finally {
+                        pipeline.put(results, END_OF_RESULTS);
+                    }
+                    return null;
+                }));
+            }
+            // the writer runs on the calling thread, so the pool only holds parse tasks
+            ScanSummary summary;
+            try {
+                summary = write(results, regions.size(), out, start, new AtomicLong(1));
+            } catch (IOException | RuntimeException e) {
+                pipeline.abort();
+                throw e;
+            }
+            for (Future<?> region : parseStage) {
+                await(region, pipeline);
+            }
+            return summary;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Parse stage: parses all CSRs contained in a single file.
+     */
+    private List<CsrBatchItem> parse(ScanEntry entry, ParseOptions options) {
+        String source = entry.name();
+        if (entry.error() != null) {
+            return List.of(CsrBatchItem.failure(0, source, entry.error()));
+        }
+        List<CsrBatchItem> items = new ArrayList<>(1);
+        try (EncodedCsrReader reader = new EncodedCsrReader(new ByteArrayInputStream(entry.content()), streamProperties.getMaxObjectSize())) {
+            while (true) {
+                int index = items.size();
+                try {
+                    byte[] encoded = reader.next();
+                    if (encoded == null) {
+                        break;
+                    }
+                    items.add(CsrBatchItem.success(index, source, parsCsrService.parsePKCS10CertificationRequest(encoded, options)));
+                } catch (RuntimeException e) {
+                    items.add(CsrBatchItem.failure(index, source, e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            items.add(CsrBatchItem.failure(items.size(), source, e.getMessage()));
+        }
+        if (items.isEmpty()) {
+            items.add(CsrBatchItem.failure(0, source, "No PEM or DER encoded CSR found"));
+        }
+        return items;
+    }
+
+    /**
+     * Write stage: appends the parse results to the report until every producer has finished.
+     */
+    private ScanSummary write(BlockingQueue<List<CsrBatchItem>> results, int producers, OutputStream out, long start,
+                              AtomicLong files) throws IOException, InterruptedException {
+        long csrs = 0;
+        long failures = 0;
+        long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+        ScanReportWriter writer = ScanReportWriter.create(scanProperties.getFormat(), out, objectMapper);
+        for (int running = producers; running > 0; ) {
+            List<CsrBatchItem> items = results.take();
+            if (items == END_OF_RESULTS) {
+                running--;
+                continue;
+            }
+            for (CsrBatchItem item : items) {
+                writer.write(item);
+                csrs++;
+                if (item.getError() != null) {
+                    failures++;
+                }
+            }
+            long now = System.nanoTime();
+            if (now >= nextProgress) {
+                double seconds = (now - start) / 1e9;
+                log.info("Scanned {} files, {} CSRs: {} files/sec, {} CSRs/sec", files.get(), csrs,
+                        String.format("%.1f", files.get() / seconds), String.format("%.1f", csrs / seconds));
+                nextProgress = now + PROGRESS_INTERVAL_NANOS;
+            }
+        }
+        writer.flush();
+        return new ScanSummary(files.get(), csrs, failures, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Waits for a stage and aborts the whole pipeline if it failed, so that no other stage stays
+     * blocked on a queue nobody drains.
+     */
+    private static <T> T await(Future<T> stage, Pipeline pipeline) throws IOException, InterruptedException {
+        try {
+            return stage.get();
+        } catch (ExecutionException e) {
+            pipeline.abort();
+            // the pool wraps checked exceptions of a stage in plain RuntimeExceptions
+            Throwable cause = e.getCause();
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Bulk scan failed", cause);
+        } catch (InterruptedException e) {
+            pipeline.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the objects of one bundle region and hands them to the write stage in batches.
+     */
+    private final class RegionParser implements MappedCsrBundle.ObjectConsumer {
+
+        private static final int BATCH_SIZE = 256;
+
+        private final String source;
+        private final ParseOptions options;
+        private final BlockingQueue<List<CsrBatchItem>> results;
+        private final Pipeline pipeline;
+        private int index;
+        private List<CsrBatchItem> batch = new ArrayList<>(BATCH_SIZE);
+
+        RegionParser(String source, int firstIndex, ParseOptions options,
+                     BlockingQueue<List<CsrBatchItem>> results, Pipeline pipeline) {
+            this.source = source;
+            this.index = firstIndex;
+            this.options = options;
+            this.results = results;
+            this.pipeline = pipeline;
+        }
+
+        @Override
+        public void accept(long offset, byte[] encoded, String error) throws InterruptedException {
+            CsrBatchItem item;
+            if (error != null) {
+                item = CsrBatchItem.failure(index, source, error);
+            } else {
+                try {
+                    item = CsrBatchItem.success(index, source, parsCsrService.parsePKCS10CertificationRequest(encoded, options));
+                } catch (RuntimeException e) {
+                    item = CsrBatchItem.failure(index, source, e.getMessage());
+                }
+            }
+            index++;
+            batch.add(item);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws InterruptedException {
+            if (!batch.isEmpty()) {
+                pipeline.put(results, batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Shared state of the stages of one scan.
+     */
+    private static final class Pipeline {
+
+        private volatile boolean aborted;
+
+        /**
+         * Hands an element to the next stage, blocking while its queue is full.
+         *
+         * @throws CancellationException if the pipeline was aborted while waiting
+         */
+        <T> void put(BlockingQueue<T> queue, T element) throws InterruptedException {
+            while (!queue.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (aborted) {
+                    throw new CancellationException("Bulk scan aborted");
+                }
+            }
+        }
+
+        void abort() {
+            aborted = true;
+        }
+    }
+}
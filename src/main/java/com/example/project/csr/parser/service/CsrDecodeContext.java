@@ -0,0 +1,218 @@
+package com.example.project.csr.parser.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reusable buffer for decoding a single uploaded CSR. The upload is read in bulk into a recycled
+ * array and a PEM object is located on that array and base64 decoded straight into its DER
+ * encoding, so a request allocates little more than the DER array itself. Anything the fast path
+ * does not handle, such as DER input or malformed armor, is handed to {@link EncodedCsrReader}
+ * over the same array, so results and error messages are those of the reader.
+ *
+ * <p>Contexts are pooled rather than kept per thread: with virtual threads every request runs on a
+ * thread of its own, so a thread-local buffer would never be reused.</p>
+ *
+ */
+final class CsrDecodeContext {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    // a buffer grown beyond this size by an unusually large upload is dropped rather than pooled
+    private static final int RETAINED_CAPACITY = 128 * 1024;
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final AtomicReferenceArray<CsrDecodeContext> POOL = new AtomicReferenceArray<>(POOL_SIZE);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    private CsrDecodeContext() {
+    }
+
+    /**
+     * Takes a context from the pool, or creates one if the pool is empty.
+     *
+     * @return a context that must be handed back with {@link #release()}
+     */
+    static CsrDecodeContext acquire() {
+        int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            CsrDecodeContext context = POOL.getAndSet((start + i) % POOL_SIZE, null);
+            if (context != null) {
+                return context;
+            }
+        }
+        return new CsrDecodeContext();
+    }
+
+    /**
+     * Returns the context to the pool. The context must not be used afterwards.
+     */
+    void release() {
+        length = 0;
+        if (buffer.length > RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (POOL.compareAndSet((start + i) % POOL_SIZE, null, this)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the stream into the buffer, stopping after one byte more than the limit.
+     *
+     * @param in the stream to read; not closed
+     * @param limit the maximum number of bytes expected
+     * @return the number of bytes read, greater than the limit if the stream holds more
+     * @throws IOException if the stream cannot be read
+     */
+    int read(InputStream in, int limit) throws IOException {
+        length = 0;
+        while (length <= limit) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, limit + 1));
+            }
+            int read = in.read(buffer, length, Math.min(buffer.length, limit + 1) - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Returns a stream over the bytes read followed by the rest of the given stream.
+     *
+     * @param rest the stream the buffer was read from
+     * @return the complete stream
+     */
+    InputStream replay(InputStream rest) {
+        return new SequenceInputStream(new ByteArrayInputStream(buffer, 0, length), rest);
+    }
+
+    /**
+     * Returns a copy of the bytes read.
+     *
+     * @return the bytes read, in an exactly sized array
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Decodes the first CSR of the bytes read, like {@link EncodedCsrReader#next()}.
+     *
+     * @param maxObjectSize the maximum size in bytes of the DER encoded CSR
+     * @return the DER encoding of the CSR, or {@code null} if the bytes contain no object
+     * @throws IllegalArgumentException if the first object is not a well-formed CSR encoding
+     * @throws IOException if the framing of a DER object is malformed
+     */
+    byte[] decodeFirst(int maxObjectSize) throws IOException {
+        byte[] encoded = decodeArmored(maxObjectSize);
+        if (encoded != null) {
+            return encoded;
+        }
+        try (EncodedCsrReader reader = new EncodedCsrReader(new ByteArrayInputStream(buffer, 0, length), maxObjectSize)) {
+            return reader.next();
+        }
+    }
+
+    /**
+     * Decodes the bytes read as a text body, like {@link EncodedCsrReader#decodeText(byte[], int)}.
+     *
+     * @param maxObjectSize the maximum size in bytes of the DER encoded CSR
+     * @return the DER encoding of the CSR, or {@code null} if the text contains no data
+     * @throws IllegalArgumentException if the text is not a well-formed CSR encoding
+     */
+    byte[] decodeText(int maxObjectSize) {
+        byte[] encoded = decodeArmored(maxObjectSize);
+        return encoded != null ? encoded : EncodedCsrReader.decodeText(buffer, length, maxObjectSize);
+    }
+
+    /**
+     * Fast path for the common upload: optional preamble lines followed by a well-formed PEM
+     * armored CSR. The object is located by scanning the buffer for its BEGIN and END lines and
+     * its body is base64 decoded in place.
+     *
+     * @return the DER encoding of the CSR, or {@code null} if the input has to be decoded by the reader
+     */
+    private byte[] decodeArmored(int maxObjectSize) {
+        int maxLineLength = maxObjectSize / 3 * 4 + 256;
+        int pos = 0;
+        int beginLineEnd;
+        while (true) {
+            while (pos < length && CsrFraming.isWhitespace(buffer[pos])) {
+                pos++;
+            }
+            if (pos == length || (pos + 1 < length && CsrFraming.isDerStart(buffer[pos] & 0xff, buffer[pos + 1] & 0xff))) {
+                return null;
+            }
+            int lineEnd = lineEnd(pos);
+            if (lineEnd - pos > maxLineLength) {
+                return null;
+            }
+            if (startsWith(pos, CsrFraming.BEGIN)) {
+                if (lineEnd == length || !CsrFraming.isCsrType(buffer, pos + CsrFraming.BEGIN.length, lineEnd)) {
+                    return null;
+                }
+                beginLineEnd = lineEnd;
+                break;
+            }
+            if (lineEnd == length) {
+                return null;
+            }
+            pos = lineEnd + 1;
+        }
+
+        int bodyStart = beginLineEnd + 1;
+        int symbols = 0;
+        pos = bodyStart;
+        while (!startsWith(pos, CsrFraming.END)) {
+            if (pos >= length) {
+                return null;
+            }
+            int lineEnd = lineEnd(pos);
+            if (lineEnd - pos > maxLineLength) {
+                return null;
+            }
+            for (int i = pos; i < lineEnd; i++) {
+                if (!CsrFraming.isWhitespace(buffer[i])) {
+                    symbols++;
+                }
+            }
+            pos = lineEnd + 1;
+        }
+        if (symbols > maxObjectSize / 3 * 4 + 4) {
+            return null;
+        }
+        try {
+            return Base64Decoder.decode(ByteBuffer.wrap(buffer), bodyStart, pos);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the position of the line feed ending the line, or the end of the input.
+     */
+    private int lineEnd(int from) {
+        for (int i = from; i < length; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private boolean startsWith(int offset, byte[] prefix) {
+        return CsrFraming.startsWith(buffer, offset, length, prefix);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.project.csr.parser.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.ASN1String;
+import org.bouncycastle.asn1.pkcs.Attribute;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.OtherName;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrExtensions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decodes the X.509 extensions carried in the PKCS#9 extensionRequest attribute of a CSR.
+ * Extension values stay undecoded OCTET STRINGs until an extension is selected, so a CSR with
+ * hundreds of SANs costs nothing extra for callers that do not ask for them.
+ *
+ */
+@Slf4j
+final class CsrExtensionDecoder {
+
+    /**
+     * Key usage bits in the order of their names in {@link #KEY_USAGE_NAMES}
+     */
+    private static final int[] KEY_USAGE_BITS = {
+            KeyUsage.digitalSignature, KeyUsage.nonRepudiation, KeyUsage.keyEncipherment,
+            KeyUsage.dataEncipherment, KeyUsage.keyAgreement, KeyUsage.keyCertSign,
+            KeyUsage.cRLSign, KeyUsage.encipherOnly, KeyUsage.decipherOnly
+    };
+
+    private static final String[] KEY_USAGE_NAMES = {
+            "digitalSignature", "nonRepudiation", "keyEncipherment",
+            "dataEncipherment", "keyAgreement", "keyCertSign",
+            "cRLSign", "encipherOnly", "decipherOnly"
+    };
+
+    /**
+     * Map of the common extended key usage OIDs to their names
+     */
+    private static final Map<ASN1ObjectIdentifier, String> EXTENDED_KEY_USAGE_NAMES = Map.of(
+            KeyPurposeId.id_kp_serverAuth.toOID(), "serverAuth",
+            KeyPurposeId.id_kp_clientAuth.toOID(), "clientAuth",
+            KeyPurposeId.id_kp_codeSigning.toOID(), "codeSigning",
+            KeyPurposeId.id_kp_emailProtection.toOID(), "emailProtection",
+            KeyPurposeId.id_kp_timeStamping.toOID(), "timeStamping",
+            KeyPurposeId.id_kp_OCSPSigning.toOID(), "OCSPSigning",
+            KeyPurposeId.anyExtendedKeyUsage.toOID(), "anyExtendedKeyUsage");
+
+    private CsrExtensionDecoder() {
+    }
+
+    /**
+     * Decodes the selected extensions of the CSR.
+     *
+     * @param csr The CSR to process
+     * @param selected The extensions to decode
+     * @param subjectAltNames The names decoded by {@link #subjectAltNames(PKCS10CertificationRequest)}, required
+     *                        if the subject alternative name is selected
+     * @return the decoded extensions, or {@code null} if no extension is selected
+     * @throws IllegalArgumentException if a selected extension is malformed
+     */
+    static CsrExtensions decode(PKCS10CertificationRequest csr, Set<CsrExtension> selected, GeneralName[] subjectAltNames) {
+        if (selected.isEmpty()) {
+            return null;
+        }
+        Extensions extensions = requestedExtensions(csr);
+        try {
+            List<String> formattedAltNames = selected.contains(CsrExtension.SUBJECT_ALT_NAME)
+                    ? format(subjectAltNames) : null;
+            List<String> keyUsage = selected.contains(CsrExtension.KEY_USAGE)
+                    ? keyUsage(extensions) : null;
+            List<String> extendedKeyUsage = selected.contains(CsrExtension.EXTENDED_KEY_USAGE)
+                    ? extendedKeyUsage(extensions) : null;
+            BasicConstraints basicConstraints = selected.contains(CsrExtension.BASIC_CONSTRAINTS) && extensions != null
+                    ? BasicConstraints.fromExtensions(extensions) : null;
+            return new CsrExtensions(formattedAltNames, keyUsage, extendedKeyUsage,
+                    basicConstraints != null ? basicConstraints.isCA() : null,
+                    basicConstraints != null && basicConstraints.getPathLenConstraint() != null
+                            ? basicConstraints.getPathLenConstraint().intValue() : null);
+        } catch (RuntimeException e) {
+            log.error("Failed to decode CSR extensions: {}", e.getMessage());
+            throw new IllegalArgumentException("Malformed extension in CSR extension request", e);
+        }
+    }
+
+    /**
+     * Decodes the subject alternative name extension once for both the formatted names of
+     * {@link #decode} and the DNS names of {@link #dnsNames(GeneralName[])}.
+     *
+     * @param csr The CSR to process
+     * @return the names, empty if the CSR does not request a subject alternative name
+     * @throws IllegalArgumentException if the extension is malformed
+     */
+    static GeneralName[] subjectAltNames(PKCS10CertificationRequest csr) {
+        Extensions extensions = requestedExtensions(csr);
+        try {
+            GeneralNames names = extensions != null ? GeneralNames.fromExtensions(extensions, Extension.subjectAlternativeName) : null;
+            return names != null ? names.getNames() : new GeneralName[0];
+        } catch (RuntimeException e) {
+            log.error("Failed to decode CSR extensions: {}", e.getMessage());
+            throw new IllegalArgumentException("Malformed extension in CSR extension request", e);
+        }
+    }
+
+    /**
+     * Selects the DNS names among the subject alternative names, without formatting the other names.
+     *
+     * @param names The names decoded by {@link #subjectAltNames(PKCS10CertificationRequest)}
+     * @return the DNS names
+     */
+    static List<String> dnsNames(GeneralName[] names) {
+        List<String> result = new ArrayList<>();
+        for (GeneralName name : names) {
+            if (name.getTagNo() == GeneralName.dNSName) {
+                result.add(((ASN1String) name.getName()).getString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Locates the extensionRequest attribute without decoding the extension values.
+     *
+     * @param csr The CSR to process
+     * @return the requested extensions, or {@code null} if the CSR does not request any
+     */
+    private static Extensions requestedExtensions(PKCS10CertificationRequest csr) {
+        Attribute[] attributes = csr.getAttributes(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest);
+        if (attributes.length == 0 || attributes[0].getAttrValues().size() == 0) {
+            return null;
+        }
+        try {
+            return Extensions.getInstance(attributes[0].getAttrValues().getObjectAt(0));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed CSR extension request", e);
+        }
+    }
+
+    private static List<String> format(GeneralName[] names) {
+        List<String> result = new ArrayList<>(names.length);
+        for (GeneralName name : names) {
+            result.add(format(name));
+        }
+        return result;
+    }
+
+    private static List<String> keyUsage(Extensions extensions) {
+        KeyUsage keyUsage = extensions != null ? KeyUsage.fromExtensions(extensions) : null;
+        if (keyUsage == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(KEY_USAGE_BITS.length);
+        for (int i = 0; i < KEY_USAGE_BITS.length; i++) {
+            if (keyUsage.hasUsages(KEY_USAGE_BITS[i])) {
+                result.add(KEY_USAGE_NAMES[i]);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> extendedKeyUsage(Extensions extensions) {
+        ASN1Encodable value = extensions != null ? extensions.getExtensionParsedValue(Extension.extendedKeyUsage) : null;
+        if (value == null) {
+            return List.of();
+        }
+        ASN1Sequence purposes = ASN1Sequence.getInstance(value);
+        List<String> result = new ArrayList<>(purposes.size());
+        for (ASN1Encodable purpose : purposes) {
+            ASN1ObjectIdentifier oid = ASN1ObjectIdentifier.getInstance(purpose);
+            result.add(EXTENDED_KEY_USAGE_NAMES.getOrDefault(oid, oid.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * Formats a general name in the style of OpenSSL, e.g. {@code DNS:www.domain.de}.
+     */
+    private static String format(GeneralName name) {
+        ASN1Encodable value = name.getName();
+        return switch (name.getTagNo()) {
+            case GeneralName.dNSName -> "DNS:" + ((ASN1String) value).getString();
+            case GeneralName.rfc822Name -> "email:" + ((ASN1String) value).getString();
+            case GeneralName.uniformResourceIdentifier -> "URI:" + ((ASN1String) value).getString();
+            case GeneralName.iPAddress -> "IP:" + ipAddress(ASN1OctetString.getInstance(value).getOctets());
+            case GeneralName.directoryName -> "DirName:" + X500Name.getInstance(value);
+            case GeneralName.registeredID -> "RID:" + ASN1ObjectIdentifier.getInstance(value).getId();
+            case GeneralName.otherName -> "othername:" + OtherName.getInstance(value).getTypeID().getId();
+            default -> "tag" + name.getTagNo() + ":" + value;
+        };
+    }
+
+    private static String ipAddress(byte[] address) {
+        try {
+            return InetAddress.getByAddress(address).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Malformed IP address in subject alternative name", e);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.project.csr.parser.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a byte stream that arrives in arbitrary chunks into PEM or DER encoded CSRs without
+ * blocking for more input. Each chunk is appended to a buffer and every object completed by it
+ * is returned at once; incomplete objects wait for the next chunk. This is the push-based
+ * counterpart of {@link EncodedCsrReader}, which pulls from a blocking stream.
+ *
+ * <p>A malformed object is reported as a failed frame and decoding continues with the next one.
+ * A DER header that cannot be framed ends decoding, since the start of the next object is
+ * unknown.</p>
+ *
+ */
+final class CsrFrameDecoder {
+
+    private final int maxObjectSize;
+    private final int maxPemSize;
+    private byte[] buffer = new byte[4096];
+    private int start;
+    private int end;
+    // offset from start up to which a pending PEM object has been searched for its END line
+    private int pemScanned;
+    private long skipRemaining;
+    private boolean discardingPem;
+    private boolean failed;
+
+    /**
+     * Creates a decoder.
+     *
+     * @param maxObjectSize the maximum size in bytes of a single DER encoded CSR
+     */
+    CsrFrameDecoder(int maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+        // base64 grows the DER by a third, the rest leaves room for armor and line breaks
+        this.maxPemSize = maxObjectSize * 2;
+    }
+
+    /**
+     * Appends a chunk of input and returns the objects it completes.
+     *
+     * @param chunk the next bytes of the stream; consumed entirely
+     * @return the completed objects, in stream order
+     */
+    List<Frame> decode(ByteBuffer chunk) {
+        if (failed) {
+            chunk.position(chunk.limit());
+            return List.of();
+        }
+        append(chunk);
+        List<Frame> frames = new ArrayList<>();
+        decodeFrames(frames);
+        return frames;
+    }
+
+    /**
+     * Signals the end of the stream and returns the objects left in the buffer.
+     *
+     * @return a failed frame for an incomplete trailing object, otherwise an empty list
+     */
+    List<Frame> finish() {
+        if (failed || skipRemaining > 0 || discardingPem) {
+            return List.of();
+        }
+        List<Frame> frames = new ArrayList<>();
+        if (pemScanned == 0) {
+            skipWhitespace();
+        }
+        if (start < end && (pemScanned > 0 || !isDerStart())) {
+            // the last line of a PEM object may lack its line terminator at the end of the stream
+            append(ByteBuffer.wrap(new byte[]{'\n'}));
+            decodeFrames(frames);
+            if (failed) {
+                return frames;
+            }
+            if (pemScanned == 0) {
+                skipWhitespace();
+            }
+        }
+        if (start < end) {
+            frames.add(Frame.failure(isDerStart()
+                    ? "Malformed DER data: unexpected end of stream"
+                    : "Malformed PEM data: missing END line for " + pemType()));
+        }
+        start = end;
+        return frames;
+    }
+
+    private void decodeFrames(List<Frame> frames) {
+        while (!failed) {
+            if (skipRemaining > 0) {
+                int skipped = (int) Math.min(skipRemaining, end - start);
+                start += skipped;
+                skipRemaining -= skipped;
+                if (skipRemaining > 0) {
+                    return;
+                }
+            }
+            if (discardingPem && !discardPem()) {
+                return;
+            }
+            if (pemScanned == 0) {
+                skipWhitespace();
+            }
+            if (start == end) {
+                return;
+            }
+            if (pemScanned == 0 && (buffer[start] & 0xff) == CsrFraming.DER_SEQUENCE && end - start < 2) {
+                // the next byte tells DER from a text line starting with '0'
+                return;
+            }
+            if (pemScanned == 0 && isDerStart()) {
+                if (!decodeDer(frames)) {
+                    return;
+                }
+            } else if (!decodeText(frames)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Frames a DER encoded SEQUENCE including its tag and length octets.
+     *
+     * @return {@code true} if the buffer may hold further objects
+     */
+    private boolean decodeDer(List<Frame> frames) {
+        long total;
+        try {
+            total = CsrFraming.derLength(buffer, start, end);
+        } catch (IllegalArgumentException e) {
+            return fail(frames, e.getMessage());
+        }
+        if (total == CsrFraming.INCOMPLETE) {
+            return false;
+        }
+        if (total > maxObjectSize) {
+            frames.add(Frame.failure("CSR exceeds the maximum size of " + maxObjectSize + " bytes"));
+            skipRemaining = total;
+            return true;
+        }
+        if (end - start < total) {
+            return false;
+        }
+        frames.add(Frame.success(Arrays.copyOfRange(buffer, start, start + (int) total)));
+        start += (int) total;
+        return true;
+    }
+
+    /**
+     * Frames a PEM object from its BEGIN line up to and including its END line. Any other line
+     * before a BEGIN line is a preamble and is skipped.
+     *
+     * @return {@code true} if the buffer may hold further objects
+     */
+    private boolean decodeText(List<Frame> frames) {
+        if (pemScanned == 0) {
+            int lineEnd = indexOf('\n', start);
+            if (lineEnd < 0) {
+                return end - start > maxPemSize && fail(frames, "Malformed PEM data: line exceeds " + maxPemSize + " bytes");
+            }
+            if (!startsWith(start, CsrFraming.BEGIN)) {
+                start = lineEnd + 1;
+                return true;
+            }
+            pemScanned = lineEnd + 1 - start;
+        }
+        while (true) {
+            int lineStart = start + pemScanned;
+            int lineEnd = indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                if (end - start > maxPemSize) {
+                    frames.add(Frame.failure("CSR exceeds the maximum size of " + maxObjectSize + " bytes"));
+                    // keep the partial line, it may be the start of the END line
+                    start = lineStart;
+                    pemScanned = 0;
+                    discardingPem = true;
+                }
+                return false;
+            }
+            pemScanned = lineEnd + 1 - start;
+            if (startsWith(lineStart, CsrFraming.END)) {
+                frames.add(decodePem(Arrays.copyOfRange(buffer, start, lineEnd + 1)));
+                start = lineEnd + 1;
+                pemScanned = 0;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Skips the remainder of an oversized PEM object up to and including its END line.
+     *
+     * @return {@code true} once the END line has been skipped
+     */
+    private boolean discardPem() {
+        while (true) {
+            int lineEnd = indexOf('\n', start);
+            if (lineEnd < 0) {
+                return false;
+            }
+            boolean endLine = startsWith(start, CsrFraming.END);
+            start = lineEnd + 1;
+            if (endLine) {
+                discardingPem = false;
+                return true;
+            }
+        }
+    }
+
+    private Frame decodePem(byte[] pem) {
+        try {
+            byte[] encoded = EncodedCsrReader.decodeText(pem, maxObjectSize);
+            return encoded != null ? Frame.success(encoded) : Frame.failure("Input is not a valid PKCS#10 CSR");
+        } catch (IllegalArgumentException e) {
+            return Frame.failure(e.getMessage());
+        }
+    }
+
+    private boolean fail(List<Frame> frames, String error) {
+        frames.add(Frame.failure(error));
+        failed = true;
+        start = end;
+        return false;
+    }
+
+    private String pemType() {
+        int lineEnd = indexOf('\n', start);
+        int typeEnd = lineEnd < 0 ? end : lineEnd;
+        return CsrFraming.pemType(buffer, Math.min(start + CsrFraming.BEGIN.length, typeEnd), typeEnd);
+    }
+
+    private void append(ByteBuffer chunk) {
+        int length = chunk.remaining();
+        if (end + length > buffer.length) {
+            int pending = end - start;
+            if (pending + length <= buffer.length / 2) {
+                System.arraycopy(buffer, start, buffer, 0, pending);
+            } else {
+                byte[] grown = new byte[Math.max(buffer.length * 2, Integer.highestOneBit(pending + length) * 2)];
+                System.arraycopy(buffer, start, grown, 0, pending);
+                buffer = grown;
+            }
+            start = 0;
+            end = pending;
+        }
+        chunk.get(buffer, end, length);
+        end += length;
+    }
+
+    private boolean isDerStart() {
+        return end - start >= 2 && CsrFraming.isDerStart(buffer[start] & 0xff, buffer[start + 1] & 0xff);
+    }
+
+    private void skipWhitespace() {
+        while (start < end && CsrFraming.isWhitespace(buffer[start])) {
+            start++;
+        }
+    }
+
+    private int indexOf(int b, int from) {
+        for (int i = from; i < end; i++) {
+            if (buffer[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startsWith(int offset, byte[] prefix) {
+        return CsrFraming.startsWith(buffer, offset, end, prefix);
+    }
+
+    /**
+     * A framed object: the DER encoding of a CSR, or the error that prevented decoding it.
+     */
+    record Frame(byte[] encoded, String error) {
+
+        static Frame success(byte[] encoded) {
+            return new Frame(encoded, null);
+        }
+
+        static Frame failure(String error) {
+            return new Frame(null, error);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.project.csr.parser.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Framing rules shared by the readers that split input into PEM or DER encoded CSRs: the
+ * {@link EncodedCsrReader} pulling from a stream, the pooled {@link CsrDecodeContext}, the
+ * push-based {@link CsrFrameDecoder} and the memory-mapped {@link MappedCsrBundle}. They differ in
+ * how input arrives, but recognise DER headers, armor lines and object types only here.
+ *
+ */
+final class CsrFraming {
+
+    static final byte[] BEGIN = "-----BEGIN ".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] END = "-----END ".getBytes(StandardCharsets.US_ASCII);
+    static final int DER_SEQUENCE = 0x30;
+    /**
+     * Returned by {@link #derLength(byte[], int, int)} while the header is not complete.
+     */
+    static final long INCOMPLETE = -1;
+    /**
+     * Number of bytes sufficient to hold any DER header accepted by {@link #derLength(byte[], int, int)}.
+     */
+    static final int MAX_DER_HEADER_LENGTH = 6;
+
+    private static final byte[] DASHES = "-----".getBytes(StandardCharsets.US_ASCII);
+    private static final String CERTIFICATE_REQUEST = "CERTIFICATE REQUEST";
+    private static final String NEW_CERTIFICATE_REQUEST = "NEW CERTIFICATE REQUEST";
+    private static final byte[] CERTIFICATE_REQUEST_BYTES = CERTIFICATE_REQUEST.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEW_CERTIFICATE_REQUEST_BYTES = NEW_CERTIFICATE_REQUEST.getBytes(StandardCharsets.US_ASCII);
+
+    private CsrFraming() {
+    }
+
+    /**
+     * Tells whether two bytes start a DER encoded CSR rather than a line of text. A CSR is always
+     * longer than 127 bytes, so its SEQUENCE has a long form length, whose first octet is not ASCII;
+     * a preamble line starting with {@code '0'} is therefore never taken for DER. First length octets
+     * beyond four length bytes are left to the text path as well, as they are UTF-8 lead bytes rather
+     * than a length any CSR could have.
+     *
+     * @param tag the first byte, as an unsigned value
+     * @param length the second byte, as an unsigned value
+     * @return {@code true} if the bytes are the header of a DER SEQUENCE with a long form or indefinite length
+     */
+    static boolean isDerStart(int tag, int length) {
+        return tag == DER_SEQUENCE && length >= 0x80 && length <= 0x84;
+    }
+
+    /**
+     * Determines the total length of the DER SEQUENCE starting at the given offset from its header.
+     *
+     * @param bytes the bytes holding the header
+     * @param offset the position of the SEQUENCE tag
+     * @param limit the end of the available bytes
+     * @return the length of the SEQUENCE including its tag and length octets, or {@link #INCOMPLETE}
+     *         if the available bytes end within the header
+     * @throws IllegalArgumentException if the header uses an indefinite or overlong length
+     */
+    static long derLength(byte[] bytes, int offset, int limit) {
+        if (limit - offset < 2) {
+            return INCOMPLETE;
+        }
+        int first = bytes[offset + 1] & 0xff;
+        if (first < 0x80) {
+            return 2L + first;
+        }
+        if (first == 0x80) {
+            throw new IllegalArgumentException("Malformed DER data: indefinite length encoding is not supported");
+        }
+        int lengthOctets = first & 0x7f;
+        if (lengthOctets > 4) {
+            throw new IllegalArgumentException("Malformed DER data: length field too long");
+        }
+        if (limit - offset < 2 + lengthOctets) {
+            return INCOMPLETE;
+        }
+        long length = 0;
+        for (int i = 0; i < lengthOctets; i++) {
+            length = (length << 8) | (bytes[offset + 2 + i] & 0xff);
+        }
+        return 2L + lengthOctets + length;
+    }
+
+    /**
+     * Extracts the object type from a BEGIN line, e.g. {@code CERTIFICATE REQUEST}.
+     *
+     * @param line the bytes holding the line
+     * @param typeStart the position right after the {@link #BEGIN} prefix
+     * @param lineEnd the end of the line, without its line feed
+     * @return the type, without trailing dashes and white space
+     */
+    static String pemType(byte[] line, int typeStart, int lineEnd) {
+        return new String(line, typeStart, pemTypeEnd(line, typeStart, lineEnd) - typeStart, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Tells whether a BEGIN line announces a CSR, without building the type string.
+     *
+     * @param line the bytes holding the line
+     * @param typeStart the position right after the {@link #BEGIN} prefix
+     * @param lineEnd the end of the line, without its line feed
+     * @return {@code true} for the types {@code CERTIFICATE REQUEST} and {@code NEW CERTIFICATE REQUEST}
+     */
+    static boolean isCsrType(byte[] line, int typeStart, int lineEnd) {
+        int end = pemTypeEnd(line, typeStart, lineEnd);
+        return Arrays.equals(line, typeStart, end, CERTIFICATE_REQUEST_BYTES, 0, CERTIFICATE_REQUEST_BYTES.length)
+                || Arrays.equals(line, typeStart, end, NEW_CERTIFICATE_REQUEST_BYTES, 0, NEW_CERTIFICATE_REQUEST_BYTES.length);
+    }
+
+    /**
+     * Tells whether an object type extracted by {@link #pemType(byte[], int, int)} is that of a CSR.
+     *
+     * @param type the object type
+     * @return {@code true} for the types {@code CERTIFICATE REQUEST} and {@code NEW CERTIFICATE REQUEST}
+     */
+    static boolean isCsrType(String type) {
+        return CERTIFICATE_REQUEST.equals(type) || NEW_CERTIFICATE_REQUEST.equals(type);
+    }
+
+    static boolean startsWith(byte[] bytes, int offset, int limit, byte[] prefix) {
+        return limit - offset >= prefix.length && Arrays.equals(bytes, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    static boolean startsWith(ByteBuffer buffer, int offset, int limit, byte[] prefix) {
+        if (limit - offset < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static int pemTypeEnd(byte[] line, int typeStart, int lineEnd) {
+        int end = lineEnd;
+        while (end > typeStart && isWhitespace(line[end - 1])) {
+            end--;
+        }
+        if (end - typeStart >= DASHES.length && Arrays.equals(line, end - DASHES.length, end, DASHES, 0, DASHES.length)) {
+            end -= DASHES.length;
+        }
+        return end;
+    }
+}
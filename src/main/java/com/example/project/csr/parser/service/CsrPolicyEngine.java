@@ -0,0 +1,162 @@
+package com.example.project.csr.parser.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.PolicyProperties;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.PolicyRule;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks parsed CSRs against the configured policy: allowed signature algorithms, minimum key sizes,
+ * required subject attributes and allowed domains of the DNS names. The rules are compiled once into
+ * an evaluation plan of bit sets, an array of key sizes per algorithm and a {@link DomainSuffixTrie},
+ * so a check costs a few comparisons per rule on the values the extraction has decoded anyway.
+ *
+ */
+@Component
+@Slf4j
+public class CsrPolicyEngine {
+
+    private static final SubjectAttribute[] SUBJECT_ATTRIBUTES = SubjectAttribute.values();
+
+    private final boolean enabled;
+    // null if any algorithm is allowed
+    private final Set<SignatureAlgorithm> allowedSignatureAlgorithms;
+    // indexed by the ordinal of the key algorithm, zero if the algorithm has no minimum
+    private final int[] minKeySizes = new int[KeyAlgorithm.values().length];
+    private final boolean checksKeySize;
+    // bit set over the ordinals of the subject attributes
+    private final int requiredSubjectAttributes;
+    // null if any domain is allowed
+    private final DomainSuffixTrie allowedDomains;
+
+    /**
+     * Constructs a new CsrPolicyEngine and compiles the rules of the policy.
+     *
+     * @param properties The policy configuration
+     * @throws IllegalArgumentException if an allowed domain is empty
+     */
+    public CsrPolicyEngine(PolicyProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.allowedSignatureAlgorithms = properties.getAllowedSignatureAlgorithms().isEmpty()
+                ? null : EnumSet.copyOf(properties.getAllowedSignatureAlgorithms());
+        boolean checksKeySize = false;
+        for (Map.Entry<KeyAlgorithm, Integer> minKeySize : properties.getMinKeySize().entrySet()) {
+            if (minKeySize.getValue() != null && minKeySize.getValue() > 0) {
+                minKeySizes[minKeySize.getKey().ordinal()] = minKeySize.getValue();
+                checksKeySize = true;
+            }
+        }
+        this.checksKeySize = checksKeySize;
+        int required = 0;
+        for (SubjectAttribute attribute : properties.getRequiredSubjectAttributes()) {
+            required |= 1 << attribute.ordinal();
+        }
+        this.requiredSubjectAttributes = required;
+        this.allowedDomains = properties.getAllowedDomains().isEmpty() ? null : new DomainSuffixTrie(properties.getAllowedDomains());
+        if (enabled) {
+            log.info("CSR policy enabled with {} allowed signature algorithms, {} minimum key sizes, {} required subject attributes and {} allowed domains",
+                    allowedSignatureAlgorithms != null ? allowedSignatureAlgorithms.size() : "any", properties.getMinKeySize().size(),
+                    Integer.bitCount(required), allowedDomains != null ? properties.getAllowedDomains().size() : "any");
+        }
+    }
+
+    /**
+     * Returns whether parsed CSRs are checked against the policy.
+     *
+     * @return {@code true} if the policy is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns whether the policy needs the analysis of the public key.
+     *
+     * @return {@code true} if a minimum key size is configured
+     */
+    public boolean requiresPublicKey() {
+        return checksKeySize;
+    }
+
+    /**
+     * Returns whether the policy needs the DNS names of the subject alternative name extension.
+     *
+     * @return {@code true} if allowed domains are configured
+     */
+    public boolean requiresDnsNames() {
+        return allowedDomains != null;
+    }
+
+    /**
+     * Checks the values extracted from a CSR against every rule of the policy.
+     *
+     * @param signatureAlgorithm the signature algorithm, or {@code null} if it is not a known algorithm
+     * @param signatureAlgorithmOid the object identifier of the signature algorithm
+     * @param publicKey the analyzed public key, or {@code null} if the policy does not {@link #requiresPublicKey() require} it
+     * @param attributes the subject attributes
+     * @param dnsNames the DNS names of the subject alternative names, or {@code null} if the policy does not
+     *                 {@link #requiresDnsNames() require} them
+     * @return the violations, empty if the CSR complies with the policy
+     */
+    public List<PolicyViolation> evaluate(SignatureAlgorithm signatureAlgorithm, String signatureAlgorithmOid,
+                                          PublicKeyInfo publicKey, List<CsrAttribute> attributes, List<String> dnsNames) {
+        List<PolicyViolation> violations = null;
+        if (allowedSignatureAlgorithms != null
+                && (signatureAlgorithm == null || !allowedSignatureAlgorithms.contains(signatureAlgorithm))) {
+            violations = add(violations, PolicyRule.SIGNATURE_ALGORITHM, "Signature algorithm "
+                    + (signatureAlgorithm != null ? signatureAlgorithm.getDisplayName() : signatureAlgorithmOid) + " is not allowed");
+        }
+        if (checksKeySize && publicKey != null && publicKey.getAlgorithm() != null) {
+            int minKeySize = minKeySizes[publicKey.getAlgorithm().ordinal()];
+            if (minKeySize > 0 && (publicKey.getKeySize() == null || publicKey.getKeySize() < minKeySize)) {
+                violations = add(violations, PolicyRule.KEY_SIZE, publicKey.getKeySize() == null
+                        ? "Size of the " + publicKey.getAlgorithm() + " key is unknown"
+                        : publicKey.getAlgorithm() + " key of " + publicKey.getKeySize() + " bits is below the minimum of "
+                        + minKeySize + " bits");
+            }
+        }
+        if (requiredSubjectAttributes != 0) {
+            int present = 0;
+            for (CsrAttribute attribute : attributes) {
+                if (attribute.getType() != null) {
+                    present |= 1 << attribute.getType().ordinal();
+                }
+            }
+            int missing = requiredSubjectAttributes & ~present;
+            while (missing != 0) {
+                SubjectAttribute attribute = SUBJECT_ATTRIBUTES[Integer.numberOfTrailingZeros(missing)];
+                violations = add(violations, PolicyRule.SUBJECT_ATTRIBUTE, "Subject lacks the required attribute " + attribute);
+                missing &= missing - 1;
+            }
+        }
+        if (allowedDomains != null && dnsNames != null) {
+            for (String dnsName : dnsNames) {
+                if (!allowedDomains.matches(dnsName)) {
+                    violations = add(violations, PolicyRule.SAN_DOMAIN, "DNS name " + dnsName + " is not within the allowed domains");
+                }
+            }
+        }
+        return violations != null ? Collections.unmodifiableList(violations) : List.of();
+    }
+
+    private static List<PolicyViolation> add(List<PolicyViolation> violations, PolicyRule rule, String message) {
+        List<PolicyViolation> result = violations != null ? violations : new ArrayList<>(2);
+        result.add(new PolicyViolation(rule, message));
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.project.csr.parser.service;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.model.CacheStatistics;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, content-addressed cache of parse results. Entries are keyed by the SHA-256 digest
+ * of the DER encoded CSR and the parse options, so a repeated CSR costs a hash and a lookup
+ * instead of a full parse.
+ * Entries are evicted by size and by age as configured in {@link ResultCacheProperties}.
+ *
+ */
+@Component
+@Slf4j
+public class CsrResultCache implements MeterBinder {
+
+    private final MessageDigest digestPrototype;
+    private final AsyncCache<CacheKey, Csr> cache;
+
+    /**
+     * Constructs a new CsrResultCache.
+     *
+     * @param properties The cache configuration
+     */
+    public CsrResultCache(ResultCacheProperties properties) {
+        this.digestPrototype = sha256();
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .expireAfterWrite(properties.getExpireAfterWrite())
+                        .recordStats()
+                        .buildAsync()
+                : null;
+        log.info("Parse result cache {}", properties.isEnabled()
+                ? "enabled with maximum size " + properties.getMaximumSize() + " and TTL " + properties.getExpireAfterWrite()
+                : "disabled");
+    }
+
+    /**
+     * Returns the cached parse result for the given encoding, parsing and caching it on a miss.
+     * Failed parses are not cached. Concurrent requests for the same CSR and options parse it once.
+     *
+     * @param encoded the DER encoding of the CSR
+     * @param options the options the result is computed with
+     * @param parser computes the parse result on a cache miss
+     * @return the parse result
+     */
+    public Csr get(byte[] encoded, ParseOptions options, Function<byte[], Csr> parser) {
+        if (cache == null) {
+            return parser.apply(encoded);
+        }
+        // not a synchronous cache.get(key, mapping): the mapping would run inside a synchronized map bin,
+        // blocking unrelated keys of the bin and pinning the carrier of a virtual thread for the whole
+        // parse. Only the future is created inside the bin; the thread that created it parses outside.
+        CompletableFuture<Csr> created = new CompletableFuture<>();
+        CompletableFuture<Csr> result = cache.get(key(encoded, options), (key, executor) -> created);
+        if (result == created) {
+            try {
+                created.complete(parser.apply(encoded));
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the current hit and miss counters.
+     *
+     * @return the cache statistics, all zero if the cache is disabled
+     */
+    public CacheStatistics getStatistics() {
+        if (cache == null) {
+            return new CacheStatistics(0, 0, 0, 0, 0);
+        }
+        CacheStats stats = cache.synchronous().stats();
+        return new CacheStatistics(cache.synchronous().estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    /**
+     * Registers the cache size, hit, miss and eviction metrics under the cache name {@code csrResults}.
+     *
+     * @param registry The registry the metrics are registered with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "csrResults");
+        }
+    }
+
+    private CacheKey key(byte[] encoded, ParseOptions options) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            digest = sha256();
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(encoded));
+        return new CacheKey(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong(), options);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * SHA-256 digest held as four longs, which keeps keys small and their comparison cheap,
+     * together with the options the result was computed with.
+     */
+    private record CacheKey(long h0, long h1, long h2, long h3, ParseOptions options) {
+    }
+}
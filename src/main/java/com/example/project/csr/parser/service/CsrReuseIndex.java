@@ -0,0 +1,391 @@
+package com.example.project.csr.parser.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.ReuseIndexProperties;
+import com.example.project.csr.parser.model.ReuseHits;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index of the public keys and subjects of all CSRs parsed so far, used to flag a CSR that reuses
+ * a key or repeats a subject of an earlier submission. Keys are identified by the SHA-256 digest
+ * of their SubjectPublicKeyInfo, subjects by the SHA-256 digest of a canonical form that ignores
+ * case, surrounding and repeated white space, string types and the order within multi-valued
+ * RDNs. Both are located and read by walking the DER headers, without building ASN.1 objects, and
+ * only the first 128 bits of each digest are kept, in a {@link FingerprintTable}, so a lookup costs
+ * two digests and two hash probes.
+ *
+ * <p>With a snapshot file configured the index is restored at startup and saved periodically and
+ * at shutdown, so it survives restarts.</p>
+ *
+ */
+@Component
+@Slf4j
+public class CsrReuseIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x43535249; // "CSRI"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int DER_INTEGER = 0x02;
+    private static final int DER_OID = 0x06;
+    private static final int DER_UTF8_STRING = 0x0c;
+    private static final int DER_NUMERIC_STRING = 0x12;
+    private static final int DER_PRINTABLE_STRING = 0x13;
+    private static final int DER_TELETEX_STRING = 0x14;
+    private static final int DER_IA5_STRING = 0x16;
+    private static final int DER_VISIBLE_STRING = 0x1a;
+    private static final int DER_BMP_STRING = 0x1e;
+    private static final int DER_SEQUENCE = 0x30;
+    private static final int DER_SET = 0x31;
+
+    private final boolean enabled;
+    private final Path snapshot;
+    private final MessageDigest digestPrototype;
+    private final FingerprintTable keys = new FingerprintTable();
+    private final FingerprintTable subjects = new FingerprintTable();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Duration snapshotInterval;
+    private final ScheduledExecutorService snapshotScheduler;
+
+    /**
+     * Constructs a new CsrReuseIndex and restores the snapshot, if one exists.
+     *
+     * @param properties The reuse index configuration
+     * @throws UncheckedIOException if the configured snapshot exists but cannot be read
+     */
+    public CsrReuseIndex(ReuseIndexProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.snapshot = enabled ? properties.getSnapshot() : null;
+        this.digestPrototype = sha256();
+        if (snapshot != null) {
+            load(snapshot, keys, subjects);
+        }
+        this.snapshotInterval = snapshot != null ? properties.getSnapshotInterval() : Duration.ZERO;
+        this.snapshotScheduler = snapshotInterval.isPositive() ? new ScheduledThreadPoolExecutor(1, daemonThreadFactory()) : null;
+        log.info("Reuse index {}", enabled
+                ? "enabled" + (snapshot != null ? " with snapshot " + snapshot : " without snapshot")
+                : "disabled");
+    }
+
+    /**
+     * Starts the periodic snapshots, if a snapshot interval is configured.
+     */
+    @PostConstruct
+    public void start() {
+        if (snapshotScheduler != null) {
+            long interval = snapshotInterval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::saveQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Checks whether parsed CSRs are recorded.
+     *
+     * @return {@code true} if the index is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the key and the subject of a CSR and reports how often each was seen before.
+     *
+     * @param encoded the DER encoding of a CSR that was parsed successfully
+     * @return the reuse hits, or {@code null} if the index is disabled or the encoding does not have
+     *         the structure of a CSR
+     */
+    public ReuseHits record(byte[] encoded) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            int info = contentStart(encoded, 0, DER_SEQUENCE);
+            int version = contentStart(encoded, info, DER_SEQUENCE);
+            int subject = next(encoded, version, DER_INTEGER);
+            int publicKey = next(encoded, subject, DER_SEQUENCE);
+            int publicKeyEnd = next(encoded, publicKey, DER_SEQUENCE);
+
+            MessageDigest digest = digest();
+            digest.update(encoded, publicKey, publicKeyEnd - publicKey);
+            int previousKeyUses = add(keys, digest.digest());
+
+            Integer previousSubjectUses = null;
+            if (publicKey - subject > 2) {
+                byte[] canonical = canonicalSubject(encoded, subject, publicKey);
+                previousSubjectUses = add(subjects, digest.digest(canonical));
+            }
+            return new ReuseHits(previousKeyUses, previousSubjectUses);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record CSR in the reuse index: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of distinct public keys in the index.
+     *
+     * @return the number of keys
+     */
+    public long keyCount() {
+        return keys.size();
+    }
+
+    /**
+     * Returns the number of distinct non-empty subjects in the index.
+     *
+     * @return the number of subjects
+     */
+    public long subjectCount() {
+        return subjects.size();
+    }
+
+    /**
+     * Writes the index to the snapshot file. The file is replaced atomically, so a crash while
+     * saving leaves the previous snapshot intact.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void save() throws IOException {
+        if (snapshot == null) {
+            return;
+        }
+        snapshotLock.lock();
+        try {
+            Path parent = snapshot.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = parent.resolve(snapshot.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                write(out, keys);
+                write(out, subjects);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved reuse index with {} keys and {} subjects to {}", keyCount(), subjectCount(), snapshot);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the periodic snapshots and saves the index a last time.
+     */
+    @PreDestroy
+    public void close() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        saveQuietly();
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to save the reuse index to {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    private static void load(Path path, FingerprintTable keys, FingerprintTable subjects) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a reuse index snapshot");
+            }
+            read(in, keys);
+            read(in, subjects);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the reuse index snapshot " + path, e);
+        }
+        log.info("Restored reuse index with {} keys and {} subjects from {}", keys.size(), subjects.size(), path);
+    }
+
+    /**
+     * Writes the entries of a table, terminated by an entry whose first long is zero, which no
+     * stored fingerprint has.
+     */
+    private static void write(DataOutputStream out, FingerprintTable table) throws IOException {
+        try {
+            table.forEach((high, low, count) -> {
+                try {
+                    out.writeLong(high);
+                    out.writeLong(low);
+                    out.writeInt(count);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.writeLong(0);
+    }
+
+    private static void read(DataInputStream in, FingerprintTable table) throws IOException {
+        for (long high = in.readLong(); high != 0; high = in.readLong()) {
+            table.put(high, in.readLong(), in.readInt());
+        }
+    }
+
+    private static int add(FingerprintTable table, byte[] digest) {
+        ByteBuffer fingerprint = ByteBuffer.wrap(digest);
+        return table.add(fingerprint.getLong(), fingerprint.getLong());
+    }
+
+    /**
+     * Renders a subject as {@code type=value} pairs, joined by {@code +} within an RDN in sorted order
+     * and by {@code ,} between RDNs, reading the DER directly. String values are trimmed, lower-cased
+     * and runs of white space collapsed, in the spirit of the caseIgnoreMatch of RFC 4518; types and
+     * other values are kept as the hex encoding of their DER.
+     */
+    private static byte[] canonicalSubject(byte[] der, int offset, int end) {
+        StringBuilder canonical = new StringBuilder(end - offset);
+        for (int rdn = contentStart(der, offset, DER_SEQUENCE); rdn < end; rdn = next(der, rdn, DER_SET)) {
+            if (!canonical.isEmpty()) {
+                canonical.append(',');
+            }
+            int rdnEnd = next(der, rdn, DER_SET);
+            int first = contentStart(der, rdn, DER_SET);
+            if (next(der, first, DER_SEQUENCE) == rdnEnd) {
+                appendPair(canonical, der, first);
+                continue;
+            }
+            List<String> pairs = new ArrayList<>();
+            for (int pair = first; pair < rdnEnd; pair = next(der, pair, DER_SEQUENCE)) {
+                pairs.add(appendPair(new StringBuilder(), der, pair).toString());
+            }
+            Collections.sort(pairs);
+            canonical.append(String.join("+", pairs));
+        }
+        return canonical.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static StringBuilder appendPair(StringBuilder canonical, byte[] der, int offset) {
+        int type = contentStart(der, offset, DER_SEQUENCE);
+        int value = next(der, type, DER_OID);
+        int tag = value < der.length ? der[value] & 0xff : -1;
+        int valueEnd = next(der, value, tag);
+        HEX.formatHex(canonical, der, type, value).append('=');
+        Charset charset = switch (tag) {
+            case DER_UTF8_STRING -> StandardCharsets.UTF_8;
+            case DER_NUMERIC_STRING, DER_PRINTABLE_STRING, DER_IA5_STRING, DER_VISIBLE_STRING -> StandardCharsets.US_ASCII;
+            case DER_TELETEX_STRING -> StandardCharsets.ISO_8859_1;
+            case DER_BMP_STRING -> StandardCharsets.UTF_16BE;
+            default -> null;
+        };
+        if (charset == null) {
+            return HEX.formatHex(canonical.append('#'), der, value, valueEnd);
+        }
+        int contents = contentStart(der, value, tag);
+        String text = new String(der, contents, valueEnd - contents, charset);
+        int start = canonical.length();
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = canonical.length() > start;
+            } else {
+                if (space) {
+                    canonical.append(' ');
+                    space = false;
+                }
+                canonical.append(Character.toLowerCase(c));
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns the offset of the contents of the element at the given offset.
+     *
+     * @throws IllegalArgumentException if the element does not have the expected tag or is truncated
+     */
+    private static int contentStart(byte[] der, int offset, int tag) {
+        if (offset + 2 > der.length || (der[offset] & 0xff) != tag) {
+            throw new IllegalArgumentException("Unexpected DER structure at offset " + offset);
+        }
+        int first = der[offset + 1] & 0xff;
+        if (first < 0x80) {
+            return offset + 2;
+        }
+        int count = first & 0x7f;
+        if (count == 0 || count > 3 || offset + 2 + count > der.length) {
+            throw new IllegalArgumentException("Unsupported DER length at offset " + offset);
+        }
+        return offset + 2 + count;
+    }
+
+    /**
+     * Returns the offset of the element following the element at the given offset.
+     *
+     * @throws IllegalArgumentException if the element does not have the expected tag or is truncated
+     */
+    private static int next(byte[] der, int offset, int tag) {
+        int contents = contentStart(der, offset, tag);
+        int first = der[offset + 1] & 0xff;
+        int length = 0;
+        if (first < 0x80) {
+            length = first;
+        } else {
+            for (int i = offset + 2; i < contents; i++) {
+                length = (length << 8) | (der[i] & 0xff);
+            }
+        }
+        if (contents + length > der.length) {
+            throw new IllegalArgumentException("Truncated DER element at offset " + offset);
+        }
+        return contents + length;
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("csr-reuse-snapshot-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private MessageDigest digest() {
+        try {
+            return (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return sha256();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.project.csr.parser.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.Provider;
+import java.security.Security;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.ContentVerifierProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.PKCSException;
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.VerificationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifies the proof-of-possession signature of a CSR.
+ * The BouncyCastle provider is registered once and handed to the verifier builder directly, so
+ * no provider lookup happens per call. Content verifier providers, which hold the decoded public
+ * key, are cached per public key and signature algorithm.
+ *
+ */
+@Component
+@Slf4j
+public class CsrSignatureVerifier {
+
+    private static final Provider PROVIDER = registeredProvider();
+
+    private final JcaContentVerifierProviderBuilder verifierProviderBuilder =
+            new JcaContentVerifierProviderBuilder().setProvider(PROVIDER);
+    private final Cache<VerifierKey, ContentVerifierProvider> verifierProviders;
+
+    /**
+     * Constructs a new CsrSignatureVerifier.
+     *
+     * @param properties The verification configuration
+     */
+    public CsrSignatureVerifier(VerificationProperties properties) {
+        this.verifierProviders = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifierCacheSize())
+                .build();
+    }
+
+    /**
+     * Verifies the signature of the given CSR with the public key it contains.
+     *
+     * @param csr The CSR to verify
+     * @return {@code true} if the signature is valid, {@code false} if it is invalid or cannot be verified
+     */
+    public boolean verify(PKCS10CertificationRequest csr) {
+        try {
+            return csr.isSignatureValid(verifierProvider(csr));
+        } catch (PKCSException | IOException | OperatorCreationException | RuntimeException e) {
+            log.warn("Unable to verify CSR signature: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private ContentVerifierProvider verifierProvider(PKCS10CertificationRequest csr) throws IOException, OperatorCreationException {
+        SubjectPublicKeyInfo publicKeyInfo = csr.getSubjectPublicKeyInfo();
+        VerifierKey key = new VerifierKey(ByteBuffer.wrap(publicKeyInfo.getEncoded()), csr.getSignatureAlgorithm().getAlgorithm());
+        ContentVerifierProvider provider = verifierProviders.getIfPresent(key);
+        if (provider == null) {
+            provider = verifierProviderBuilder.build(publicKeyInfo);
+            verifierProviders.put(key, provider);
+        }
+        return provider;
+    }
+
+    private static Provider registeredProvider() {
+        Provider provider = Security.getProvider(BouncyCastleProvider.PROVIDER_NAME);
+        if (provider == null) {
+            provider = new BouncyCastleProvider();
+            Security.addProvider(provider);
+        }
+        return provider;
+    }
+
+    /**
+     * Identifies a public key together with the signature algorithm it is used with.
+     */
+    private record VerifierKey(ByteBuffer publicKeyInfo, ASN1ObjectIdentifier signatureAlgorithm) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.project.csr.parser.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Immutable set of domains that matches a host name against all of them in a single backward scan.
+ * The domains are stored reversed, character by character, so the scan walks the host name from its
+ * last character and stops at the first label boundary that completes a domain. Matching compares
+ * ASCII case-insensitively and allocates nothing.
+ *
+ */
+final class DomainSuffixTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * Compiles the domains into a trie.
+     *
+     * @param domains the domains, e.g. {@code domain.de}; a leading {@code *.} or {@code .} is ignored
+     * @throws IllegalArgumentException if a domain is empty
+     */
+    DomainSuffixTrie(Collection<String> domains) {
+        for (String domain : domains) {
+            String normalized = normalize(domain);
+            if (normalized.isEmpty()) {
+                throw new IllegalArgumentException("Invalid allowed domain: '" + domain + "'");
+            }
+            Node node = root;
+            for (int i = normalized.length() - 1; i >= 0; i--) {
+                node = node.add(normalized.charAt(i));
+            }
+            node.terminal = true;
+        }
+    }
+
+    /**
+     * Checks whether a host name is one of the domains or a subdomain of one of them.
+     *
+     * @param host the host name, e.g. {@code www.domain.de} or {@code *.domain.de}
+     * @return {@code true} if the host name belongs to a domain of the trie
+     */
+    boolean matches(String host) {
+        int end = host.length();
+        // a fully qualified name may end with the root label
+        if (end > 0 && host.charAt(end - 1) == '.') {
+            end--;
+        }
+        Node node = root;
+        for (int i = end - 1; i >= 0; i--) {
+            node = node.child(toLowerCase(host.charAt(i)));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal && (i == 0 || host.charAt(i - 1) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String domain) {
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("*.")) {
+            normalized = normalized.substring(2);
+        } else if (normalized.startsWith(".")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized.endsWith(".") ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Node of the trie. Host names draw on a small alphabet, so the children are held in two
+     * parallel arrays that are searched linearly instead of in a map.
+     */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        Node child(char key) {
+            char[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node add(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                keys[keys.length - 1] = key;
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
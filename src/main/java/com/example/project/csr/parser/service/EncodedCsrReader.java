@@ -0,0 +1,258 @@
+package com.example.project.csr.parser.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads PEM or DER encoded CSRs one at a time from a byte stream.
+ * Only the object currently being read is held in memory, so arbitrarily large inputs
+ * can be processed with a bounded footprint. PEM armor is recognised on the raw bytes,
+ * without decoding the input into characters.
+ *
+ * <p>A malformed object is reported by an {@link IllegalArgumentException}; the reader
+ * stays positioned after that object and the next call continues with the following one.
+ * An {@link IOException} means the stream cannot be read any further.</p>
+ *
+ */
+public class EncodedCsrReader implements Closeable {
+
+    private final InputStream in;
+    private final int maxObjectSize;
+    private final int maxLineLength;
+    private byte[] line = new byte[128];
+    private int lineLength;
+    private byte[] body = new byte[1024];
+    private int bodyLength;
+
+    /**
+     * Creates a reader over the given stream.
+     *
+     * @param in the stream containing the encoded CSRs
+     * @param maxObjectSize the maximum size in bytes of a single DER encoded CSR
+     */
+    public EncodedCsrReader(InputStream in, int maxObjectSize) {
+        this.in = in.markSupported() ? in : new BufferedInputStream(in);
+        this.maxObjectSize = maxObjectSize;
+        // a base64 body written on a single line is 4/3 of the DER size plus some slack for armor
+        this.maxLineLength = maxObjectSize / 3 * 4 + 256;
+    }
+
+    /**
+     * Reads the next CSR.
+     *
+     * @return the DER encoding of the next CSR, or {@code null} at the end of the stream
+     * @throws IllegalArgumentException if the next object is not a well-formed CSR encoding
+     * @throws IOException if the stream cannot be read or its framing cannot be recovered
+     */
+    public byte[] next() throws IOException {
+        while (true) {
+            int first = peekNonWhitespace();
+            if (first < 0) {
+                return null;
+            }
+            if (first == CsrFraming.DER_SEQUENCE && peekDerStart()) {
+                return readDer();
+            }
+            if (readLine() < 0) {
+                return null;
+            }
+            if (startsWith(CsrFraming.BEGIN)) {
+                return readPemBody(CsrFraming.pemType(line, CsrFraming.BEGIN.length, lineLength));
+            }
+            // any other line is a preamble, e.g. the text dump written by openssl, and is skipped
+        }
+    }
+
+    /**
+     * Decodes a single CSR from a text body, which may be PEM armored, optionally preceded by
+     * preamble lines, or consist of the bare base64 encoding of the DER bytes.
+     *
+     * @param text the bytes of the text body
+     * @param maxObjectSize the maximum size in bytes of the DER encoded CSR
+     * @return the DER encoding of the CSR, or {@code null} if the body contains no data
+     * @throws IllegalArgumentException if the body is not a well-formed CSR encoding
+     */
+    public static byte[] decodeText(byte[] text, int maxObjectSize) {
+        return decodeText(text, text.length, maxObjectSize);
+    }
+
+    /**
+     * Decodes a single CSR from the first bytes of an array, see {@link #decodeText(byte[], int)}.
+     *
+     * @param text the array holding the text body
+     * @param length the number of bytes of the text body
+     * @param maxObjectSize the maximum size in bytes of the DER encoded CSR
+     * @return the DER encoding of the CSR, or {@code null} if the body contains no data
+     * @throws IllegalArgumentException if the body is not a well-formed CSR encoding
+     */
+    static byte[] decodeText(byte[] text, int length, int maxObjectSize) {
+        try (EncodedCsrReader reader = new EncodedCsrReader(new ByteArrayInputStream(text, 0, length), maxObjectSize)) {
+            byte[] encoded = reader.next();
+            if (encoded != null) {
+                return encoded;
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        // no PEM armor: the whole body is the base64 encoding, possibly wrapped over several lines
+        byte[] encoded;
+        try {
+            encoded = Base64Decoder.decode(ByteBuffer.wrap(text), 0, length);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed base64 data: " + e.getMessage(), e);
+        }
+        if (encoded.length > maxObjectSize) {
+            throw new IllegalArgumentException("CSR exceeds the maximum size of " + maxObjectSize + " bytes");
+        }
+        return encoded.length > 0 ? encoded : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads a DER encoded SEQUENCE including its tag and length octets.
+     */
+    private byte[] readDer() throws IOException {
+        byte[] header = new byte[CsrFraming.MAX_DER_HEADER_LENGTH];
+        in.mark(header.length);
+        int available = in.readNBytes(header, 0, header.length);
+        in.reset();
+        long total;
+        try {
+            total = CsrFraming.derLength(header, 0, available);
+        } catch (IllegalArgumentException e) {
+            // the start of the next object is unknown, so the stream cannot be read any further
+            throw new IOException(e.getMessage(), e);
+        }
+        if (total == CsrFraming.INCOMPLETE) {
+            throw new EOFException("Malformed DER data: unexpected end of stream");
+        }
+        if (total > maxObjectSize) {
+            skipFully(total);
+            throw new IllegalArgumentException("CSR exceeds the maximum size of " + maxObjectSize + " bytes");
+        }
+
+        byte[] encoded = new byte[(int) total];
+        readFully(encoded, 0, encoded.length);
+        return encoded;
+    }
+
+    /**
+     * Collects the base64 body of a PEM object up to its END line and decodes it.
+     */
+    private byte[] readPemBody(String type) throws IOException {
+        bodyLength = 0;
+        int maxBodyLength = maxObjectSize / 3 * 4 + 4;
+        boolean tooLarge = false;
+        while (true) {
+            if (readLine() < 0) {
+                throw new IllegalArgumentException("Malformed PEM data: missing END line for " + type);
+            }
+            if (startsWith(CsrFraming.END)) {
+                break;
+            }
+            if (!tooLarge) {
+                for (int i = 0; i < lineLength; i++) {
+                    byte b = line[i];
+                    if (!CsrFraming.isWhitespace(b)) {
+                        if (bodyLength == body.length) {
+                            body = Arrays.copyOf(body, body.length * 2);
+                        }
+                        body[bodyLength++] = b;
+                    }
+                }
+                tooLarge = bodyLength > maxBodyLength;
+            }
+        }
+
+        if (!CsrFraming.isCsrType(type)) {
+            throw new IllegalArgumentException("Unsupported PEM object type: " + type);
+        }
+        if (tooLarge) {
+            throw new IllegalArgumentException("CSR exceeds the maximum size of " + maxObjectSize + " bytes");
+        }
+        try {
+            return Base64Decoder.decode(ByteBuffer.wrap(body), 0, bodyLength);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed PEM data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next line into {@link #line}, without the line terminator. Lines longer than
+     * the maximum line length are rejected after being consumed.
+     *
+     * @return the length of the line, or -1 at the end of the stream
+     */
+    private int readLine() throws IOException {
+        lineLength = 0;
+        boolean overflow = false;
+        int b = in.read();
+        if (b < 0) {
+            return -1;
+        }
+        while (b >= 0 && b != '\n') {
+            if (b != '\r' && !overflow) {
+                if (lineLength == line.length) {
+                    if (line.length >= maxLineLength) {
+                        overflow = true;
+                    } else {
+                        line = Arrays.copyOf(line, Math.min(line.length * 2, maxLineLength));
+                    }
+                }
+                if (!overflow) {
+                    line[lineLength++] = (byte) b;
+                }
+            }
+            b = in.read();
+        }
+        if (overflow) {
+            throw new IllegalArgumentException("Malformed PEM data: line exceeds " + maxLineLength + " bytes");
+        }
+        return lineLength;
+    }
+
+    private boolean startsWith(byte[] prefix) {
+        return CsrFraming.startsWith(line, 0, lineLength, prefix);
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        while (true) {
+            in.mark(1);
+            int b = in.read();
+            if (b < 0 || !CsrFraming.isWhitespace((byte) b)) {
+                in.reset();
+                return b;
+            }
+        }
+    }
+
+    private boolean peekDerStart() throws IOException {
+        in.mark(2);
+        int tag = in.read();
+        int length = in.read();
+        in.reset();
+        return CsrFraming.isDerStart(tag, length);
+    }
+
+    private void readFully(byte[] buffer, int offset, int length) throws IOException {
+        int read = in.readNBytes(buffer, offset, length);
+        if (read < length) {
+            throw new EOFException("Malformed DER data: unexpected end of stream");
+        }
+    }
+
+    private void skipFully(long length) throws IOException {
+        in.skipNBytes(length);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.project.csr.parser.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Growable multiset of 128-bit fingerprint prefixes, held in primitive arrays. It counts how often
+ * each fingerprint was added, laid out like the read-only {@link WeakKeyBlocklist} table but open
+ * for concurrent inserts. A slot takes 20 bytes and no object, so millions of fingerprints stay
+ * cheap for the garbage collector.
+ *
+ * <p>The table is split into segments, each guarded by its own lock, so concurrent inserts rarely
+ * contend.</p>
+ *
+ */
+final class FingerprintTable {
+
+    private static final int SEGMENTS = 64;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Creates an empty table.
+     */
+    FingerprintTable() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Adds a fingerprint.
+     *
+     * @param high the first 64 bits of the fingerprint
+     * @param low the next 64 bits of the fingerprint
+     * @return how often the fingerprint was added before
+     */
+    int add(long high, long low) {
+        return segment(low).add(nonZero(high), low, 1);
+    }
+
+    /**
+     * Adds a fingerprint with a count, e.g. when restoring a snapshot.
+     *
+     * @param high the first 64 bits of the fingerprint
+     * @param low the next 64 bits of the fingerprint
+     * @param count the number of times the fingerprint was added
+     */
+    void put(long high, long low, int count) {
+        segment(low).add(nonZero(high), low, count);
+    }
+
+    /**
+     * Returns the number of distinct fingerprints, read without locking the segments.
+     *
+     * @return the size of the table
+     */
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Hands every fingerprint with its count to the consumer. Each segment is visited under its
+     * lock, so inserts into the other segments continue meanwhile.
+     *
+     * @param consumer receives the fingerprints
+     */
+    void forEach(EntryConsumer consumer) {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                long[] table = segment.table;
+                for (int slot = 0; slot < segment.counts.length; slot++) {
+                    if (table[slot * 2] != 0) {
+                        consumer.accept(table[slot * 2], table[slot * 2 + 1], segment.counts[slot]);
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private Segment segment(long low) {
+        // the second long selects the segment and the first long the slot, so both are uniform
+        return segments[(int) (low >>> 58)];
+    }
+
+    /**
+     * Maps the one fingerprint prefix that collides with the empty marker onto another value.
+     */
+    private static long nonZero(long high) {
+        return high != 0 ? high : 1;
+    }
+
+    /**
+     * Receives the entries of the table.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long high, long low, int count);
+    }
+
+    /**
+     * Open addressing table of one segment, guarded by its own lock.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // two longs per slot; a slot whose first long is zero is empty
+        private long[] table = new long[64];
+        private int[] counts = new int[32];
+        private int size;
+
+        int add(long high, long low, int count) {
+            lock.lock();
+            try {
+                int mask = counts.length - 1;
+                int slot = (int) high & mask;
+                while (table[slot * 2] != 0) {
+                    if (table[slot * 2] == high && table[slot * 2 + 1] == low) {
+                        int previous = counts[slot];
+                        // saturate rather than wrap around for fingerprints seen billions of times
+                        counts[slot] = (int) Math.min((long) previous + count, Integer.MAX_VALUE);
+                        return previous;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                table[slot * 2] = high;
+                table[slot * 2 + 1] = low;
+                counts[slot] = count;
+                // keep the load factor at or below one half so that probe sequences stay short
+                if (++size * 2 > counts.length) {
+                    grow();
+                }
+                return 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void grow() {
+            long[] oldTable = table;
+            int[] oldCounts = counts;
+            table = new long[oldTable.length * 2];
+            counts = new int[oldCounts.length * 2];
+            int mask = counts.length - 1;
+            for (int i = 0; i < oldCounts.length; i++) {
+                long high = oldTable[i * 2];
+                if (high != 0) {
+                    int slot = (int) high & mask;
+                    while (table[slot * 2] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot * 2] = high;
+                    table[slot * 2 + 1] = oldTable[i * 2 + 1];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+}
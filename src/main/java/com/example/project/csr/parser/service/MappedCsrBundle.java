@@ -0,0 +1,392 @@
+package com.example.project.csr.parser.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A local file of PEM or DER encoded CSRs concatenated back to back, read through memory mappings.
+ *
+ * <p>The file is split into regions that start at an object boundary: the start of a
+ * {@code -----BEGIN} line for PEM bundles, found by scanning the mapped bytes around the split
+ * points, or the start of a top-level SEQUENCE for DER bundles, found by following the DER length
+ * fields. Each region is mapped on its own and can be scanned independently of the others, so
+ * large bundles can be processed in parallel. Base64 bodies are decoded straight from the mapped
+ * bytes into the array handed to the ASN.1 parser, without character decoding or a copy per line.</p>
+ *
+ * <p>The format of the whole bundle is determined by its first two bytes; PEM and DER objects cannot be mixed.</p>
+ *
+ */
+final class MappedCsrBundle implements Closeable {
+
+    private static final long MAX_REGION_SIZE = 1L << 30;
+    private static final int SEARCH_WINDOW = 1 << 20;
+
+    /**
+     * Receives the objects of a region in file order.
+     */
+    @FunctionalInterface
+    interface ObjectConsumer {
+        /**
+         * @param offset the position of the object in the file
+         * @param encoded the DER encoding of the CSR, {@code null} if the object is malformed or not decoded
+         * @param error the reason the object is malformed, {@code null} otherwise
+         */
+        void accept(long offset, byte[] encoded, String error) throws InterruptedException;
+    }
+
+    /**
+     * A part of the bundle starting at an object boundary.
+     */
+    record Region(long start, long end) {
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int maxObjectSize;
+    private final boolean der;
+
+    private MappedCsrBundle(FileChannel channel, int maxObjectSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.maxObjectSize = maxObjectSize;
+        this.der = startsWithDer();
+    }
+
+    /**
+     * Opens a bundle file.
+     *
+     * @param file the bundle file
+     * @param maxObjectSize the maximum size in bytes of a single DER encoded CSR
+     * @return the opened bundle
+     * @throws IOException if the file cannot be opened
+     */
+    static MappedCsrBundle open(Path file, int maxObjectSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedCsrBundle(channel, maxObjectSize);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Splits the bundle into regions of roughly equal size. More regions than requested are
+     * returned if necessary to keep each region within the size of a single mapping; fewer are
+     * returned if the bundle has fewer object boundaries.
+     *
+     * @param count the requested number of regions
+     * @return the regions covering the whole bundle, in file order
+     * @throws IOException if the file cannot be read
+     */
+    List<Region> split(int count) throws IOException {
+        int regions = (int) Math.max(count, (size + MAX_REGION_SIZE - 1) / MAX_REGION_SIZE);
+        List<Long> boundaries = der ? derBoundaries(regions) : pemBoundaries(regions);
+        List<Region> result = new ArrayList<>(boundaries.size() + 1);
+        long start = 0;
+        for (long boundary : boundaries) {
+            if (boundary > start && boundary < size) {
+                result.add(new Region(start, boundary));
+                start = boundary;
+            }
+        }
+        if (start < size) {
+            result.add(new Region(start, size));
+        }
+        return result;
+    }
+
+    /**
+     * Counts the objects of a region without decoding them.
+     *
+     * @param region the region to count
+     * @return the number of objects {@link #scan(Region, ObjectConsumer)} reports for the region
+     * @throws IOException if the region cannot be mapped
+     * @throws InterruptedException if the scan is interrupted
+     */
+    int count(Region region) throws IOException, InterruptedException {
+        int[] count = {0};
+        scan(region, (offset, encoded, error) -> count[0]++, false);
+        return count[0];
+    }
+
+    /**
+     * Decodes the objects of a region.
+     *
+     * @param region the region to scan
+     * @param consumer receives every object of the region in file order
+     * @throws IOException if the region cannot be mapped
+     * @throws InterruptedException if the consumer is interrupted
+     */
+    void scan(Region region, ObjectConsumer consumer) throws IOException, InterruptedException {
+        scan(region, consumer, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void scan(Region region, ObjectConsumer consumer, boolean decode) throws IOException, InterruptedException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, region.start(), region.end() - region.start());
+        if (der) {
+            scanDer(buffer, region.start(), consumer, decode);
+        } else {
+            scanPem(buffer, region.start(), consumer, decode);
+        }
+    }
+
+    private void scanDer(ByteBuffer buffer, long base, ObjectConsumer consumer, boolean decode) throws InterruptedException {
+        int limit = buffer.limit();
+        byte[] header = new byte[CsrFraming.MAX_DER_HEADER_LENGTH];
+        int pos = skipWhitespace(buffer, 0);
+        while (pos < limit) {
+            long length = derLength(buffer, pos, limit, header, true);
+            if (length < 0) {
+                consumer.accept(base + pos, null, "Malformed DER data at offset " + (base + pos));
+                return;
+            }
+            if (length > maxObjectSize) {
+                consumer.accept(base + pos, null, "CSR exceeds the maximum size of " + maxObjectSize + " bytes");
+            } else if (decode) {
+                byte[] encoded = new byte[(int) length];
+                buffer.get(pos, encoded);
+                consumer.accept(base + pos, encoded, null);
+            } else {
+                consumer.accept(base + pos, null, null);
+            }
+            pos = skipWhitespace(buffer, (int) (pos + length));
+        }
+    }
+
+    private void scanPem(ByteBuffer buffer, long base, ObjectConsumer consumer, boolean decode) throws InterruptedException {
+        int limit = buffer.limit();
+        int maxBodyLength = maxObjectSize / 3 * 4 * 2 + 1024;
+        int begin = findLine(buffer, 0, limit, CsrFraming.BEGIN);
+        while (begin >= 0) {
+            int beginLineEnd = lineEnd(buffer, begin, limit);
+            String type = pemType(buffer, begin, beginLineEnd);
+            int bodyStart = Math.min(beginLineEnd + 1, limit);
+            int end = -1;
+            int next = -1;
+            for (int line = bodyStart; line < limit; line = lineEnd(buffer, line, limit) + 1) {
+                if (CsrFraming.startsWith(buffer, line, limit, CsrFraming.END)) {
+                    end = line;
+                    break;
+                }
+                if (CsrFraming.startsWith(buffer, line, limit, CsrFraming.BEGIN)) {
+                    next = line;
+                    break;
+                }
+            }
+
+            long offset = base + begin;
+            if (end < 0) {
+                consumer.accept(offset, null, "Malformed PEM data: missing END line for " + type);
+                begin = next;
+                continue;
+            }
+            if (!CsrFraming.isCsrType(type)) {
+                consumer.accept(offset, null, "Unsupported PEM object type: " + type);
+            } else if (end - bodyStart > maxBodyLength) {
+                consumer.accept(offset, null, "CSR exceeds the maximum size of " + maxObjectSize + " bytes");
+            } else if (decode) {
+                byte[] encoded = null;
+                String error = null;
+                try {
+                    encoded = Base64Decoder.decode(buffer, bodyStart, end);
+                    if (encoded.length > maxObjectSize) {
+                        encoded = null;
+                        error = "CSR exceeds the maximum size of " + maxObjectSize + " bytes";
+                    }
+                } catch (IllegalArgumentException e) {
+                    error = "Malformed PEM data: " + e.getMessage();
+                }
+                consumer.accept(offset, encoded, error);
+            } else {
+                consumer.accept(offset, null, null);
+            }
+            begin = findLine(buffer, Math.min(lineEnd(buffer, end, limit) + 1, limit), limit, CsrFraming.BEGIN);
+        }
+    }
+
+    /**
+     * Finds the region boundaries of a PEM bundle: the first BEGIN line at or after each split point.
+     */
+    private List<Long> pemBoundaries(int regions) throws IOException {
+        List<Long> boundaries = new ArrayList<>(regions);
+        long previous = 0;
+        for (int i = 1; i < regions; i++) {
+            long target = Math.max(size / regions * i, previous + 1);
+            if (target >= size) {
+                break;
+            }
+            long boundary = findBegin(target);
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            previous = boundary;
+        }
+        return boundaries;
+    }
+
+    /**
+     * Finds the start of the first BEGIN line at or after the given position by mapping windows of the file.
+     *
+     * @return the position of the line, or the size of the file if there is none
+     */
+    private long findBegin(long from) throws IOException {
+        // the window starts one byte early so that a line break right before the position is seen
+        long windowStart = from - 1;
+        while (windowStart < size) {
+            long windowSize = Math.min(SEARCH_WINDOW + CsrFraming.BEGIN.length, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            int limit = window.limit();
+            for (int i = 1; i < limit; i++) {
+                if (window.get(i - 1) == '\n' && CsrFraming.startsWith(window, i, limit, CsrFraming.BEGIN)) {
+                    return windowStart + i;
+                }
+            }
+            windowStart += SEARCH_WINDOW;
+        }
+        return size;
+    }
+
+    /**
+     * Finds the region boundaries of a DER bundle by following the length fields of the top-level
+     * SEQUENCEs from the start of the file. Only the few header bytes of every object are read.
+     */
+    private List<Long> derBoundaries(int regions) throws IOException {
+        List<Long> boundaries = new ArrayList<>(regions);
+        long nextTarget = size / regions;
+        ByteBuffer header = ByteBuffer.allocate(CsrFraming.MAX_DER_HEADER_LENGTH);
+        byte[] scratch = new byte[CsrFraming.MAX_DER_HEADER_LENGTH];
+        long pos = firstSignificantPosition();
+        while (pos < size && boundaries.size() < regions - 1) {
+            if (pos >= nextTarget) {
+                boundaries.add(pos);
+                nextTarget = pos + (size - pos) / (regions - boundaries.size());
+            }
+            header.clear();
+            while (header.hasRemaining() && channel.read(header, pos + header.position()) > 0) {
+                // read the tag and length octets of the next object
+            }
+            header.flip();
+            if (header.hasRemaining() && CsrFraming.isWhitespace(header.get(0))) {
+                pos++;
+                continue;
+            }
+            long length = derLength(header, 0, header.limit(), scratch, false);
+            if (length < 0) {
+                // malformed: the rest of the file stays in the current region, whose scan reports the error
+                break;
+            }
+            pos += length;
+        }
+        return boundaries;
+    }
+
+    /**
+     * Determines the total length of the DER SEQUENCE at the given position, including its tag and length octets.
+     *
+     * @param header scratch space for the header bytes
+     * @param complete whether the buffer must contain the whole object rather than just its header
+     * @return the length, or -1 if there is no well-formed SEQUENCE header or the object is truncated
+     */
+    private static long derLength(ByteBuffer buffer, int pos, int limit, byte[] header, boolean complete) {
+        if (pos >= limit || (buffer.get(pos) & 0xff) != CsrFraming.DER_SEQUENCE) {
+            return -1;
+        }
+        int available = Math.min(header.length, limit - pos);
+        buffer.get(pos, header, 0, available);
+        long length;
+        try {
+            length = CsrFraming.derLength(header, 0, available);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return length != CsrFraming.INCOMPLETE && (!complete || pos + length <= limit) ? length : -1;
+    }
+
+    private boolean startsWithDer() throws IOException {
+        long pos = firstSignificantPosition();
+        if (pos + 2 > size) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(2);
+        while (header.hasRemaining() && channel.read(header, pos + header.position()) > 0) {
+            // read the tag and the first length octet
+        }
+        return CsrFraming.isDerStart(header.get(0) & 0xff, header.get(1) & 0xff);
+    }
+
+    private long firstSignificantPosition() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long pos = 0;
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (!CsrFraming.isWhitespace(buffer.get(i))) {
+                    return pos + i;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /**
+     * Extracts the object type from a BEGIN line, e.g. {@code CERTIFICATE REQUEST}.
+     */
+    private static String pemType(ByteBuffer buffer, int begin, int lineEnd) {
+        byte[] line = new byte[lineEnd - begin];
+        buffer.get(begin, line);
+        return CsrFraming.pemType(line, CsrFraming.BEGIN.length, line.length);
+    }
+
+    /**
+     * Finds the first line at or after the given position that starts with the prefix.
+     *
+     * @return the position of the line, or -1 if there is none
+     */
+    private static int findLine(ByteBuffer buffer, int from, int limit, byte[] prefix) {
+        for (int line = from; line < limit; line = lineEnd(buffer, line, limit) + 1) {
+            if (CsrFraming.startsWith(buffer, line, limit, prefix)) {
+                return line;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the position of the line break ending the line, or the limit
+     */
+    private static int lineEnd(ByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private static int skipWhitespace(ByteBuffer buffer, int pos) {
+        int limit = buffer.limit();
+        while (pos < limit && CsrFraming.isWhitespace(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.project.csr.parser.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+
+/**
+ * Builds the immutable lookup tables from decoded object identifiers to the typed model.
+ * The tables are keyed on {@link ASN1ObjectIdentifier}, whose identity is fixed when the OID is
+ * decoded, so a lookup costs no string conversion of the OID.
+ *
+ */
+final class OidTable {
+
+    private OidTable() {
+    }
+
+    /**
+     * Creates a table of the given enum constants keyed on their OIDs.
+     *
+     * @param values the enum constants
+     * @param oid returns the dotted OID of a constant
+     * @param <E> the enum type
+     * @return an immutable map from OID to constant
+     * @throws IllegalArgumentException if two constants share an OID
+     */
+    static <E extends Enum<E>> Map<ASN1ObjectIdentifier, E> of(E[] values, Function<E, String> oid) {
+        Map<ASN1ObjectIdentifier, E> table = new HashMap<>(values.length * 2);
+        for (E value : values) {
+            if (table.put(new ASN1ObjectIdentifier(oid.apply(value)).intern(), value) != null) {
+                throw new IllegalArgumentException("Duplicate OID " + oid.apply(value));
+            }
+        }
+        return Map.copyOf(table);
+    }
+}
@@ -1,29 +1,52 @@
 package com.example.project.csr.parser.service;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.security.NoSuchProviderException;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.bouncycastle.asn1.ASN1InputStream;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.x500.AttributeTypeAndValue;
 import org.bouncycastle.asn1.x500.RDN;
-import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.GeneralName;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.metrics.CsrParserMetrics.Stage;
 import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrExtensions;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.example.project.csr.parser.model.ReuseHits;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+import com.example.project.csr.parser.model.SubjectNameList;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for parsing and extracting information from PKCS#10 Certificate Signing Requests (CSR).
  * This class processes CSR files and extracts relevant information such as Subject Names,
- * Public Key Algorithms, and Subject Alternative Names.
+ * Public Key Algorithms, Subject Alternative Names and, on request, the requested X.509 extensions.
  *
  */
 @Service
@@ -32,39 +55,53 @@ public class ParsCsrService {
 
 
     /**
-     * Map containing standard X.500 attribute mappings for subject names
+     * Standard X.500 attribute types of the subject, keyed on their OID
      */
-    private static final Map<String, String> SUBJECT_NAME = new HashMap<>() {{
-        put("2.5.4.6", "Country Name (C)");
-        put("2.5.4.8", "State or Province Name (ST)");
-        put("2.5.4.7", "Locality Name (L)");
-        put("2.5.4.10", "Organization Name (O)");
-        put("2.5.4.11", "Organizational Unit (OU)");
-        put("2.5.4.3", "Common Name (CN)");
-    }};
+    private static final Map<ASN1ObjectIdentifier, SubjectAttribute> SUBJECT_ATTRIBUTES =
+            OidTable.of(SubjectAttribute.values(), SubjectAttribute::getOid);
 
     /**
-     * Map containing standard X.500 attribute mappings for subject alternative names
+     * Known signature algorithms, keyed on their OID
      */
-    private static final Map<String, String> SUBJECT_ALTERNATIVE_NAMES  = new HashMap<>() {{
-        // Standard X.500 Attribute
-        put("2.5.4.4",  "Surname");
-        put("2.5.4.42", "Given Name");
-        put("2.5.4.12", "Title");
-        put("1.2.840.113549.1.9.1", "Email Address");
-    }};
+    private static final Map<ASN1ObjectIdentifier, SignatureAlgorithm> SIGNATURE_ALGORITHMS =
+            OidTable.of(SignatureAlgorithm.values(), SignatureAlgorithm::getOid);
 
     /**
-     * Map containing algorithm OID mappings to their human-readable names
+     * Fields that are read from the encoding without decoding the public key and the attributes
      */
-    private static final Map<String, String> ALGORITHM_MAP = new HashMap<>() {{
-        // Standard X.500 Attribute
-        put("1.2.840.113549.1.1.5", "SHA-1 with RSA");
-        put("1.2.840.113549.1.1.11", "SHA-256 with RSA");
-        put("1.2.840.113549.1.1.12", "SHA-384 with RSA");
-        put("1.2.840.113549.1.1.13", "SHA-512 with RSA");
-        put("1.2.840.10045.4.3.2", "SHA-256 with ECDSA");
-    }};
+    private static final Set<CsrField> LAZY_FIELDS =
+            EnumSet.of(CsrField.ALGORITHM, CsrField.SIGNATURE_ALGORITHM, CsrField.COMMON_NAME);
+
+    private final CsrResultCache csrResultCache;
+    private final CsrSignatureVerifier csrSignatureVerifier;
+    private final PublicKeyAnalyzer publicKeyAnalyzer;
+    private final CsrReuseIndex reuseIndex;
+    private final CsrPolicyEngine policyEngine;
+    private final CsrParserMetrics metrics;
+    private final StreamProperties streamProperties;
+
+    /**
+     * Constructs a new ParsCsrService.
+     *
+     * @param csrResultCache The cache of previously parsed CSRs
+     * @param csrSignatureVerifier The verifier for the proof-of-possession signature
+     * @param publicKeyAnalyzer The analyzer of the subject public key
+     * @param reuseIndex The index of keys and subjects of earlier submissions
+     * @param policyEngine The policy every parsed CSR is checked against
+     * @param metrics The instrumentation of the parsing stages
+     * @param streamProperties The configuration limiting the size of a single CSR
+     */
+    public ParsCsrService(CsrResultCache csrResultCache, CsrSignatureVerifier csrSignatureVerifier,
+                          PublicKeyAnalyzer publicKeyAnalyzer, CsrReuseIndex reuseIndex, CsrPolicyEngine policyEngine,
+                          CsrParserMetrics metrics, StreamProperties streamProperties) {
+        this.csrResultCache = csrResultCache;
+        this.csrSignatureVerifier = csrSignatureVerifier;
+        this.publicKeyAnalyzer = publicKeyAnalyzer;
+        this.reuseIndex = reuseIndex;
+        this.policyEngine = policyEngine;
+        this.metrics = metrics;
+        this.streamProperties = streamProperties;
+    }
 
     /**
      * Parses a CSR file and extracts the contained information.
@@ -75,106 +112,418 @@ public class ParsCsrService {
      * @throws IllegalArgumentException if the input is not a valid PKCS#10 CSR
      */
     public Csr parsePKCS10CertificationRequest(MultipartFile csrFile) throws IOException {
-        log.info("Starting to parse CSR file: {}", csrFile.getOriginalFilename());
-        try (InputStreamReader reader = new InputStreamReader(csrFile.getInputStream())) {
-            PEMParser pemParser = new PEMParser(reader);
-            Object object = pemParser.readObject();
-            if (object instanceof PKCS10CertificationRequest) {
-                log.debug("Successfully parsed CSR file as PKCS#10");
-                return extractCsr((PKCS10CertificationRequest) object);
-            } else {
-                log.error("Failed to parse CSR: Input is not a valid PKCS#10 CSR");
-                throw new IllegalArgumentException("Input is not a valid PKCS#10 CSR");
+        return parsePKCS10CertificationRequest(csrFile, ParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parses a CSR file and extracts the contained information as selected by the options.
+     *
+     * @param csrFile MultipartFile containing the CSR in PEM format
+     * @param options The optional information to compute
+     * @return Csr object containing the extracted information
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the input is not a valid PKCS#10 CSR
+     */
+    public Csr parsePKCS10CertificationRequest(MultipartFile csrFile, ParseOptions options) throws IOException {
+        log.debug("Starting to parse CSR file: {}", csrFile.getOriginalFilename());
+        long start = System.nanoTime();
+        byte[] encoded;
+        try (InputStream in = csrFile.getInputStream()) {
+            encoded = decodeUpload(in);
+        } catch (IllegalArgumentException e) {
+            metrics.recordError(true);
+            throw e;
+        }
+        metrics.recordStage(Stage.PEM, start);
+        if (encoded == null) {
+            log.error("Failed to parse CSR: Input is not a valid PKCS#10 CSR");
+            metrics.recordError(true);
+            throw new IllegalArgumentException("Input is not a valid PKCS#10 CSR");
+        }
+        return parsePKCS10CertificationRequest(encoded, options);
+    }
+
+    /**
+     * Parses a request body holding the raw DER encoding of a single CSR, without multipart or
+     * character decoding.
+     *
+     * @param body The request body
+     * @param options The optional information to compute
+     * @return Csr object containing the extracted information
+     * @throws IOException if the body cannot be read
+     * @throws IllegalArgumentException if the body is empty, too large or not a valid PKCS#10 CSR
+     */
+    public Csr parseDerBody(InputStream body, ParseOptions options) throws IOException {
+        byte[] encoded;
+        CsrDecodeContext context = CsrDecodeContext.acquire();
+        try {
+            readBody(context, body, streamProperties.getMaxObjectSize());
+            encoded = context.toByteArray();
+        } finally {
+            context.release();
+        }
+        return parsePKCS10CertificationRequest(encoded, options);
+    }
+
+    /**
+     * Parses a request body holding a single CSR as PEM or as bare base64 text. The text is decoded
+     * on the raw bytes, without decoding it into characters first.
+     *
+     * @param body The request body
+     * @param options The optional information to compute
+     * @return Csr object containing the extracted information
+     * @throws IOException if the body cannot be read
+     * @throws IllegalArgumentException if the body is empty, too large or not a valid PKCS#10 CSR
+     */
+    public Csr parseTextBody(InputStream body, ParseOptions options) throws IOException {
+        byte[] encoded;
+        long start;
+        CsrDecodeContext context = CsrDecodeContext.acquire();
+        try {
+            // base64 grows the DER by a third, the rest leaves room for armor, line breaks and preamble
+            readBody(context, body, streamProperties.getMaxObjectSize() * 2);
+            start = System.nanoTime();
+            try {
+                encoded = context.decodeText(streamProperties.getMaxObjectSize());
+            } catch (IllegalArgumentException e) {
+                metrics.recordError(true);
+                throw e;
             }
-        } catch (CertificateException | NoSuchProviderException e) {
+        } finally {
+            context.release();
+        }
+        metrics.recordStage(Stage.PEM, start);
+        if (encoded == null) {
+            metrics.recordError(true);
+            throw new IllegalArgumentException("Input is not a valid PKCS#10 CSR");
+        }
+        return parsePKCS10CertificationRequest(encoded, options);
+    }
+
+    /**
+     * Decodes the first CSR of an uploaded file. A file of up to twice the maximum CSR size is read
+     * into a pooled buffer and decoded in place; a larger one is read object by object, so only
+     * its first CSR is held in memory.
+     *
+     * @param in the content of the file
+     * @return the DER encoding of the first CSR, or {@code null} if the file contains none
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the first object is not a well-formed CSR encoding
+     */
+    byte[] decodeUpload(InputStream in) throws IOException {
+        int maxObjectSize = streamProperties.getMaxObjectSize();
+        CsrDecodeContext context = CsrDecodeContext.acquire();
+        try {
+            if (context.read(in, maxObjectSize * 2) <= maxObjectSize * 2) {
+                return context.decodeFirst(maxObjectSize);
+            }
+            try (EncodedCsrReader reader = new EncodedCsrReader(context.replay(in), maxObjectSize)) {
+                return reader.next();
+            }
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Reads a request body up to the given limit into a decode context and records its size.
+     *
+     * @throws IllegalArgumentException if the body is empty or exceeds the limit
+     */
+    private void readBody(CsrDecodeContext context, InputStream body, int limit) throws IOException {
+        int length = context.read(body, limit);
+        metrics.recordUploadSize(length);
+        if (length == 0 || length > limit) {
+            metrics.recordError(true);
+            throw new IllegalArgumentException(length == 0
+                    ? "The provided body is empty"
+                    : "Request body exceeds the maximum size of " + limit + " bytes");
+        }
+    }
+
+    /**
+     * Parses a DER encoded CSR and extracts the contained information. Results are served from
+     * the {@link CsrResultCache} when the same encoding has been parsed before.
+     *
+     * @param encoded the DER encoding of the CSR
+     * @return Csr object containing the extracted information
+     * @throws IllegalArgumentException if the input is not a valid PKCS#10 CSR
+     */
+    public Csr parsePKCS10CertificationRequest(byte[] encoded) {
+        return parsePKCS10CertificationRequest(encoded, ParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parses a DER encoded CSR and extracts the contained information as selected by the options.
+     * Results are served from the {@link CsrResultCache} when the same encoding has been parsed
+     * before with the same options. If the {@link CsrReuseIndex} is enabled, every successful parse,
+     * cached or not, is recorded in it and the result reports the reuse of its key and subject.
+     *
+     * @param encoded the DER encoding of the CSR
+     * @param options The optional information to compute
+     * @return Csr object containing the extracted information
+     * @throws IllegalArgumentException if the input is not a valid PKCS#10 CSR
+     */
+    public Csr parsePKCS10CertificationRequest(byte[] encoded, ParseOptions options) {
+        Csr csr = csrResultCache.get(encoded, options, bytes -> parseEncoded(bytes, options));
+        if (!reuseIndex.isEnabled()) {
+            return csr;
+        }
+        // the cached result is shared, the reuse hits belong to this submission only
+        ReuseHits reuse = reuseIndex.record(encoded);
+        return reuse != null ? csr.toBuilder().reuse(reuse).build() : csr;
+    }
+
+    /**
+     * Parses a DER encoded CSR without consulting the cache.
+     *
+     * @param encoded the DER encoding of the CSR
+     * @param options The optional information to compute
+     * @return Csr object containing the extracted information
+     * @throws IllegalArgumentException if the input is not a valid PKCS#10 CSR
+     */
+    private Csr parseEncoded(byte[] encoded, ParseOptions options) {
+        if (isLazilyExtractable(options)) {
+            return parseLazily(encoded, options.getFields());
+        }
+        long start = System.nanoTime();
+        PKCS10CertificationRequest csr;
+        try {
+            csr = new PKCS10CertificationRequest(encoded);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to parse CSR: {}", e.getMessage());
+            metrics.recordError(true);
+            throw new IllegalArgumentException("Input is not a valid PKCS#10 CSR", e);
+        }
+        metrics.recordStage(Stage.ASN1, start);
+        log.debug("Successfully parsed CSR as PKCS#10");
+
+        start = System.nanoTime();
+        String algorithm = getSignatureAlgorithmName(csr.getSignatureAlgorithm());
+        Csr result;
+        try {
+            result = extractCsr(csr, options, algorithm);
+        } catch (IllegalArgumentException e) {
+            metrics.recordError(true);
+            throw e;
+        } catch (CertificateException | NoSuchProviderException | RuntimeException e) {
             log.error("Error processing CSR: {}", e.getMessage(), e);
+            metrics.recordError(false);
             throw new RuntimeException("Failed to process CSR: " + e.getMessage(), e);
         }
+        metrics.recordStage(Stage.EXTRACTION, start);
+        metrics.recordAlgorithm(algorithm);
+        return result;
     }
 
     /**
-     * Extracts information from a PKCS10CertificationRequest.
+     * Checks whether the options select nothing but fields that are available without decoding
+     * the public key and the attributes of the CSR. The policy checks need the complete CSR.
+     */
+    private boolean isLazilyExtractable(ParseOptions options) {
+        return !policyEngine.isEnabled() && LAZY_FIELDS.containsAll(options.getFields())
+                && !options.isVerifySignature() && options.getExtensions().isEmpty();
+    }
+
+    /**
+     * Reads only the signature algorithm and the common name of a DER encoded CSR. The structure
+     * is decoded lazily, so the public key and the attributes are never parsed, and the subject
+     * is only parsed if the common name is selected.
      *
-     * @param csr The CSR to process
-     * @return Csr object containing the extracted information
-     * @throws CertificateException if certificate processing fails
-     * @throws NoSuchProviderException if the security provider is not available
+     * @param encoded the DER encoding of the CSR
+     * @param fields the fields to extract, a subset of {@link #LAZY_FIELDS}
+     * @return Csr object containing only the selected fields
+     * @throws IllegalArgumentException if the input is not a PKCS#10 CSR structure
      */
-    private Csr extractCsr(PKCS10CertificationRequest csr) throws CertificateException, NoSuchProviderException {
-        log.debug("Extracting information from CSR");
-        List<String> subject = getSubjectNames(csr);
-        String publicKeyAlgorithm = getKeyAlgorithm(csr);
-        List<String> subjectAltNames = getSubjectAltNames(csr);
+    private Csr parseLazily(byte[] encoded, Set<CsrField> fields) {
+        long start = System.nanoTime();
+        AlgorithmIdentifier signatureAlgorithm;
+        X500Name subject = null;
+        try (ASN1InputStream in = new ASN1InputStream(encoded, true)) {
+            ASN1Sequence request = ASN1Sequence.getInstance(in.readObject());
+            if (request.size() != 3) {
+                throw new IllegalArgumentException("Wrong number of elements in sequence: " + request.size());
+            }
+            signatureAlgorithm = AlgorithmIdentifier.getInstance(request.getObjectAt(1));
+            if (fields.contains(CsrField.COMMON_NAME)) {
+                ASN1Sequence info = ASN1Sequence.getInstance(request.getObjectAt(0));
+                if (info.size() != 4) {
+                    throw new IllegalArgumentException("Wrong number of elements in sequence: " + info.size());
+                }
+                subject = X500Name.getInstance(info.getObjectAt(1));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to parse CSR: {}", e.getMessage());
+            metrics.recordError(true);
+            throw new IllegalArgumentException("Input is not a valid PKCS#10 CSR", e);
+        }
+        metrics.recordStage(Stage.ASN1, start);
 
-        log.info("Successfully extracted CSR information. Subject names count: {}, Algorithm: {}, Alt Names count: {}",
-                subject.size(), publicKeyAlgorithm, subjectAltNames.size());
-        return new Csr(subject, publicKeyAlgorithm, subjectAltNames);
+        start = System.nanoTime();
+        String algorithm = getSignatureAlgorithmName(signatureAlgorithm);
+        String commonName = subject != null ? getCommonName(subject.getRDNs()) : null;
+        boolean typedAlgorithm = fields.contains(CsrField.SIGNATURE_ALGORITHM);
+        Csr result = Csr.builder()
+                .commonName(commonName)
+                .publicKeyAlgorithm(fields.contains(CsrField.ALGORITHM) ? algorithm : null)
+                .signatureAlgorithm(typedAlgorithm ? SIGNATURE_ALGORITHMS.get(signatureAlgorithm.getAlgorithm()) : null)
+                .signatureAlgorithmOid(typedAlgorithm ? signatureAlgorithm.getAlgorithm().getId() : null)
+                .build();
+        metrics.recordStage(Stage.EXTRACTION, start);
+        metrics.recordAlgorithm(algorithm);
+        return result;
     }
 
     /**
-     * Extracts subject names from the CSR.
+     * Extracts information from a PKCS10CertificationRequest and, if the policy is enabled, checks
+     * the extracted values against it in the same pass.
+     * Package-private so that the extraction can be benchmarked on its own.
      *
      * @param csr The CSR to process
-     * @return List of subject names in the format "type= value"
+     * @param options The optional information to compute
+     * @return Csr object containing the extracted information
+     * @throws CertificateException if certificate processing fails
+     * @throws NoSuchProviderException if the security provider is not available
      */
-    private List<String> getSubjectNames(PKCS10CertificationRequest csr) {
-        log.debug("Processing subject names");
-        return processRDNs(csr, SUBJECT_NAME);
+    Csr extractCsr(PKCS10CertificationRequest csr, ParseOptions options) throws CertificateException, NoSuchProviderException {
+        return extractCsr(csr, options, options.getFields().contains(CsrField.ALGORITHM)
+                ? getSignatureAlgorithmName(csr.getSignatureAlgorithm()) : null);
     }
 
     /**
-     * Extracts subject alternative names from the CSR.
+     * Extracts information from a PKCS10CertificationRequest whose signature algorithm name is already known.
      *
      * @param csr The CSR to process
-     * @return List of subject alternative names in the format "type= value"
+     * @param options The optional information to compute
+     * @param algorithm The human-readable signature algorithm, required if the algorithm field is selected
+     * @return Csr object containing the extracted information
+     * @throws CertificateException if certificate processing fails
+     * @throws NoSuchProviderException if the security provider is not available
      */
-    private List<String> getSubjectAltNames(PKCS10CertificationRequest csr) {
-        log.debug("Processing subject alternative names");
-        return processRDNs(csr, SUBJECT_ALTERNATIVE_NAMES);
+    private Csr extractCsr(PKCS10CertificationRequest csr, ParseOptions options, String algorithm)
+            throws CertificateException, NoSuchProviderException {
+        log.debug("Extracting information from CSR");
+        Set<CsrField> fields = options.getFields();
+        boolean policy = policyEngine.isEnabled();
+        List<CsrAttribute> attributes = null;
+        String commonName = null;
+        if (policy || fields.contains(CsrField.SUBJECT) || fields.contains(CsrField.SUBJECT_ALT_NAME)
+                || fields.contains(CsrField.ATTRIBUTES) || fields.contains(CsrField.COMMON_NAME)) {
+            RDN[] rdns = csr.getSubject().getRDNs();
+            if (policy || fields.contains(CsrField.SUBJECT) || fields.contains(CsrField.SUBJECT_ALT_NAME)
+                    || fields.contains(CsrField.ATTRIBUTES)) {
+                attributes = getAttributes(rdns);
+            }
+            if (fields.contains(CsrField.COMMON_NAME)) {
+                commonName = getCommonName(rdns);
+            }
+        }
+        List<String> subject = fields.contains(CsrField.SUBJECT) ? SubjectNameList.subjectNames(attributes) : null;
+        List<String> subjectAltNames = fields.contains(CsrField.SUBJECT_ALT_NAME) ? SubjectNameList.subjectAltNames(attributes) : null;
+        String publicKeyAlgorithm = fields.contains(CsrField.ALGORITHM) ? algorithm : null;
+        ASN1ObjectIdentifier signatureAlgorithmOid = fields.contains(CsrField.SIGNATURE_ALGORITHM)
+                ? csr.getSignatureAlgorithm().getAlgorithm() : null;
+        PublicKeyInfo publicKey = null;
+        if (fields.contains(CsrField.PUBLIC_KEY)) {
+            publicKey = publicKeyAnalyzer.analyze(csr.getSubjectPublicKeyInfo());
+        } else if (policy && policyEngine.requiresPublicKey()) {
+            publicKey = publicKeyAnalyzer.analyzeKeySize(csr.getSubjectPublicKeyInfo());
+        }
+        Boolean signatureValid = options.isVerifySignature() ? csrSignatureVerifier.verify(csr) : null;
+        boolean dnsNames = policy && policyEngine.requiresDnsNames();
+        GeneralName[] generalNames = dnsNames || options.getExtensions().contains(CsrExtension.SUBJECT_ALT_NAME)
+                ? CsrExtensionDecoder.subjectAltNames(csr) : null;
+        CsrExtensions extensions = CsrExtensionDecoder.decode(csr, options.getExtensions(), generalNames);
+        List<PolicyViolation> violations = null;
+        if (policy) {
+            ASN1ObjectIdentifier algorithmOid = csr.getSignatureAlgorithm().getAlgorithm();
+            violations = policyEngine.evaluate(SIGNATURE_ALGORITHMS.get(algorithmOid), algorithmOid.getId(), publicKey, attributes,
+                    dnsNames ? CsrExtensionDecoder.dnsNames(generalNames) : null);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully extracted CSR information. Subject names count: {}, Algorithm: {}, Alt Names count: {}",
+                    subject != null ? subject.size() : 0, publicKeyAlgorithm, subjectAltNames != null ? subjectAltNames.size() : 0);
+        }
+        return Csr.builder()
+                .subject(subject)
+                .commonName(commonName)
+                .publicKeyAlgorithm(publicKeyAlgorithm)
+                .subjectAltName(subjectAltNames)
+                .signatureValid(signatureValid)
+                .extensions(extensions)
+                .attributes(fields.contains(CsrField.ATTRIBUTES) ? attributes : null)
+                .signatureAlgorithm(signatureAlgorithmOid != null ? SIGNATURE_ALGORITHMS.get(signatureAlgorithmOid) : null)
+                .signatureAlgorithmOid(signatureAlgorithmOid != null ? signatureAlgorithmOid.getId() : null)
+                .publicKey(fields.contains(CsrField.PUBLIC_KEY) ? publicKey : null)
+                .violations(violations)
+                .build();
     }
 
     /**
-     * Processes Relative Distinguished Names (RDNs) from the CSR using the provided mapping.
+     * Collects the attributes of the subject in a single pass, in the order of the subject.
+     * Every attribute of a multi-valued RDN is included; types without a {@link SubjectAttribute}
+     * keep their OID only.
      *
-     * @param csr The CSR to process
-     * @param nameMappings Map of OID to human-readable name mappings
-     * @return List of processed names in the format "type= value"
-     */
-    private List<String> processRDNs(PKCS10CertificationRequest csr, Map<String, String> nameMappings) {
-        List<String> result = new ArrayList<String>();
-        for(RDN rdn: csr.getSubject().getRDNs()){
-            String rdnType = rdn.getFirst().getType().toString();
-            String rdnValue = rdn.getFirst().getValue().toString();
-
-            if(nameMappings.containsKey(rdnType)){
-                result.add(nameMappings.get(rdnType) + "= " + rdnValue);
-                log.trace("Processed RDN: {}= {}", nameMappings.get(rdnType), rdnValue);
+     * @param rdns The RDNs of the CSR subject
+     * @return the typed attributes of the subject
+     */
+    private static List<CsrAttribute> getAttributes(RDN[] rdns) {
+        List<CsrAttribute> attributes = new ArrayList<>(rdns.length);
+        for (RDN rdn : rdns) {
+            if (rdn.isMultiValued()) {
+                for (AttributeTypeAndValue typeAndValue : rdn.getTypesAndValues()) {
+                    attributes.add(toAttribute(typeAndValue));
+                }
             } else {
-                log.debug("Following Subject  name Id: {} not present", rdnType);
+                attributes.add(toAttribute(rdn.getFirst()));
             }
         }
-        return result;
+        return Collections.unmodifiableList(attributes);
     }
 
+    private static CsrAttribute toAttribute(AttributeTypeAndValue typeAndValue) {
+        ASN1ObjectIdentifier type = typeAndValue.getType();
+        SubjectAttribute attribute = SUBJECT_ATTRIBUTES.get(type);
+        // called once per attribute of the subject, so the disabled level must cost nothing
+        if (attribute == null && log.isDebugEnabled()) {
+            log.debug("Following Subject  name Id: {} not present", type);
+        }
+        return new CsrAttribute(attribute, type.getId(), typeAndValue.getValue().toString());
+    }
 
     /**
-     * Extracts the key algorithm from the CSR.
+     * Finds the value of the first common name of the subject.
      *
-     * @param csr The CSR to process
-     * @return String representation of the key algorithm
+     * @param rdns The RDNs of the CSR subject
+     * @return the common name, or {@code null} if the subject has none
+     */
+    private static String getCommonName(RDN[] rdns) {
+        for (RDN rdn : rdns) {
+            for (AttributeTypeAndValue typeAndValue : rdn.getTypesAndValues()) {
+                if (BCStyle.CN.equals(typeAndValue.getType())) {
+                    return typeAndValue.getValue().toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the signature algorithm of the CSR to its human-readable name.
+     *
+     * @param signatureAlgorithm The signature algorithm of the CSR
+     * @return the human-readable name of the signature algorithm, reported as {@code publicKeyAlgorithm} for compatibility
      *
      * */
-    private String getKeyAlgorithm(PKCS10CertificationRequest csr) {
-        String algorithmId = csr.getSignatureAlgorithm().getAlgorithm().getId();
-        if (ALGORITHM_MAP.containsKey(algorithmId)) {
-            String algorithm = ALGORITHM_MAP.get(algorithmId);
-            log.debug("Identified key algorithm: {}", algorithm);
-            return algorithm;
+    private String getSignatureAlgorithmName(AlgorithmIdentifier signatureAlgorithm) {
+        SignatureAlgorithm algorithm = SIGNATURE_ALGORITHMS.get(signatureAlgorithm.getAlgorithm());
+        if (algorithm != null) {
+            log.debug("Identified key algorithm: {}", algorithm.getDisplayName());
+            return algorithm.getDisplayName();
         } else {
-            log.info("Unrecognized Algorithm ID: {}", algorithmId);
-            return "Unknown Algorithm";
+            log.info("Unrecognized Algorithm ID: {}", signatureAlgorithm.getAlgorithm().getId());
+            return SignatureAlgorithm.UNKNOWN_NAME;
         }
     }
-
-
 }
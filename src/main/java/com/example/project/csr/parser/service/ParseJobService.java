@@ -0,0 +1,559 @@
+package com.example.project.csr.parser.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.project.csr.parser.config.JobProperties;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.JobPage;
+import com.example.project.csr.parser.model.JobState;
+import com.example.project.csr.parser.model.JobStatus;
+import com.example.project.csr.parser.model.ParseOptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for parsing very large bundles of Certificate Signing Requests (CSR) in the background.
+ * A submitted bundle is spilled to a file before the job is queued, so the request returns as
+ * soon as the upload is complete. A job thread then parses the bundle with
+ * {@link BatchParsCsrService#parseStream} and appends every result as a JSON line to a results
+ * file. Only the byte offset of each page of results is kept in memory, so the heap used by a job
+ * does not depend on the size of the bundle, and a page is read back from the file on request.
+ *
+ * <p>Jobs belong to the tenant that submitted them. The number of queued and running jobs per
+ * tenant is limited, as is the number of jobs waiting for a job thread. Finished jobs and their
+ * files are deleted after the retention period, by a background sweep and on every submit and poll.</p>
+ *
+ */
+@Service
+@Slf4j
+public class ParseJobService {
+
+    private static final Pattern TENANT = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final String INPUT_SUFFIX = ".input";
+    private static final String RESULTS_SUFFIX = ".ndjson";
+
+    private final BatchParsCsrService batchParsCsrService;
+    private final ExecutorService executor;
+    private final JobProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemWriter;
+    private final Clock clock;
+    private final Path directory;
+    private final Map<String, ParseJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> activeJobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService expiryScheduler;
+
+    /**
+     * Constructs a new ParseJobService and deletes the files left behind by a previous run.
+     *
+     * @param batchParsCsrService The service responsible for parsing streams of CSRs
+     * @param executor The executor running the jobs
+     * @param properties The job configuration
+     * @param objectMapper The mapper used to spill and read back results
+     * @throws UncheckedIOException if the job directory cannot be created
+     */
+    @Autowired
+    public ParseJobService(BatchParsCsrService batchParsCsrService,
+                           @Qualifier("csrJobExecutor") ExecutorService executor,
+                           JobProperties properties,
+                           ObjectMapper objectMapper) {
+        this(batchParsCsrService, executor, properties, objectMapper, Clock.systemUTC());
+    }
+
+    ParseJobService(BatchParsCsrService batchParsCsrService, ExecutorService executor, JobProperties properties,
+                    ObjectMapper objectMapper, Clock clock) {
+        this.batchParsCsrService = batchParsCsrService;
+        this.executor = executor;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writerFor(CsrBatchItem.class);
+        this.clock = clock;
+        this.directory = properties.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            deleteStaleFiles();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare job directory " + directory, e);
+        }
+        if (properties.getExpiryInterval().isPositive()) {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory());
+            long interval = properties.getExpiryInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::removeExpiredJobsQuietly, interval, interval, TimeUnit.MILLISECONDS);
+            this.expiryScheduler = scheduler;
+        } else {
+            this.expiryScheduler = null;
+        }
+    }
+
+    /**
+     * Spills a bundle to disk and queues a job that parses it.
+     *
+     * @param tenant the tenant submitting the job
+     * @param body the bundle containing PEM or DER encoded CSRs
+     * @param options the optional information to compute for every CSR
+     * @return the status of the queued job
+     * @throws IOException if the bundle cannot be read or spilled
+     * @throws InvalidCsrFileExceptions if the tenant is invalid, the bundle is empty or too large, the
+     *         tenant has too many active jobs or the job queue is full
+     */
+    public JobStatus submit(String tenant, InputStream body, ParseOptions options) throws IOException {
+        checkTenant(tenant);
+        removeExpiredJobs();
+        acquireSlot(tenant);
+
+        String id = UUID.randomUUID().toString();
+        ParseJob job = new ParseJob(id, tenant, options, directory.resolve(id + INPUT_SUFFIX),
+                directory.resolve(id + RESULTS_SUFFIX), clock.instant());
+        try {
+            job.inputBytes = spill(body, job.input);
+            jobs.put(id, job);
+            // the job logs with the correlation ID of the request that submitted it
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            executor.execute(() -> run(job, context));
+        } catch (RejectedExecutionException e) {
+            discard(job);
+            throw new InvalidCsrFileExceptions("Too many jobs are queued, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (IOException | RuntimeException e) {
+            discard(job);
+            throw e;
+        }
+        log.info("Queued job {} of tenant {} with {} bytes", id, tenant, job.inputBytes);
+        return job.status(properties.getPageSize());
+    }
+
+    /**
+     * Returns the status of a job together with a page of its results. A page that has not been
+     * completely written yet is returned empty while the job runs.
+     *
+     * @param tenant the tenant polling the job
+     * @param id the identifier of the job
+     * @param page the number of the page, starting at zero
+     * @return the status and the requested page of results
+     * @throws IOException if the results cannot be read
+     * @throws InvalidCsrFileExceptions if the job does not exist or belongs to another tenant, or the
+     *         page number is negative
+     */
+    public JobPage getPage(String tenant, String id, int page) throws IOException {
+        if (page < 0) {
+            throw new InvalidCsrFileExceptions("Page must not be negative", HttpStatus.BAD_REQUEST);
+        }
+        removeExpiredJobs();
+        ParseJob job = find(tenant, id);
+        int pageSize = properties.getPageSize();
+        JobStatus status = job.status(pageSize);
+        long first = (long) page * pageSize;
+        if (first >= status.getItemsAvailable()) {
+            return new JobPage(status, page, pageSize, List.of());
+        }
+        int count = (int) Math.min(pageSize, status.getItemsAvailable() - first);
+        try {
+            return new JobPage(status, page, pageSize, readItems(job.results, job.pageOffsets[page], count));
+        } catch (NoSuchFileException e) {
+            // the job was deleted while its results were being read
+            throw unknownJob(id);
+        }
+    }
+
+    /**
+     * Cancels a job if it has not finished and deletes it together with its files.
+     *
+     * @param tenant the tenant deleting the job
+     * @param id the identifier of the job
+     * @return the status of the job at the time it was deleted
+     * @throws InvalidCsrFileExceptions if the job does not exist or belongs to another tenant
+     */
+    public JobStatus delete(String tenant, String id) {
+        ParseJob job = find(tenant, id);
+        if (job.cancel(clock.instant()) == JobState.QUEUED) {
+            // a queued job only reaches run() once a job thread is free, so its slot is released here
+            releaseSlot(job);
+        }
+        JobStatus status = job.status(properties.getPageSize());
+        if (jobs.remove(id, job)) {
+            deleteFiles(job);
+            log.info("Deleted job {} of tenant {}", id, tenant);
+        }
+        return status;
+    }
+
+    /**
+     * Stops the background deletion of expired jobs.
+     */
+    @PreDestroy
+    public void close() {
+        if (expiryScheduler != null) {
+            expiryScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a job on a job thread. The tenant slot is released however the job ends.
+     */
+    private void run(ParseJob job, Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        try {
+            if (!job.start(clock.instant())) {
+                return;
+            }
+            try (InputStream in = new CountingInputStream(Files.newInputStream(job.input), job);
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.results))) {
+                batchParsCsrService.parseStream(in, job.options,
+                        item -> job.append(out, toJson(item), item.getError() != null, properties.getPageSize()));
+                job.publish(out);
+            }
+            job.finish(JobState.COMPLETED, null, clock.instant());
+            log.info("Completed job {}. Items: {}, failed: {}", job.id, job.processed, job.failed);
+        } catch (CancellationException e) {
+            log.info("Cancelled job {} after {} items", job.id, job.processed);
+        } catch (IOException | RuntimeException e) {
+            log.error("Job {} failed: {}", job.id, e.getMessage(), e);
+            job.finish(JobState.FAILED, e.getMessage(), clock.instant());
+        } finally {
+            releaseSlot(job);
+            deleteQuietly(job.input);
+            MDC.clear();
+        }
+    }
+
+    private byte[] toJson(CsrBatchItem item) {
+        try {
+            return itemWriter.writeValueAsBytes(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<JsonNode> readItems(Path results, long offset, int count) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(results);
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel.position(offset), StandardCharsets.UTF_8))) {
+            List<JsonNode> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(objectMapper.readTree(reader.readLine()));
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Copies the bundle to its input file, enforcing the maximum upload size.
+     */
+    private long spill(InputStream body, Path input) throws IOException {
+        long maxUploadSize = properties.getMaxUploadSize();
+        long size = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream out = Files.newOutputStream(input)) {
+            int read;
+            while ((read = body.read(buffer)) >= 0) {
+                size += read;
+                if (size > maxUploadSize) {
+                    throw new InvalidCsrFileExceptions("A job may contain at most " + maxUploadSize + " bytes",
+                            HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        if (size == 0) {
+            throw new InvalidCsrFileExceptions("Request body is empty", HttpStatus.BAD_REQUEST);
+        }
+        return size;
+    }
+
+    private ParseJob find(String tenant, String id) {
+        ParseJob job = jobs.get(id);
+        // a job of another tenant is reported as unknown rather than forbidden, so ids cannot be probed
+        if (job == null || !job.tenant.equals(tenant)) {
+            throw unknownJob(id);
+        }
+        return job;
+    }
+
+    private void acquireSlot(String tenant) {
+        AtomicInteger active = activeJobs.computeIfAbsent(tenant, t -> new AtomicInteger());
+        if (active.incrementAndGet() > properties.getMaxActiveJobsPerTenant()) {
+            active.decrementAndGet();
+            throw new InvalidCsrFileExceptions("A tenant may have at most " + properties.getMaxActiveJobsPerTenant()
+                    + " active jobs", HttpStatus.TOO_MANY_REQUESTS);
+        }
+    }
+
+    private void releaseSlot(ParseJob job) {
+        if (job.slotReleased.compareAndSet(false, true)) {
+            activeJobs.get(job.tenant).decrementAndGet();
+        }
+    }
+
+    private void discard(ParseJob job) {
+        jobs.remove(job.id, job);
+        releaseSlot(job);
+        deleteFiles(job);
+    }
+
+    private void removeExpiredJobs() {
+        Instant expiry = clock.instant().minus(properties.getRetention());
+        for (ParseJob job : jobs.values()) {
+            Instant finishedAt = job.finishedAt;
+            if (finishedAt != null && finishedAt.isBefore(expiry) && jobs.remove(job.id, job)) {
+                deleteFiles(job);
+                log.info("Removed expired job {}", job.id);
+            }
+        }
+    }
+
+    private void removeExpiredJobsQuietly() {
+        try {
+            removeExpiredJobs();
+        } catch (RuntimeException e) {
+            // keeps the sweep scheduled
+            log.warn("Failed to remove expired jobs: {}", e.getMessage());
+        }
+    }
+
+    private void deleteStaleFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*{" + INPUT_SUFFIX + "," + RESULTS_SUFFIX + "}")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private void deleteFiles(ParseJob job) {
+        deleteQuietly(job.input);
+        deleteQuietly(job.results);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("csr-job-expiry-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private static void checkTenant(String tenant) {
+        if (tenant == null || !TENANT.matcher(tenant).matches()) {
+            throw new InvalidCsrFileExceptions("Invalid tenant: " + tenant, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static InvalidCsrFileExceptions unknownJob(String id) {
+        return new InvalidCsrFileExceptions("Unknown job: " + id, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * State of a single job. The counters are written by the job thread only and read by polling
+     * threads; the number of available items is published last, after the results it covers have
+     * been flushed and the offset of their page has been stored.
+     */
+    private static final class ParseJob {
+
+        private final String id;
+        private final String tenant;
+        private final ParseOptions options;
+        private final Path input;
+        private final Path results;
+        private final Instant submittedAt;
+        private final AtomicBoolean slotReleased = new AtomicBoolean();
+        private final AtomicInteger state = new AtomicInteger(JobState.QUEUED.ordinal());
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+        private volatile long inputBytes;
+        private volatile long bytesRead;
+        private volatile int processed;
+        private volatile int failed;
+        private volatile int available;
+        private volatile long[] pageOffsets = new long[16];
+        // owned by the job thread
+        private long position;
+
+        ParseJob(String id, String tenant, ParseOptions options, Path input, Path results, Instant submittedAt) {
+            this.id = id;
+            this.tenant = tenant;
+            this.options = options;
+            this.input = input;
+            this.results = results;
+            this.submittedAt = submittedAt;
+        }
+
+        boolean start(Instant now) {
+            startedAt = now;
+            return state.compareAndSet(JobState.QUEUED.ordinal(), JobState.RUNNING.ordinal());
+        }
+
+        /**
+         * @return the state the job was cancelled in, or {@code null} if it had already finished
+         */
+        JobState cancel(Instant now) {
+            int current = state.get();
+            while (!JobState.values()[current].isFinished()) {
+                if (state.compareAndSet(current, JobState.CANCELLED.ordinal())) {
+                    finishedAt = now;
+                    return JobState.values()[current];
+                }
+                current = state.get();
+            }
+            return null;
+        }
+
+        void finish(JobState finalState, String error, Instant now) {
+            this.error = error;
+            if (state.compareAndSet(JobState.RUNNING.ordinal(), finalState.ordinal())) {
+                finishedAt = now;
+            }
+        }
+
+        /**
+         * Writes a result and publishes the results written so far whenever a page is complete.
+         *
+         * @throws CancellationException if the job has been cancelled, to stop parsing
+         */
+        void append(OutputStream out, byte[] json, boolean failure, int pageSize) {
+            if (state.get() == JobState.CANCELLED.ordinal()) {
+                throw new CancellationException();
+            }
+            try {
+                int count = processed;
+                if (count % pageSize == 0) {
+                    int page = count / pageSize;
+                    long[] offsets = pageOffsets;
+                    if (page == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[page] = position;
+                    pageOffsets = offsets;
+                }
+                out.write(json);
+                out.write('\n');
+                position += json.length + 1;
+                if (failure) {
+                    failed++;
+                }
+                processed = count + 1;
+                if (processed % pageSize == 0) {
+                    publish(out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void publish(OutputStream out) throws IOException {
+            out.flush();
+            available = processed;
+        }
+
+        JobStatus status(int pageSize) {
+            int items = available;
+            JobState current = JobState.values()[state.get()];
+            return JobStatus.builder()
+                    .id(id)
+                    .tenant(tenant)
+                    .state(current)
+                    .submittedAt(submittedAt)
+                    .startedAt(current == JobState.QUEUED ? null : startedAt)
+                    .finishedAt(finishedAt)
+                    .inputBytes(inputBytes)
+                    .bytesRead(bytesRead)
+                    .itemsProcessed(processed)
+                    .itemsFailed(failed)
+                    .itemsAvailable(items)
+                    .pages((items + pageSize - 1) / pageSize)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    /**
+     * Records the number of bytes of the bundle read so far as the progress of the job.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final ParseJob job;
+
+        CountingInputStream(InputStream in, ParseJob job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                job.bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                job.bytesRead += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            job.bytesRead += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
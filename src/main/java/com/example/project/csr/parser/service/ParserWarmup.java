@@ -0,0 +1,96 @@
+package com.example.project.csr.parser.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.WarmupProperties;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Primes the parse path at startup, so the first requests a fresh node receives do not pay for
+ * loading the BouncyCastle provider and ASN.1 classes or for the interpreted first runs. A bundled
+ * sample CSR is decoded, parsed with every field, extension and the signature verification, and
+ * serialized to JSON.
+ * <p>
+ * The warm-up runs once all singletons are instantiated, before the web server is started, so
+ * neither the readiness probe nor any client sees the node until it is done. Running before the
+ * context refresh completes also puts the classes it loads into the CDS archive recorded by the
+ * {@code cds} build profile. The result cache, the reuse index and the metrics are bypassed, so
+ * the sample leaves no trace in them.
+ *
+ */
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "csr.parser.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ParserWarmup implements SmartInitializingSingleton {
+
+    /**
+     * Classpath location of the sample CSR
+     */
+    public static final String SAMPLE = "warmup/sample.csr";
+
+    private static final ParseOptions FULL = ParseOptions.builder()
+            .verifySignature(true)
+            .extensions(EnumSet.allOf(CsrExtension.class))
+            .fields(EnumSet.allOf(CsrField.class))
+            .build();
+
+    private final ParsCsrService parsCsrService;
+    private final ObjectMapper objectMapper;
+    private final WarmupProperties properties;
+
+    /**
+     * Constructs a new ParserWarmup.
+     *
+     * @param parsCsrService The service whose parse path is primed
+     * @param objectMapper The mapper serializing the parse results of the API
+     * @param properties The warm-up configuration
+     */
+    public ParserWarmup(ParsCsrService parsCsrService, ObjectMapper objectMapper, WarmupProperties properties) {
+        this.parsCsrService = parsCsrService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        try {
+            byte[] sample = new ClassPathResource(SAMPLE).getContentAsByteArray();
+            for (int i = 0; i < properties.getIterations(); i++) {
+                parse(sample, FULL);
+                parse(sample, ParseOptions.DEFAULT);
+            }
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // a node that failed to warm up still serves requests, only its first ones are slower
+            log.warn("Warm-up of the parse path failed: {}", e.getMessage());
+            return;
+        }
+        log.info("Warmed up the parse path with {} iterations in {} ms",
+                properties.getIterations(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void parse(byte[] sample, ParseOptions options) throws IOException, GeneralSecurityException {
+        byte[] encoded = parsCsrService.decodeUpload(new ByteArrayInputStream(sample));
+        Csr csr = parsCsrService.extractCsr(new PKCS10CertificationRequest(encoded), options);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), csr);
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.project.csr.parser.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1Null;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.RSASSAPSSparams;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.DSAParameter;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.example.project.csr.parser.config.PublicKeyProperties;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.PssParameters;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Analyzes the subject public key of a CSR: algorithm, key size, curve, RSASSA-PSS parameters and
+ * whether the key is on the weak key blocklist.
+ * A CSR carries few distinct algorithm identifiers, so their decoded parameters are cached and only
+ * the key itself is inspected per call. The RSA modulus length is read from the DER header of the
+ * modulus, without decoding the modulus into a number.
+ *
+ */
+@Component
+@Slf4j
+public class PublicKeyAnalyzer {
+
+    private static final Map<ASN1ObjectIdentifier, KeyAlgorithm> KEY_ALGORITHMS =
+            OidTable.of(KeyAlgorithm.values(), KeyAlgorithm::getOid);
+
+    /**
+     * Names and field sizes of the common named curves, so these need no lookup of the curve parameters
+     */
+    private static final Map<ASN1ObjectIdentifier, NamedCurve> NAMED_CURVES = Map.of(
+            new ASN1ObjectIdentifier("1.2.840.10045.3.1.7"), new NamedCurve("secp256r1", 256),
+            new ASN1ObjectIdentifier("1.3.132.0.34"), new NamedCurve("secp384r1", 384),
+            new ASN1ObjectIdentifier("1.3.132.0.35"), new NamedCurve("secp521r1", 521),
+            new ASN1ObjectIdentifier("1.3.132.0.10"), new NamedCurve("secp256k1", 256),
+            new ASN1ObjectIdentifier("1.3.36.3.3.2.8.1.1.7"), new NamedCurve("brainpoolP256r1", 256),
+            new ASN1ObjectIdentifier("1.3.36.3.3.2.8.1.1.11"), new NamedCurve("brainpoolP384r1", 384),
+            new ASN1ObjectIdentifier("1.3.36.3.3.2.8.1.1.13"), new NamedCurve("brainpoolP512r1", 512));
+
+    /**
+     * Names of the hash algorithms used in RSASSA-PSS parameters
+     */
+    private static final Map<ASN1ObjectIdentifier, String> HASH_ALGORITHMS = Map.of(
+            OIWObjectIdentifiers.idSHA1, "SHA-1",
+            NISTObjectIdentifiers.id_sha224, "SHA-224",
+            NISTObjectIdentifiers.id_sha256, "SHA-256",
+            NISTObjectIdentifiers.id_sha384, "SHA-384",
+            NISTObjectIdentifiers.id_sha512, "SHA-512");
+
+    private static final int DER_SEQUENCE = 0x30;
+    private static final int DER_INTEGER = 0x02;
+
+    private final MessageDigest digestPrototype;
+    private final Cache<AlgorithmIdentifier, KeyParameters> parameters;
+    private final WeakKeyBlocklist blocklist;
+
+    /**
+     * Constructs a new PublicKeyAnalyzer and loads the weak key blocklist.
+     *
+     * @param properties The public key analysis configuration
+     * @throws UncheckedIOException if the configured blocklist cannot be read
+     */
+    public PublicKeyAnalyzer(PublicKeyProperties properties) {
+        this.digestPrototype = sha256();
+        this.parameters = Caffeine.newBuilder()
+                .maximumSize(properties.getParameterCacheSize())
+                .build();
+        this.blocklist = loadBlocklist(properties.getBlocklist());
+    }
+
+    /**
+     * Analyzes a subject public key.
+     *
+     * @param keyInfo the subject public key info of the CSR
+     * @return the algorithm, size, curve, fingerprint and blocklist status of the key
+     * @throws IllegalArgumentException if the key or its parameters are malformed
+     */
+    public PublicKeyInfo analyze(SubjectPublicKeyInfo keyInfo) {
+        return analyze(keyInfo, true);
+    }
+
+    /**
+     * Determines the algorithm, size and curve of a subject public key, without the fingerprint and
+     * the blocklist lookup, which re-encode and hash the key.
+     *
+     * @param keyInfo the subject public key info of the CSR
+     * @return the algorithm, size and curve of the key
+     * @throws IllegalArgumentException if the key parameters are malformed
+     */
+    public PublicKeyInfo analyzeKeySize(SubjectPublicKeyInfo keyInfo) {
+        return analyze(keyInfo, false);
+    }
+
+    private PublicKeyInfo analyze(SubjectPublicKeyInfo keyInfo, boolean fingerprinted) {
+        AlgorithmIdentifier algorithmIdentifier = keyInfo.getAlgorithm();
+        ASN1ObjectIdentifier oid = algorithmIdentifier.getAlgorithm();
+        PublicKeyInfo.PublicKeyInfoBuilder result = PublicKeyInfo.builder()
+                .oid(oid.getId());
+        if (fingerprinted) {
+            byte[] fingerprint;
+            try {
+                fingerprint = digest().digest(keyInfo.getEncoded(ASN1Encoding.DER));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed public key in CSR", e);
+            }
+            result.fingerprint(HexFormat.of().formatHex(fingerprint))
+                    .blocklisted(blocklist != null ? blocklist.contains(fingerprint) : null);
+        }
+
+        KeyAlgorithm algorithm = KEY_ALGORITHMS.get(oid);
+        if (algorithm == null) {
+            log.debug("Unrecognized public key algorithm ID: {}", oid);
+            return result.build();
+        }
+        try {
+            KeyParameters keyParameters = parameters.getIfPresent(algorithmIdentifier);
+            if (keyParameters == null) {
+                keyParameters = decodeParameters(algorithm, algorithmIdentifier.getParameters());
+                parameters.put(algorithmIdentifier, keyParameters);
+            }
+            Integer keySize = algorithm == KeyAlgorithm.RSA || algorithm == KeyAlgorithm.RSASSA_PSS
+                    ? Integer.valueOf(rsaModulusBits(keyInfo.getPublicKeyData().getOctets())) : keyParameters.keySize();
+            return result
+                    .algorithm(algorithm)
+                    .keySize(keySize)
+                    .curve(keyParameters.curve())
+                    .pss(keyParameters.pss())
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("Failed to decode CSR public key: {}", e.getMessage());
+            throw new IllegalArgumentException("Malformed public key in CSR", e);
+        }
+    }
+
+    /**
+     * Decodes the parts of a key description that are fixed by its algorithm identifier.
+     */
+    private static KeyParameters decodeParameters(KeyAlgorithm algorithm, ASN1Encodable parameters) {
+        ASN1Primitive primitive = parameters != null && !(parameters.toASN1Primitive() instanceof ASN1Null)
+                ? parameters.toASN1Primitive() : null;
+        return switch (algorithm) {
+            case RSA -> new KeyParameters(null, null, null);
+            case RSASSA_PSS -> new KeyParameters(null, null, primitive != null ? pssParameters(RSASSAPSSparams.getInstance(primitive)) : null);
+            case DSA -> new KeyParameters(primitive != null ? DSAParameter.getInstance(primitive).getP().bitLength() : null, null, null);
+            case EC -> ecParameters(primitive);
+            case ED25519 -> new KeyParameters(256, "Ed25519", null);
+            case ED448 -> new KeyParameters(448, "Ed448", null);
+        };
+    }
+
+    /**
+     * Resolves the curve of an elliptic curve key from its parameters, which are either a named
+     * curve OID or explicit curve parameters.
+     */
+    private static KeyParameters ecParameters(ASN1Primitive parameters) {
+        if (parameters instanceof ASN1ObjectIdentifier curveOid) {
+            NamedCurve curve = NAMED_CURVES.get(curveOid);
+            if (curve != null) {
+                return new KeyParameters(curve.size(), curve.name(), null);
+            }
+            X9ECParameters curveParameters = ECNamedCurveTable.getByOID(curveOid);
+            String name = ECNamedCurveTable.getName(curveOid);
+            return new KeyParameters(curveParameters != null ? curveParameters.getCurve().getFieldSize() : null,
+                    name != null ? name : curveOid.getId(), null);
+        }
+        if (parameters != null) {
+            return new KeyParameters(X9ECParameters.getInstance(parameters).getCurve().getFieldSize(), null, null);
+        }
+        return new KeyParameters(null, null, null);
+    }
+
+    private static PssParameters pssParameters(RSASSAPSSparams params) {
+        AlgorithmIdentifier maskGen = params.getMaskGenAlgorithm();
+        return new PssParameters(
+                hashName(params.getHashAlgorithm().getAlgorithm()),
+                hashName(AlgorithmIdentifier.getInstance(maskGen.getParameters()).getAlgorithm()),
+                params.getSaltLength().intValueExact());
+    }
+
+    private static String hashName(ASN1ObjectIdentifier oid) {
+        return HASH_ALGORITHMS.getOrDefault(oid, oid.getId());
+    }
+
+    /**
+     * Reads the bit length of the modulus from the DER encoding of an RSAPublicKey.
+     *
+     * @param key the DER encoding of the RSAPublicKey SEQUENCE
+     * @return the number of significant bits of the modulus
+     * @throws IllegalArgumentException if the encoding is malformed
+     */
+    static int rsaModulusBits(byte[] key) {
+        if (key.length < 2 || (key[0] & 0xff) != DER_SEQUENCE) {
+            throw new IllegalArgumentException("RSA public key is not a SEQUENCE");
+        }
+        int offset = 1 + lengthOctets(key, 1);
+        if (offset >= key.length || (key[offset] & 0xff) != DER_INTEGER) {
+            throw new IllegalArgumentException("RSA modulus is not an INTEGER");
+        }
+        offset++;
+        int lengthOctets = lengthOctets(key, offset);
+        int length = length(key, offset, lengthOctets);
+        int start = offset + lengthOctets;
+        int end = start + length;
+        if (length == 0 || end > key.length) {
+            throw new IllegalArgumentException("RSA modulus is truncated");
+        }
+        while (start < end && key[start] == 0) {
+            start++;
+        }
+        return start == end ? 0 : (end - start - 1) * 8 + 32 - Integer.numberOfLeadingZeros(key[start] & 0xff);
+    }
+
+    /**
+     * Returns the number of octets of the DER length field at the given offset.
+     */
+    private static int lengthOctets(byte[] der, int offset) {
+        if (offset >= der.length) {
+            throw new IllegalArgumentException("DER length is truncated");
+        }
+        int first = der[offset] & 0xff;
+        if (first < 0x80) {
+            return 1;
+        }
+        int count = first & 0x7f;
+        if (count == 0 || count > 3 || offset + count >= der.length) {
+            throw new IllegalArgumentException("Unsupported DER length");
+        }
+        return 1 + count;
+    }
+
+    private static int length(byte[] der, int offset, int lengthOctets) {
+        if (lengthOctets == 1) {
+            return der[offset] & 0xff;
+        }
+        int length = 0;
+        for (int i = 1; i < lengthOctets; i++) {
+            length = (length << 8) | (der[offset + i] & 0xff);
+        }
+        return length;
+    }
+
+    private static WeakKeyBlocklist loadBlocklist(Resource location) {
+        if (location == null) {
+            return null;
+        }
+        try (InputStream in = location.getInputStream()) {
+            WeakKeyBlocklist blocklist = WeakKeyBlocklist.read(in);
+            log.info("Loaded weak key blocklist with {} fingerprints from {}", blocklist.size(), location);
+            return blocklist;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the weak key blocklist " + location, e);
+        }
+    }
+
+    private MessageDigest digest() {
+        try {
+            return (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return sha256();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Key properties that are fixed by the algorithm identifier; the size of an RSA key is not.
+     */
+    private record KeyParameters(Integer keySize, String curve, PssParameters pss) {
+    }
+
+    private record NamedCurve(String name, int size) {
+    }
+}
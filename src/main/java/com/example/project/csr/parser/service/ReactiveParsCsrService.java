@@ -0,0 +1,141 @@
+package com.example.project.csr.parser.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.service.CsrFrameDecoder.Frame;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link ParsCsrService} and {@link BatchParsCsrService} for request
+ * bodies that arrive as a {@link Flux} of {@link DataBuffer}s. Bytes are assembled into CSRs on the
+ * thread that delivers them, without waiting for more input, and the CPU-bound ASN.1 parsing runs
+ * on the parallel scheduler, so the event loop that serves the connection is never blocked.
+ *
+ */
+@Service
+@Slf4j
+public class ReactiveParsCsrService {
+
+    private final ParsCsrService parsCsrService;
+    private final CsrParserMetrics metrics;
+    private final StreamProperties streamProperties;
+    private final Scheduler scheduler = Schedulers.parallel();
+
+    /**
+     * Constructs a new ReactiveParsCsrService.
+     *
+     * @param parsCsrService The service responsible for parsing a single CSR
+     * @param metrics The instrumentation of the parsing stages
+     * @param streamProperties The streaming configuration
+     */
+    public ReactiveParsCsrService(ParsCsrService parsCsrService, CsrParserMetrics metrics, StreamProperties streamProperties) {
+        this.parsCsrService = parsCsrService;
+        this.metrics = metrics;
+        this.streamProperties = streamProperties;
+    }
+
+    /**
+     * Parses a request body holding a single CSR. The body is collected up to the size limit of
+     * the matching blocking endpoint and then parsed with the same rules.
+     *
+     * @param body the request body
+     * @param text {@code true} for a PEM or base64 body, {@code false} for a DER body
+     * @param options the optional information to compute
+     * @return the parsed CSR; fails with an {@link IllegalArgumentException} if the body is empty,
+     *         too large or not a valid PKCS#10 CSR
+     */
+    public Mono<Csr> parse(Flux<DataBuffer> body, boolean text, ParseOptions options) {
+        int limit = text ? streamProperties.getMaxObjectSize() * 2 : streamProperties.getMaxObjectSize();
+        return DataBufferUtils.join(body, limit + 1)
+                .map(ReactiveParsCsrService::toBytes)
+                .defaultIfEmpty(new byte[0])
+                .onErrorMap(DataBufferLimitException.class, e -> {
+                    metrics.recordError(true);
+                    return new IllegalArgumentException("Request body exceeds the maximum size of " + limit + " bytes", e);
+                })
+                .publishOn(scheduler)
+                .map(bytes -> {
+                    try {
+                        return text
+                                ? parsCsrService.parseTextBody(new ByteArrayInputStream(bytes), options)
+                                : parsCsrService.parseDerBody(new ByteArrayInputStream(bytes), options);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Parses all CSRs contained in a request body. Each CSR is parsed as soon as its last byte
+     * arrives and results are emitted in body order, with at most a fixed window of CSRs in flight.
+     *
+     * @param body the request body containing PEM or DER encoded CSRs
+     * @param options the optional information to compute for every CSR
+     * @return one item per CSR found, in body order
+     */
+    public Flux<CsrBatchItem> parseStream(Flux<DataBuffer> body, ParseOptions options) {
+        return Flux.defer(() -> {
+            CsrFrameDecoder decoder = new CsrFrameDecoder(streamProperties.getMaxObjectSize());
+            return body
+                    .concatMapIterable(buffer -> decode(decoder, buffer))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.finish())))
+                    .index()
+                    .flatMapSequential(frame -> parseFrame(frame.getT1().intValue(), frame.getT2(), options),
+                            streamProperties.resolveWindow())
+                    .doOnComplete(() -> log.info("Finished reactive CSR stream"));
+        });
+    }
+
+    private Mono<CsrBatchItem> parseFrame(int index, Frame frame, ParseOptions options) {
+        if (frame.error() != null) {
+            metrics.recordError(true);
+            return Mono.just(CsrBatchItem.failure(index, null, frame.error()));
+        }
+        return Mono.fromCallable(() -> CsrBatchItem.success(index, null, parsCsrService.parsePKCS10CertificationRequest(frame.encoded(), options)))
+                .onErrorResume(RuntimeException.class, e -> Mono.just(CsrBatchItem.failure(index, null, e.getMessage())))
+                .subscribeOn(scheduler);
+    }
+
+    private static List<Frame> decode(CsrFrameDecoder decoder, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            List<Frame> frames = new ArrayList<>();
+            while (chunks.hasNext()) {
+                ByteBuffer chunk = chunks.next();
+                frames.addAll(decoder.decode(chunk));
+            }
+            return frames;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
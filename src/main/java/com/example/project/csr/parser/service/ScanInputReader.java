@@ -0,0 +1,215 @@
+package com.example.project.csr.parser.service;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Enumerates the files of a bulk scan input: a directory tree, a zip archive or a tar archive,
+ * optionally gzip compressed. Archives are read sequentially as streams, so their size is not limited
+ * by the available memory. Only files with one of the configured extensions are handed out.
+ *
+ */
+final class ScanInputReader {
+
+    private static final int TAR_BLOCK = 512;
+
+    /**
+     * Receives the scanned files. May block to apply backpressure to the reader.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(ScanEntry entry) throws InterruptedException;
+    }
+
+    /**
+     * A scanned file, holding either its content or the reason it could not be read.
+     */
+    record ScanEntry(String name, byte[] content, String error) {
+    }
+
+    private final List<String> extensions;
+    private final int maxFileSize;
+
+    ScanInputReader(List<String> extensions, int maxFileSize) {
+        this.extensions = extensions.stream().map(extension -> "." + extension.toLowerCase(Locale.ROOT)).toList();
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Reads all matching files of the input.
+     *
+     * @param input the directory or archive to read
+     * @param consumer receives one entry per matching file
+     * @throws IOException if the input cannot be read
+     * @throws InterruptedException if the consumer is interrupted
+     */
+    void read(Path input, EntryConsumer consumer) throws IOException, InterruptedException {
+        if (Files.isDirectory(input)) {
+            readDirectory(input, consumer);
+            return;
+        }
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input))) {
+            if (name.endsWith(".zip")) {
+                readZip(in, consumer);
+            } else if (name.endsWith(".tar")) {
+                readTar(in, consumer);
+            } else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+                readTar(new GZIPInputStream(in), consumer);
+            } else {
+                throw new IOException("Unsupported scan input " + input + ": expected a directory, .zip, .tar or .tar.gz");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the file name denotes one of the supported archive formats.
+     *
+     * @param input the scan input
+     * @return {@code true} for zip and (gzipped) tar archives
+     */
+    static boolean isArchive(Path input) {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".zip") || name.endsWith(".tar") || name.endsWith(".tar.gz") || name.endsWith(".tgz");
+    }
+
+    private void readDirectory(Path directory, EntryConsumer consumer) throws IOException, InterruptedException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = directory.relativize(file).toString();
+                if (!matches(name)) {
+                    continue;
+                }
+                long size = Files.size(file);
+                if (size > maxFileSize) {
+                    consumer.accept(tooLarge(name));
+                    continue;
+                }
+                ScanEntry entry;
+                try {
+                    entry = new ScanEntry(name, Files.readAllBytes(file), null);
+                } catch (IOException e) {
+                    entry = new ScanEntry(name, null, "Failed to read file: " + e.getMessage());
+                }
+                consumer.accept(entry);
+            }
+        }
+    }
+
+    private void readZip(InputStream in, EntryConsumer consumer) throws IOException, InterruptedException {
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry zipEntry;
+        while ((zipEntry = zip.getNextEntry()) != null) {
+            if (!zipEntry.isDirectory() && matches(zipEntry.getName())) {
+                consumer.accept(readEntry(zipEntry.getName(), zip, zipEntry.getSize()));
+            }
+        }
+    }
+
+    /**
+     * Reads a POSIX (ustar) or GNU tar stream. GNU long names are supported, other extended
+     * headers are skipped.
+     */
+    private void readTar(InputStream in, EntryConsumer consumer) throws IOException, InterruptedException {
+        byte[] header = new byte[TAR_BLOCK];
+        String longName = null;
+        while (in.readNBytes(header, 0, TAR_BLOCK) == TAR_BLOCK && header[0] != 0) {
+            long size = parseOctal(header, 124, 12);
+            byte type = header[156];
+            long padded = (size + TAR_BLOCK - 1) / TAR_BLOCK * TAR_BLOCK;
+            if (type == 'L') {
+                longName = trimNul(new String(readFully(in, (int) size), StandardCharsets.UTF_8));
+                in.skipNBytes(padded - size);
+                continue;
+            }
+            String name = longName != null ? longName : tarName(header);
+            longName = null;
+            if ((type == '0' || type == 0) && matches(name)) {
+                consumer.accept(readEntry(name, in, size));
+                in.skipNBytes(padded - size);
+            } else {
+                in.skipNBytes(padded);
+            }
+        }
+    }
+
+    /**
+     * Reads an archive entry of the given size, or up to the maximum file size if the size is unknown.
+     * An entry exceeding the maximum file size is consumed in full and reported as failed.
+     */
+    private ScanEntry readEntry(String name, InputStream in, long size) throws IOException {
+        if (size > maxFileSize) {
+            in.skipNBytes(size);
+            return tooLarge(name);
+        }
+        byte[] content = size >= 0 ? readFully(in, (int) size) : in.readNBytes(maxFileSize + 1);
+        if (content.length > maxFileSize) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return tooLarge(name);
+        }
+        return new ScanEntry(name, content, null);
+    }
+
+    private ScanEntry tooLarge(String name) {
+        return new ScanEntry(name, null, "File exceeds the maximum size of " + maxFileSize + " bytes");
+    }
+
+    private boolean matches(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String extension : extensions) {
+            if (lower.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tarName(byte[] header) {
+        String name = trimNul(new String(header, 0, 100, StandardCharsets.UTF_8));
+        String prefix = trimNul(new String(header, 345, 155, StandardCharsets.UTF_8));
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    private static long parseOctal(byte[] header, int offset, int length) throws IOException {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b == 0 || b == ' ') {
+                if (value > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                throw new IOException("Malformed tar header");
+            }
+            value = (value << 3) + (b - '0');
+        }
+        return value;
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Unexpected end of archive");
+        }
+        return bytes;
+    }
+
+    private static String trimNul(String value) {
+        int end = value.indexOf('\0');
+        return end < 0 ? value : value.substring(0, end);
+    }
+}
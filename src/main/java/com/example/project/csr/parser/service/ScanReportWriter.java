@@ -0,0 +1,153 @@
+package com.example.project.csr.parser.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.ScanFormat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes the items of a bulk scan report in one of the {@link ScanFormat}s.
+ *
+ */
+abstract class ScanReportWriter implements Flushable, Closeable {
+
+    /**
+     * Creates a report writer.
+     *
+     * @param format the format of the report
+     * @param out the stream the report is written to
+     * @param objectMapper the mapper used for the NDJSON format
+     * @return the report writer
+     * @throws IOException if the start of the report cannot be written
+     */
+    static ScanReportWriter create(ScanFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        ScanReportWriter reportWriter = switch (format) {
+            case NDJSON -> new Ndjson(writer, objectMapper);
+            case CSV -> new Csv(writer);
+        };
+        reportWriter.writeHeader();
+        return reportWriter;
+    }
+
+    protected final Writer writer;
+
+    private ScanReportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes the start of the report, if the format has one.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    void writeHeader() throws IOException {
+    }
+
+    /**
+     * Writes a single report item.
+     *
+     * @param item the item to write
+     * @throws IOException if the report cannot be written
+     */
+    abstract void write(CsrBatchItem item) throws IOException;
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static final class Ndjson extends ScanReportWriter {
+
+        private final ObjectWriter itemWriter;
+
+        Ndjson(Writer writer, ObjectMapper objectMapper) {
+            super(writer);
+            this.itemWriter = objectMapper.writerFor(CsrBatchItem.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void write(CsrBatchItem item) throws IOException {
+            itemWriter.writeValue(writer, item);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Writes the subject, algorithm and signature columns; decoded extensions are only part of the NDJSON report.
+     */
+    private static final class Csv extends ScanReportWriter {
+
+        private static final String HEADER = "source,index,publicKeyAlgorithm,subject,commonName,subjectAltName,signatureValid,error\n";
+
+        Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writer.write(HEADER);
+        }
+
+        @Override
+        void write(CsrBatchItem item) throws IOException {
+            Csr csr = item.getCsr();
+            writeField(item.getSource());
+            writer.write(',');
+            writer.write(Integer.toString(item.getIndex()));
+            writer.write(',');
+            writeField(csr != null ? csr.getPublicKeyAlgorithm() : null);
+            writer.write(',');
+            writeField(csr != null ? join(csr.getSubject()) : null);
+            writer.write(',');
+            writeField(csr != null ? csr.getCommonName() : null);
+            writer.write(',');
+            writeField(csr != null ? join(csr.getSubjectAltName()) : null);
+            writer.write(',');
+            writeField(csr != null && csr.getSignatureValid() != null ? csr.getSignatureValid().toString() : null);
+            writer.write(',');
+            writeField(item.getError());
+            writer.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static String join(List<String> values) {
+            return values != null ? String.join("; ", values) : null;
+        }
+    }
+}
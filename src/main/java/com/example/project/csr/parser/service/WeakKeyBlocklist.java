@@ -0,0 +1,151 @@
+package com.example.project.csr.parser.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Set of public key fingerprints held in a single open addressing table of longs. Only the first
+ * 128 bits of each SHA-256 fingerprint are kept, which makes an entry 16 bytes while a chance
+ * collision stays out of reach. Fingerprints are uniformly distributed, so their leading bits
+ * select the slot directly.
+ *
+ */
+final class WeakKeyBlocklist {
+
+    /**
+     * Minimum number of hex digits of a fingerprint in the blocklist file
+     */
+    private static final int FINGERPRINT_DIGITS = 32;
+
+    // two longs per slot; a slot whose first long is zero is empty
+    private final long[] table;
+    private final int mask;
+    private final int size;
+
+    private WeakKeyBlocklist(long[] table, int size) {
+        this.table = table;
+        this.mask = table.length / 2 - 1;
+        this.size = size;
+    }
+
+    /**
+     * Reads a blocklist file of hex encoded SHA-256 fingerprints, one per line. Colons between the
+     * bytes, blank lines and lines starting with {@code #} are ignored.
+     *
+     * @param in the blocklist file
+     * @return the blocklist
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is not a fingerprint
+     */
+    static WeakKeyBlocklist read(InputStream in) throws IOException {
+        long[] entries = new long[256];
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String hex = line.strip().replace(":", "");
+                if (hex.isEmpty() || hex.startsWith("#")) {
+                    continue;
+                }
+                if (hex.length() < FINGERPRINT_DIGITS) {
+                    throw new IllegalArgumentException("Invalid fingerprint in line " + lineNumber + " of the blocklist");
+                }
+                if (count * 2 == entries.length) {
+                    entries = Arrays.copyOf(entries, entries.length * 2);
+                }
+                try {
+                    entries[count * 2] = HexFormat.fromHexDigitsToLong(hex, 0, 16);
+                    entries[count * 2 + 1] = HexFormat.fromHexDigitsToLong(hex, 16, 32);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid fingerprint in line " + lineNumber + " of the blocklist", e);
+                }
+                count++;
+            }
+        }
+        return of(entries, count);
+    }
+
+    /**
+     * Builds a blocklist from fingerprints given as pairs of longs.
+     *
+     * @param entries the first two longs of each fingerprint, in big-endian order
+     * @param count the number of fingerprints
+     * @return the blocklist
+     */
+    static WeakKeyBlocklist of(long[] entries, int count) {
+        // keep the load factor at or below one half so that probe sequences stay short
+        int slots = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) * 2;
+        WeakKeyBlocklist blocklist = new WeakKeyBlocklist(new long[slots * 2], 0);
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (blocklist.insert(nonZero(entries[i * 2]), entries[i * 2 + 1])) {
+                size++;
+            }
+        }
+        return new WeakKeyBlocklist(blocklist.table, size);
+    }
+
+    /**
+     * Checks whether a fingerprint is on the blocklist.
+     *
+     * @param fingerprint the SHA-256 fingerprint, at least 16 bytes
+     * @return {@code true} if the fingerprint is blocked
+     */
+    boolean contains(byte[] fingerprint) {
+        if (size == 0) {
+            return false;
+        }
+        long high = nonZero(readLong(fingerprint, 0));
+        long low = readLong(fingerprint, 8);
+        for (int slot = (int) high & mask; table[slot * 2] != 0; slot = (slot + 1) & mask) {
+            if (table[slot * 2] == high && table[slot * 2 + 1] == low) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of distinct fingerprints on the blocklist.
+     *
+     * @return the size of the blocklist
+     */
+    int size() {
+        return size;
+    }
+
+    private boolean insert(long high, long low) {
+        int slot = (int) high & mask;
+        while (table[slot * 2] != 0) {
+            if (table[slot * 2] == high && table[slot * 2 + 1] == low) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot * 2] = high;
+        table[slot * 2 + 1] = low;
+        return true;
+    }
+
+    /**
+     * Maps the one fingerprint prefix that collides with the empty marker onto another value.
+     */
+    private static long nonZero(long high) {
+        return high != 0 ? high : 1;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+}
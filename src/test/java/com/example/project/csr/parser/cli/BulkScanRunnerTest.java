@@ -0,0 +1,57 @@
+package com.example.project.csr.parser.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+
+class BulkScanRunnerTest {
+
+    @AfterEach
+    void clearSystemProperty() {
+        System.clearProperty(BulkScanRunner.INPUT_PROPERTY);
+    }
+
+    @Test
+    void shouldRecognizeTheScanInputInEveryCommandLineForm() {
+        // Given
+        String[] joined = {"--csr.parser.scan.input=/data/csrs.tar.gz"};
+        String[] separate = {"--csr.parser.scan.input", "/data/csrs.tar.gz", "--csr.parser.scan.format", "csv"};
+
+        // When
+        String[] normalized = BulkScanRunner.normalizeArgs(separate);
+
+        // Then
+        assertArrayEquals(new String[] {"--csr.parser.scan.input=/data/csrs.tar.gz", "--csr.parser.scan.format=csv"}, normalized);
+        assertTrue(BulkScanRunner.isBulkScan(BulkScanRunner.normalizeArgs(joined)));
+        assertTrue(BulkScanRunner.isBulkScan(normalized));
+    }
+
+    @Test
+    void shouldRecognizeTheScanInputAsSystemProperty() {
+        // Given
+        System.setProperty(BulkScanRunner.INPUT_PROPERTY, "/data/csrs.tar.gz");
+
+        // When
+        boolean bulkScan = BulkScanRunner.isBulkScan();
+
+        // Then
+        assertTrue(bulkScan);
+    }
+
+    @Test
+    void shouldStartTheWebServerWithoutScanInput() {
+        // Given
+        String[] args = BulkScanRunner.normalizeArgs("--csr.parser.reactive.enabled", "true", "--debug");
+
+        // When
+        boolean bulkScan = BulkScanRunner.isBulkScan(args);
+
+        // Then
+        assertArrayEquals(new String[] {"--csr.parser.reactive.enabled", "true", "--debug"}, args);
+        assertFalse(bulkScan);
+    }
+}
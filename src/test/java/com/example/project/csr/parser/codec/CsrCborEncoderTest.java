@@ -0,0 +1,121 @@
+package com.example.project.csr.parser.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.project.csr.parser.container.CborReader;
+import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.CsrExtensions;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.PolicyRule;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PssParameters;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.example.project.csr.parser.model.ReuseHits;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+
+
+class CsrCborEncoderTest {
+
+    @Test
+    void shouldEncodeIntegersAndTextInTheirShortestForm() throws IOException {
+        // Given
+        long[] integers = {0, 23, 24, 255, 256, 65_535, 65_536, 4_294_967_295L, 4_294_967_296L, -1, -24, -25};
+        String[] expectedIntegers = {"00", "17", "1818", "18ff", "190100", "19ffff", "1a00010000", "1affffffff",
+                "1b0000000100000000", "20", "37", "3818"};
+        String[] texts = {"", "CN", "Straße", "€", "🔒 lock", "broken \ud800 pair", "x".repeat(100)};
+
+        for (int i = 0; i < integers.length; i++) {
+            // When
+            long value = integers[i];
+            byte[] encoded = encode(writer -> writer.writeInt(value), 16);
+
+            // Then
+            assertEquals(expectedIntegers[i], HexFormat.of().formatHex(encoded), "integer " + integers[i]);
+        }
+        for (String text : texts) {
+            // When
+            byte[] encoded = encode(writer -> writer.writeText(text), 16);
+
+            // Then
+            assertEquals(text.replace("\ud800", "?"), CborReader.decode(encoded));
+            assertArrayEquals(encoded, CborWriter.encodeText(text));
+        }
+    }
+
+    @Test
+    void shouldEncodeEveryFieldUnderItsKey() throws IOException {
+        // Given
+        PublicKeyInfo publicKey = PublicKeyInfo.builder()
+                .algorithm(KeyAlgorithm.RSASSA_PSS)
+                .oid(KeyAlgorithm.RSASSA_PSS.getOid())
+                .keySize(3072)
+                .pss(new PssParameters("SHA-256", "SHA-256", 32))
+                .fingerprint("ab".repeat(32))
+                .blocklisted(false)
+                .build();
+        Csr csr = Csr.builder()
+                .subject(List.of("Country Name (C)= DE", "Common Name (CN)= www.domain.de"))
+                .commonName("www.domain.de")
+                .publicKeyAlgorithm("SHA-256 with RSA")
+                .subjectAltName(List.of())
+                .signatureValid(true)
+                .extensions(new CsrExtensions(List.of("DNS:www.domain.de"), List.of("digitalSignature"), null, false, null))
+                .attributes(List.of(new CsrAttribute(SubjectAttribute.COUNTRY, "2.5.4.6", "DE"),
+                        new CsrAttribute(null, "1.2.3.4", "München")))
+                .signatureAlgorithm(SignatureAlgorithm.SHA256_WITH_RSA)
+                .signatureAlgorithmOid(SignatureAlgorithm.SHA256_WITH_RSA.getOid())
+                .publicKey(publicKey)
+                .reuse(new ReuseHits(2, null))
+                .violations(List.of(new PolicyViolation(PolicyRule.KEY_SIZE, "too small")))
+                .build();
+
+        // When
+        Object decoded = CborReader.decode(encode(writer -> CsrCborEncoder.write(writer, CsrBatchItem.success(7, "a.pem", csr)), 64));
+
+        // Then
+        Map<?, ?> item = (Map<?, ?>) decoded;
+        assertEquals(Map.of(1L, 7L, 2L, "a.pem"), Map.of(1L, item.get(1L), 2L, item.get(2L)));
+        assertFalse(item.containsKey(4L));
+        Map<?, ?> fields = (Map<?, ?>) item.get(3L);
+        assertEquals(12, fields.size());
+        assertEquals(csr.getSubject(), fields.get(1L));
+        assertEquals("www.domain.de", fields.get(2L));
+        assertEquals("SHA-256 with RSA", fields.get(3L));
+        assertEquals(List.of(), fields.get(4L));
+        assertEquals(true, fields.get(5L));
+        assertEquals(Map.of(1L, List.of("DNS:www.domain.de"), 2L, List.of("digitalSignature"), 4L, false), fields.get(6L));
+        assertEquals(List.of(Map.of(1L, "COUNTRY", 2L, "2.5.4.6", 3L, "DE"), Map.of(2L, "1.2.3.4", 3L, "München")),
+                fields.get(7L));
+        assertEquals("SHA256_WITH_RSA", fields.get(8L));
+        assertEquals("1.2.840.113549.1.1.11", fields.get(9L));
+        assertEquals(Map.of(1L, "RSASSA_PSS", 2L, KeyAlgorithm.RSASSA_PSS.getOid(), 3L, 3072L,
+                5L, Map.of(1L, "SHA-256", 2L, "SHA-256", 3L, 32L), 6L, "ab".repeat(32), 7L, false), fields.get(10L));
+        assertEquals(Map.of(1L, 2L, 3L, true), fields.get(11L));
+        assertEquals(List.of(Map.of(1L, "KEY_SIZE", 2L, "too small")), fields.get(12L));
+    }
+
+    private static byte[] encode(Encoding encoding, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CborWriter writer = new CborWriter(out, bufferSize);
+        encoding.write(writer);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    private interface Encoding {
+        void write(CborWriter writer) throws IOException;
+    }
+}
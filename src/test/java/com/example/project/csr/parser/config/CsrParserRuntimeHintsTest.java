@@ -0,0 +1,43 @@
+package com.example.project.csr.parser.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.example.project.csr.parser.logging.JsonLogEncoder;
+import com.example.project.csr.parser.service.ParserWarmup;
+
+
+class CsrParserRuntimeHintsTest {
+
+    @Test
+    void shouldRegisterTheReflectivelyLoadedProviderClasses() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new CsrParserRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.resource().forResource(ParserWarmup.SAMPLE).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(JsonLogEncoder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        for (String type : new String[] {
+                "org.bouncycastle.jcajce.provider.asymmetric.RSA$Mappings",
+                "org.bouncycastle.jcajce.provider.asymmetric.rsa.DigestSignatureSpi$SHA256",
+                "org.bouncycastle.jcajce.provider.asymmetric.rsa.KeyFactorySpi",
+                "org.bouncycastle.jcajce.provider.asymmetric.ec.SignatureSpi$ecDSA256",
+                "org.bouncycastle.jcajce.provider.asymmetric.edec.SignatureSpi$Ed25519",
+                "org.bouncycastle.jcajce.provider.digest.SHA256$Digest"}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints), type);
+        }
+        assertFalse(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("org.bouncycastle.jcajce.provider.digest.MD5$Digest")).test(hints));
+    }
+}
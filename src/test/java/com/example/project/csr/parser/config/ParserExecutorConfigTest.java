@@ -0,0 +1,63 @@
+package com.example.project.csr.parser.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import com.example.project.csr.parser.controller.CorrelationIdFilter;
+
+
+class ParserExecutorConfigTest {
+
+    private final ParserExecutorConfig config = new ParserExecutorConfig();
+    private final TaskDecorator mdcTaskDecorator = new LoggingConfig().mdcTaskDecorator();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void shouldCarryTheCorrelationIdIntoParseTasks() throws Exception {
+        // Given
+        BatchProperties properties = new BatchProperties();
+        properties.setThreads(1);
+        ExecutorService platform = config.csrParserExecutor(properties, mdcTaskDecorator);
+        ExecutorService virtual = config.virtualCsrParserExecutor(properties, mdcTaskDecorator);
+        MDC.put(CorrelationIdFilter.MDC_KEY, "request-1");
+
+        try {
+            // When
+            String onPlatformThread = platform.submit(() -> MDC.get(CorrelationIdFilter.MDC_KEY)).get(5, TimeUnit.SECONDS);
+            String onVirtualThread = virtual.submit(() -> MDC.get(CorrelationIdFilter.MDC_KEY)).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals("request-1", onPlatformThread);
+            assertEquals("request-1", onVirtualThread);
+        } finally {
+            platform.shutdown();
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    void shouldKeepTheMdcOfTheCallerWhenItRunsTheTaskItself() {
+        // Given
+        Runnable task = mdcTaskDecorator.decorate(() -> MDC.put("stage", "parse"));
+        MDC.put(CorrelationIdFilter.MDC_KEY, "request-1");
+
+        // When
+        task.run();
+
+        // Then
+        assertEquals("request-1", MDC.get(CorrelationIdFilter.MDC_KEY));
+        assertNull(MDC.get("stage"));
+    }
+}
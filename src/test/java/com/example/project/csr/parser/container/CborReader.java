@@ -0,0 +1,81 @@
+package com.example.project.csr.parser.container;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the CBOR data items written for parse results into maps, lists, longs, booleans and strings.
+ */
+public final class CborReader {
+
+    private final ByteBuffer in;
+
+    public CborReader(byte[] encoded) {
+        this.in = ByteBuffer.wrap(encoded);
+    }
+
+    public boolean hasNext() {
+        return in.hasRemaining();
+    }
+
+    public Object next() {
+        int initial = in.get() & 0xff;
+        int major = initial >>> 5;
+        int info = initial & 0x1f;
+        if (major == 7) {
+            if (info == 20 || info == 21) {
+                return info == 21;
+            }
+            throw new IllegalStateException("Unexpected simple value " + info);
+        }
+        long argument = switch (info) {
+            case 24 -> in.get() & 0xff;
+            case 25 -> in.getShort() & 0xffff;
+            case 26 -> in.getInt() & 0xffff_ffffL;
+            case 27 -> in.getLong();
+            default -> {
+                if (info > 27) {
+                    throw new IllegalStateException("Unexpected additional information " + info);
+                }
+                yield info;
+            }
+        };
+        switch (major) {
+            case 0:
+                return argument;
+            case 1:
+                return -1 - argument;
+            case 3:
+                byte[] text = new byte[(int) argument];
+                in.get(text);
+                return new String(text, StandardCharsets.UTF_8);
+            case 4:
+                List<Object> items = new ArrayList<>();
+                for (long i = 0; i < argument; i++) {
+                    items.add(next());
+                }
+                return items;
+            case 5:
+                Map<Object, Object> entries = new LinkedHashMap<>();
+                for (long i = 0; i < argument; i++) {
+                    entries.put(next(), next());
+                }
+                return entries;
+            default:
+                throw new IllegalStateException("Unexpected major type " + major);
+        }
+    }
+
+    public static Object decode(byte[] encoded) {
+        CborReader reader = new CborReader(encoded);
+        Object item = reader.next();
+        if (reader.hasNext()) {
+            throw new IllegalStateException("Trailing bytes after the data item");
+        }
+        return item;
+    }
+}
@@ -22,4 +22,10 @@ public class Container {
                     "l77r5f0rIhLwTuBHNbmbKQgOcz2J0I+pUvm+g2fBaQoyy3n044YokLVqYVUuwkHC\n" +
                     "Rek=\n" +
                     "-----END CERTIFICATE REQUEST-----";
+
+    // PEM block with valid base64 whose content is not a PKCS#10 structure
+    public static final String INVALID_PEM_CSR =
+            "-----BEGIN CERTIFICATE REQUEST-----\n" +
+                    "AAAA\n" +
+                    "-----END CERTIFICATE REQUEST-----";
 }
@@ -0,0 +1,83 @@
+package com.example.project.csr.parser.container;
+
+import com.example.project.csr.parser.config.PolicyProperties;
+import com.example.project.csr.parser.config.PublicKeyProperties;
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.config.ReuseIndexProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.config.VerificationProperties;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.service.CsrPolicyEngine;
+import com.example.project.csr.parser.service.CsrResultCache;
+import com.example.project.csr.parser.service.CsrReuseIndex;
+import com.example.project.csr.parser.service.CsrSignatureVerifier;
+import com.example.project.csr.parser.service.ParsCsrService;
+import com.example.project.csr.parser.service.PublicKeyAnalyzer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Wires a {@link ParsCsrService} by hand for tests and benchmarks. Every collaborator that is not
+ * replaced is created with its default configuration.
+ */
+public final class ParsCsrServiceFixture {
+
+    private CsrResultCache resultCache;
+    private PublicKeyAnalyzer publicKeyAnalyzer;
+    private CsrReuseIndex reuseIndex;
+    private CsrPolicyEngine policyEngine;
+    private CsrParserMetrics metrics;
+    private StreamProperties streamProperties;
+
+    private ParsCsrServiceFixture() {
+    }
+
+    public static ParsCsrServiceFixture parsCsrService() {
+        return new ParsCsrServiceFixture();
+    }
+
+    public ParsCsrServiceFixture resultCache(CsrResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
+    public ParsCsrServiceFixture resultCache(ResultCacheProperties properties) {
+        return resultCache(new CsrResultCache(properties));
+    }
+
+    public ParsCsrServiceFixture publicKeyAnalyzer(PublicKeyAnalyzer publicKeyAnalyzer) {
+        this.publicKeyAnalyzer = publicKeyAnalyzer;
+        return this;
+    }
+
+    public ParsCsrServiceFixture reuseIndex(CsrReuseIndex reuseIndex) {
+        this.reuseIndex = reuseIndex;
+        return this;
+    }
+
+    public ParsCsrServiceFixture policyEngine(CsrPolicyEngine policyEngine) {
+        this.policyEngine = policyEngine;
+        return this;
+    }
+
+    public ParsCsrServiceFixture metrics(CsrParserMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public ParsCsrServiceFixture streamProperties(StreamProperties streamProperties) {
+        this.streamProperties = streamProperties;
+        return this;
+    }
+
+    public ParsCsrService build() {
+        return new ParsCsrService(
+                resultCache != null ? resultCache : new CsrResultCache(new ResultCacheProperties()),
+                new CsrSignatureVerifier(new VerificationProperties()),
+                publicKeyAnalyzer != null ? publicKeyAnalyzer : new PublicKeyAnalyzer(new PublicKeyProperties()),
+                reuseIndex != null ? reuseIndex : new CsrReuseIndex(new ReuseIndexProperties()),
+                policyEngine != null ? policyEngine : new CsrPolicyEngine(new PolicyProperties()),
+                metrics != null ? metrics : new CsrParserMetrics(new SimpleMeterRegistry()),
+                streamProperties != null ? streamProperties : new StreamProperties());
+    }
+}
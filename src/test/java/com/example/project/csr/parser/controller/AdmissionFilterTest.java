@@ -0,0 +1,178 @@
+package com.example.project.csr.parser.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+import com.example.project.csr.parser.config.AdmissionProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.service.AdaptiveConcurrencyLimiter;
+
+
+class AdmissionFilterTest {
+
+    private AdmissionProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+    private AtomicReference<Exception> resolved;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        resolved = new AtomicReference<>();
+        filter = new AdmissionFilter(properties, new StreamProperties(), limiter,
+                new CsrParserMetrics(new SimpleMeterRegistry()), (request, response, handler, exception) -> {
+                    resolved.set(exception);
+                    response.setStatus(((InvalidCsrFileExceptions) exception).getResponseStatus().value());
+                    return new ModelAndView();
+                });
+    }
+
+    @Test
+    void shouldRejectWhenConcurrencyLimitIsReached() throws Exception {
+        // Given
+        limiter.tryAcquire();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform(request(100), chain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ((InvalidCsrFileExceptions) resolved.get()).getResponseStatus());
+    }
+
+    @Test
+    void shouldRejectWhenInFlightBytesExceedTheBudget() throws Exception {
+        // Given
+        properties.setMaxInFlightBytes(50);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform(request(100), chain);
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertNull(chain.getRequest());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldReplaySniffedBytesToAdmittedRequests() throws Exception {
+        // Given
+        MockHttpServletRequest request = request(100);
+        request.setContentType("application/x-pem-file");
+        request.setContent("-----BEGIN CERTIFICATE REQUEST-----\n".getBytes());
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform(request, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals("-----BEGIN CERTIFICATE REQUEST-----\n", new String(chain.getRequest().getInputStream().readAllBytes()));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldLimitTheBatchEndpoint() throws Exception {
+        // Given
+        MockHttpServletRequest request = request(100);
+        request.setRequestURI("/api/parse-csr/batch");
+        limiter.tryAcquire();
+
+        // When
+        MockHttpServletResponse limited = perform(request, new MockFilterChain());
+        limiter.release(0, false);
+        properties.setMaxInFlightBytes(50);
+        MockHttpServletResponse overloaded = perform(request, new MockFilterChain());
+
+        // Then
+        assertEquals(429, limited.getStatus());
+        assertEquals(503, overloaded.getStatus());
+    }
+
+    @Test
+    void shouldRejectChunkedBodiesExceedingTheMaximumSize() throws Exception {
+        // Given
+        properties.setMaxRequestSize(64);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/parse-csr") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType("application/x-pem-file");
+        request.setContent("-----BEGIN CERTIFICATE REQUEST-----\n".repeat(4).getBytes());
+        // the endpoint turns the failed read into an error of its own
+        FilterChain chain = (admitted, response) -> {
+            try {
+                admitted.getInputStream().readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to process CSR body", e);
+            }
+        };
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertEquals(413, response.getStatus());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ((InvalidCsrFileExceptions) resolved.get()).getResponseStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldHoldTheAdmissionOfAStreamUntilItsResponseIsComplete() throws Exception {
+        // Given
+        properties.setMaxRequestSize(8);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/parse-csr/stream");
+        request.setContentType("application/x-pem-file");
+        request.setContent("-----BEGIN CERTIFICATE REQUEST-----\n".getBytes());
+        request.setAsyncSupported(true);
+        FilterChain chain = (admitted, response) -> admitted.startAsync();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        int inFlight = limiter.getInFlight();
+        request.getAsyncContext().complete();
+
+        // Then
+        assertEquals(1, inFlight);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(int length) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/parse-csr");
+        request.setContent(new byte[length]);
+        request.setContentType("multipart/form-data; boundary=x");
+        return request;
+    }
+}
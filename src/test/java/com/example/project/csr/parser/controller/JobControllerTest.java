@@ -0,0 +1,95 @@
+package com.example.project.csr.parser.controller;
+
+import static com.example.project.csr.parser.container.Container.INVALID_PEM_CSR;
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Tests for the asynchronous job endpoints.
+ */
+@SpringBootTest(properties = "csr.parser.jobs.page-size=2")
+@AutoConfigureMockMvc
+class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void submitJob_PemBundle_ReturnsPagedResults() throws Exception {
+        String body = mockMvc.perform(post("/api/jobs")
+                        .header(JobController.TENANT_HEADER, "acme")
+                        .contentType("application/x-pem-file")
+                        .content(SAMPLE_CSR + "\n" + INVALID_PEM_CSR + "\n" + SAMPLE_CSR))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/jobs/")))
+                .andExpect(jsonPath("$.tenant", is("acme")))
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(body, "$.id");
+
+        awaitCompleted(id);
+
+        mockMvc.perform(get("/api/jobs/" + id).header(JobController.TENANT_HEADER, "acme").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.job.itemsProcessed", is(3)))
+                .andExpect(jsonPath("$.job.itemsFailed", is(1)))
+                .andExpect(jsonPath("$.job.pages", is(2)))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].index", is(2)))
+                .andExpect(jsonPath("$.items[0].csr.publicKeyAlgorithm", is("SHA-256 with RSA")));
+    }
+
+    @Test
+    void getJob_OtherTenant_ReturnsNotFound() throws Exception {
+        String body = mockMvc.perform(post("/api/jobs")
+                        .header(JobController.TENANT_HEADER, "acme")
+                        .contentType("application/x-pem-file")
+                        .content(SAMPLE_CSR))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(body, "$.id");
+
+        mockMvc.perform(get("/api/jobs/" + id).header(JobController.TENANT_HEADER, "other"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Unknown job: " + id)));
+        mockMvc.perform(delete("/api/jobs/" + id).header(JobController.TENANT_HEADER, "acme"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void submitJob_InvalidTenant_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/jobs")
+                        .header(JobController.TENANT_HEADER, "../etc")
+                        .contentType("application/x-pem-file")
+                        .content(SAMPLE_CSR))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void awaitCompleted(String id) throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            String body = mockMvc.perform(get("/api/jobs/" + id).header(JobController.TENANT_HEADER, "acme"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if ("COMPLETED".equals(JsonPath.read(body, "$.job.state"))) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + id + " did not complete");
+    }
+}
@@ -1,21 +1,41 @@
 package com.example.project.csr.parser.controller;
 
+import static com.example.project.csr.parser.container.Container.INVALID_PEM_CSR;
 import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.project.csr.parser.container.CborReader;
 
 
 /**
@@ -23,6 +43,7 @@ import org.springframework.test.web.servlet.MockMvc;
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 class ParserControllerTest {
 
     @Autowired
@@ -69,6 +90,105 @@ class ParserControllerTest {
                 .andExpect(jsonPath("$.subjectAltName[0]", is("Email Address=  info@domain.de")));
     }
 
+    @Test
+    void parseCsr_AnyRequest_CarriesCorrelationId() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CorrelationIdFilter.HEADER, matchesPattern("[0-9a-f]{16}")));
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .header(CorrelationIdFilter.HEADER, "client-42")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(header().string(CorrelationIdFilter.HEADER, "client-42"));
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .header(CorrelationIdFilter.HEADER, "bad id\nforged line")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(header().string(CorrelationIdFilter.HEADER, matchesPattern("[0-9a-f]{16}")));
+    }
+
+    @Test
+    void parseCsr_VerifyRequested_ReturnsSignatureValidity() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("verify", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.signatureValid", is(true)));
+    }
+
+    @Test
+    void parseCsr_ExtensionsRequested_ReturnsSelectedExtensions() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("extensions", "san,basicConstraints")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.extensions.subjectAltNames", hasSize(0)))
+                .andExpect(jsonPath("$.extensions.keyUsage").doesNotExist());
+    }
+
+    @Test
+    void parseCsr_UnknownExtension_ReturnsBadRequest() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("extensions", "unknown")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown extension: unknown")));
+    }
+
+    @Test
+    void parseCsr_FieldsRequested_ReturnsSelectedFields() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("fields", "cn,algorithm")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commonName", is("www.domain.de")))
+                .andExpect(jsonPath("$.publicKeyAlgorithm", is("SHA-256 with RSA")))
+                .andExpect(jsonPath("$.subject").doesNotExist())
+                .andExpect(jsonPath("$.subjectAltName").doesNotExist());
+    }
+
+    @Test
+    void parseCsr_TypedFieldsRequested_ReturnsTypedModel() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("fields", "attributes,signatureAlgorithm,publicKey")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attributes", hasSize(7)))
+                .andExpect(jsonPath("$.attributes[5].type", is("COMMON_NAME")))
+                .andExpect(jsonPath("$.attributes[5].oid", is("2.5.4.3")))
+                .andExpect(jsonPath("$.attributes[5].value", is("www.domain.de")))
+                .andExpect(jsonPath("$.signatureAlgorithm", is("SHA256_WITH_RSA")))
+                .andExpect(jsonPath("$.publicKey.algorithm", is("RSA")))
+                .andExpect(jsonPath("$.publicKey.keySize", is(2048)))
+                .andExpect(jsonPath("$.subject").doesNotExist());
+    }
+
+    @Test
+    void parseCsr_UnknownField_ReturnsBadRequest() throws Exception {
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("fields", "unknown")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown field: unknown")));
+    }
+
     @Test
     void parseCsr_EmptyFile_ThrowsIllegalArgumentException() throws Exception {
         mockMvc.perform(multipart("/api/parse-csr")
@@ -99,4 +219,226 @@ class ParserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    void parseCsr_DerBody_ReturnsSuccessResponse() throws Exception {
+        String base64 = SAMPLE_CSR.replaceAll("-----[A-Z ]+-----|\\s", "");
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType("application/pkcs10")
+                        .content(Base64.getDecoder().decode(base64)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject", hasSize(6)))
+                .andExpect(jsonPath("$.publicKeyAlgorithm", is("SHA-256 with RSA")));
+    }
+
+    @Test
+    void parseCsr_PemBody_ReturnsSuccessResponse() throws Exception {
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .param("verify", "true")
+                        .content(SAMPLE_CSR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject[5]", is("Common Name (CN)= www.domain.de")))
+                .andExpect(jsonPath("$.signatureValid", is(true)));
+    }
+
+    @Test
+    void parseCsr_Base64Body_ReturnsSuccessResponse() throws Exception {
+        String base64 = SAMPLE_CSR.replaceAll("-----[A-Z ]+-----", "");
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(base64))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject", hasSize(6)));
+    }
+
+    @Test
+    void parseCsr_EmptyOrMalformedBody_ReturnsBadRequest() throws Exception {
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType("application/pkcs10")
+                        .content(new byte[0]))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("The provided body is empty")));
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("not base64!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void parseCsr_OversizedOrBinaryBody_RejectedBeforeParsing() throws Exception {
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[2 * 1024 * 1024]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message", is("Request body exceeds the maximum size of 1048576 bytes")));
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType("application/pkcs10")
+                        .content(new byte[]{0x30, (byte) 0x83, 0x10, 0x00, 0x00, 0x30}))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message", is("CSR exceeds the maximum size of 65536 bytes")));
+
+        mockMvc.perform(post("/api/parse-csr")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(new byte[]{0x00, 0x01, 0x02, 0x03}))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Input is not a valid PKCS#10 CSR")));
+    }
+
+    @Test
+    void parseCsrBatch_MultipleFilesAndBundle_ReturnsItemPerCsr() throws Exception {
+        MockMultipartFile bundle = new MockMultipartFile(
+                "csr",
+                "bundle.pem",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                (SAMPLE_CSR + "\n" + SAMPLE_CSR).getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/parse-csr/batch")
+                        .file(validCsrFile)
+                        .file(bundle)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].source", is("test.csr")))
+                .andExpect(jsonPath("$[0].csr.publicKeyAlgorithm", is("SHA-256 with RSA")))
+                .andExpect(jsonPath("$[1].source", is("bundle.pem")))
+                .andExpect(jsonPath("$[2].index", is(2)))
+                .andExpect(jsonPath("$[2].csr.subject", hasSize(6)));
+    }
+
+    @Test
+    void parseCsrBatch_InvalidItem_DoesNotFailBatch() throws Exception {
+        MockMultipartFile bundle = new MockMultipartFile(
+                "csr",
+                "bundle.pem",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                (INVALID_PEM_CSR + "\n" + SAMPLE_CSR).getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/parse-csr/batch")
+                        .file(bundle)
+                        .file(emptyFile)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].error", is("Input is not a valid PKCS#10 CSR")))
+                .andExpect(jsonPath("$[1].csr.subject", hasSize(6)))
+                .andExpect(jsonPath("$[2].source", is("empty.csr")))
+                .andExpect(jsonPath("$[2].error", is("No PEM or DER encoded CSR found")));
+    }
+
+    @Test
+    void parseCsrStream_PemBody_StreamsNdjsonLines() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/parse-csr/stream")
+                        .contentType("application/x-pem-file")
+                        .content(SAMPLE_CSR + "\n" + INVALID_PEM_CSR + "\n" + SAMPLE_CSR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"publicKeyAlgorithm\":\"SHA-256 with RSA\""));
+        assertTrue(lines[1].contains("\"error\":\"Input is not a valid PKCS#10 CSR\""));
+        assertTrue(lines[2].startsWith("{\"index\":2"));
+    }
+
+    @Test
+    void parseCsr_CborAccepted_ReturnsCbor() throws Exception {
+
+        byte[] body = mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<?, ?> csr = (Map<?, ?>) CborReader.decode(body);
+        assertEquals("SHA-256 with RSA", csr.get(3L));
+        assertEquals(6, ((List<?>) csr.get(1L)).size());
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .accept(MediaType.ALL)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(emptyFile)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message", containsString("empty")));
+    }
+
+    @Test
+    void parseCsrBatch_CborAccepted_ReturnsCborArray() throws Exception {
+
+        byte[] body = mockMvc.perform(multipart("/api/parse-csr/batch")
+                        .file(validCsrFile)
+                        .file(emptyFile)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<?> items = (List<?>) CborReader.decode(body);
+        assertEquals(2, items.size());
+        assertEquals("test.csr", ((Map<?, ?>) items.get(0)).get(2L));
+        assertEquals("No PEM or DER encoded CSR found", ((Map<?, ?>) items.get(1)).get(4L));
+    }
+
+    @Test
+    void parseCsrStream_CborSequenceAccepted_StreamsCborItems() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/parse-csr/stream")
+                        .contentType("application/x-pem-file")
+                        .header("Accept", "application/x-ndjson;q=0.5, application/cbor-seq")
+                        .content(SAMPLE_CSR + "\n" + INVALID_PEM_CSR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor-seq"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CborReader reader = new CborReader(body);
+        Map<?, ?> first = (Map<?, ?>) reader.next();
+        Map<?, ?> second = (Map<?, ?>) reader.next();
+        assertFalse(reader.hasNext());
+        assertEquals("SHA-256 with RSA", ((Map<?, ?>) first.get(3L)).get(3L));
+        assertEquals(1L, second.get(1L));
+        assertEquals("Input is not a valid PKCS#10 CSR", second.get(4L));
+    }
+
+    @Test
+    void prometheusEndpoint_AfterParse_ExposesParserMetrics() throws Exception {
+        mockMvc.perform(multipart("/api/parse-csr")
+                        .file(validCsrFile)
+                        .param("verify", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("csr_parse_duration_seconds_bucket{stage=\"asn1\"")))
+                .andExpect(content().string(containsString("csr_parse_algorithm_total{algorithm=\"SHA-256 with RSA\"")))
+                .andExpect(content().string(containsString("csr_upload_size_bytes_count")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"csrResults\"")));
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.example.project.csr.parser.controller;
+
+import static com.example.project.csr.parser.container.Container.INVALID_PEM_CSR;
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import com.example.project.csr.parser.config.ReactiveServerConfig.ReactiveParserServer;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Tests of the reactive parse API, sent to its Netty server over HTTP.
+ */
+@SpringBootTest(properties = {"csr.parser.reactive.enabled=true", "csr.parser.reactive.port=0"})
+class ReactiveParserHandlerTest {
+
+    private static final byte[] SAMPLE_DER = Base64.getDecoder().decode(SAMPLE_CSR.replaceAll("-----[A-Z ]+-----|\\s", ""));
+
+    @Autowired
+    private ReactiveParserServer server;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.getPort()).build();
+    }
+
+    @Test
+    void parseCsr_DerBody_ReturnsSuccessResponse() {
+        client.post().uri("/api/parse-csr")
+                .contentType(MediaType.parseMediaType("application/pkcs10"))
+                .bodyValue(SAMPLE_DER)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.subject.length()").isEqualTo(6)
+                .jsonPath("$.publicKeyAlgorithm").isEqualTo("SHA-256 with RSA");
+    }
+
+    @Test
+    void parseCsr_PemBodyWithOptions_ReturnsSelectedFields() {
+        client.post().uri("/api/parse-csr?verify=true&fields=cn,algorithm")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(SAMPLE_CSR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.commonName").isEqualTo("www.domain.de")
+                .jsonPath("$.signatureValid").isEqualTo(true)
+                .jsonPath("$.subject").doesNotExist();
+    }
+
+    @Test
+    void parseCsr_InvalidRequests_ReturnErrorResponse() {
+        client.post().uri("/api/parse-csr")
+                .contentType(MediaType.parseMediaType("application/pkcs10"))
+                .bodyValue(new byte[0])
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("The provided body is empty");
+
+        client.post().uri("/api/parse-csr?fields=unknown")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(SAMPLE_CSR)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown field: unknown");
+
+        client.post().uri("/api/parse-csr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isEqualTo(415);
+    }
+
+    @Test
+    void parseCsrStream_ChunkedMixedBody_StreamsNdjsonLines() throws Exception {
+        // Given
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write((SAMPLE_CSR + "\n" + INVALID_PEM_CSR + "\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(SAMPLE_DER);
+        body.write(SAMPLE_CSR.getBytes(StandardCharsets.US_ASCII));
+        List<DataBuffer> chunks = new ArrayList<>();
+        byte[] bytes = body.toByteArray();
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, offset, Math.min(offset + 7, bytes.length))));
+        }
+
+        // When
+        String response = client.post().uri("/api/parse-csr/stream")
+                .contentType(MediaType.parseMediaType("application/x-pem-file"))
+                .body(BodyInserters.fromDataBuffers(Flux.fromIterable(chunks)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        String[] lines = response.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].contains("\"publicKeyAlgorithm\":\"SHA-256 with RSA\""));
+        assertTrue(lines[1].contains("\"error\":\"Input is not a valid PKCS#10 CSR\""));
+        assertTrue(lines[2].startsWith("{\"index\":2") && lines[2].contains("\"publicKeyAlgorithm\":\"SHA-256 with RSA\""));
+        assertTrue(lines[3].startsWith("{\"index\":3") && lines[3].contains("Common Name (CN)= www.domain.de"));
+    }
+
+    @Test
+    void parseCsrStream_TruncatedDer_ReportsFailedItem() {
+        // Given
+        byte[] truncated = Arrays.copyOf(SAMPLE_DER, SAMPLE_DER.length - 10);
+
+        // When
+        String response = client.post().uri("/api/parse-csr/stream")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(truncated)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertEquals(1, response.split("\n").length);
+        assertTrue(response.contains("\"error\":\"Malformed DER data: unexpected end of stream\""));
+    }
+}
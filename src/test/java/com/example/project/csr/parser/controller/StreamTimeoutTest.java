@@ -0,0 +1,97 @@
+package com.example.project.csr.parser.controller;
+
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+
+/**
+ * Streams a body that takes longer to arrive than the asynchronous request timeout of Spring MVC,
+ * which stands in for the 30 second default of the servlet container.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.mvc.async.request-timeout=200ms")
+class StreamTimeoutTest {
+
+    private static final int CSRS = 8;
+    private static final long DELAY_MILLIS = 400;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldStreamLongerThanTheDefaultAsyncTimeout() throws Exception {
+        // Given
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/parse-csr/stream"))
+                .header("Content-Type", "application/x-pem-file")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SlowInputStream(SAMPLE_CSR + "\n", CSRS, DELAY_MILLIS)))
+                .build();
+
+        // When
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(CSRS, lines.size());
+        assertEquals(CSRS, lines.stream().filter(line -> line.contains("\"csr\"")).count());
+    }
+
+    /**
+     * Repeats a chunk, pausing before each repetition.
+     */
+    private static final class SlowInputStream extends InputStream {
+
+        private final byte[] chunk;
+        private final long delayMillis;
+        private int remaining;
+        private int position;
+
+        SlowInputStream(String chunk, int repetitions, long delayMillis) {
+            this.chunk = chunk.getBytes(StandardCharsets.US_ASCII);
+            this.remaining = repetitions;
+            this.delayMillis = delayMillis;
+            this.position = this.chunk.length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position == chunk.length) {
+                if (remaining == 0) {
+                    return -1;
+                }
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                remaining--;
+                position = 0;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+}
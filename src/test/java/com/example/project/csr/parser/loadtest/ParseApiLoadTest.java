@@ -0,0 +1,234 @@
+package com.example.project.csr.parser.loadtest;
+
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.project.csr.parser.CsrParserApplication;
+import com.example.project.csr.parser.config.ReactiveServerConfig.ReactiveParserServer;
+
+import jakarta.servlet.Filter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load test comparing platform and virtual request threads under slow multipart uploads to
+ * {@code /api/parse-csr}. Clients arrive at a fixed rate and trickle their upload over a fixed
+ * time, so every request holds its servlet thread while its body is still in transit. A second
+ * run compares the servlet API with the reactive API at a few thousand slow connections.
+ *
+ * <p>Excluded from the default build; run with {@code mvn -Pload-test test}.</p>
+ */
+@Tag("load")
+@Slf4j
+class ParseApiLoadTest {
+
+    private static final int TOMCAT_MAX_THREADS = 16;
+    private static final int CLIENTS = 256;
+    private static final long ARRIVAL_INTERVAL_MILLIS = 5;
+    private static final int UPLOAD_CHUNKS = 10;
+    private static final long CHUNK_DELAY_MILLIS = 50;
+    private static final String BOUNDARY = "csr-load-test-boundary";
+    private static final int SLOW_CONNECTIONS = 2000;
+    private static final long CONNECTION_INTERVAL_MILLIS = 1;
+    // the kernel buffers the bodies of queued uploads, so the latency gap depends on the host; virtual
+    // threads must not be markedly slower, whatever the host
+    private static final double P99_TOLERANCE = 1.5;
+
+    @Test
+    void virtualThreadsServeSlowUploadsConcurrently() throws Exception {
+        // Given
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        // When
+        platform.report("platform");
+        virtual.report("virtual");
+
+        // Then
+        assertTrue(platform.maxInFlight() <= TOMCAT_MAX_THREADS);
+        assertTrue(virtual.maxInFlight() > TOMCAT_MAX_THREADS);
+        assertTrue(virtual.percentile(99) <= P99_TOLERANCE * platform.percentile(99),
+                "virtual p99 " + virtual.percentile(99) + "ms, platform p99 " + platform.percentile(99) + "ms");
+    }
+
+    @Test
+    void reactiveApiHoldsSlowConnectionsWithoutThreads() throws Exception {
+        // Given
+        ConnectionResult servlet = runConnections(false);
+        ConnectionResult reactive = runConnections(true);
+
+        // When
+        servlet.report("servlet");
+        reactive.report("reactive");
+
+        // Then
+        // every slow upload holds a Tomcat thread until the pool is exhausted, while the event loop
+        // and the parallel scheduler of the reactive API are sized by the number of cores
+        assertTrue(reactive.peakThreads() < servlet.peakThreads());
+    }
+
+    private static LoadResult run(boolean virtualThreads) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Filter inFlightCounter = (request, response, chain) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CsrParserApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("inFlightCounter", inFlightCounter))
+                .run("--server.port=0",
+                        // measures the threading models rather than the admission control in front of them
+                        "--csr.parser.admission.enabled=false",
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--csr.parser.cache.enabled=false",
+                        "--logging.level.com.example.project=WARN",
+                        "--logging.level.com.example.project.csr.parser.loadtest=INFO")) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            byte[] body = multipartBody(SAMPLE_CSR.getBytes(StandardCharsets.US_ASCII));
+            String contentType = "multipart/form-data; boundary=" + BOUNDARY;
+            long[] latencies = uploadAll(port, contentType, body, CLIENTS, ARRIVAL_INTERVAL_MILLIS);
+            return new LoadResult(latencies, maxInFlight.get());
+        }
+    }
+
+    /**
+     * Sends the same slow PEM upload to the servlet or the reactive API from many connections and
+     * records the highest number of live JVM threads while they are open.
+     */
+    private static ConnectionResult runConnections(boolean reactive) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CsrParserApplication.class)
+                .run("--server.port=0",
+                        "--csr.parser.admission.enabled=false",
+                        "--csr.parser.reactive.enabled=" + reactive,
+                        "--csr.parser.reactive.port=0",
+                        "--csr.parser.cache.enabled=false",
+                        "--logging.level.com.example.project=WARN",
+                        "--logging.level.com.example.project.csr.parser.loadtest=INFO")) {
+            int port = reactive
+                    ? context.getBean(ReactiveParserServer.class).getPort()
+                    : Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            byte[] body = SAMPLE_CSR.getBytes(StandardCharsets.US_ASCII);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            // client threads are virtual and not counted, so the peak is that of the server
+            long[] latencies = uploadAll(port, "application/x-pem-file", body, SLOW_CONNECTIONS, CONNECTION_INTERVAL_MILLIS);
+            return new ConnectionResult(new LoadResult(latencies, 0), threads.getPeakThreadCount());
+        }
+    }
+
+    /**
+     * Starts one slow upload per client at a fixed arrival rate and waits for all of them.
+     *
+     * @return the latency of every request in milliseconds
+     */
+    private static long[] uploadAll(int port, String contentType, byte[] body, int clientCount, long arrivalIntervalMillis)
+            throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> requests = new ArrayList<>(clientCount);
+            for (int i = 0; i < clientCount; i++) {
+                requests.add(clients.submit(() -> upload(port, contentType, body)));
+                Thread.sleep(arrivalIntervalMillis);
+            }
+            long[] latencies = new long[clientCount];
+            for (int i = 0; i < clientCount; i++) {
+                latencies[i] = requests.get(i).get();
+            }
+            return latencies;
+        }
+    }
+
+    /**
+     * Uploads the body in equal chunks with a pause before each, simulating a slow client.
+     *
+     * @return the latency of the request in milliseconds
+     */
+    private static long upload(int port, String contentType, byte[] body) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /api/parse-csr HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Content-Type: " + contentType + "\r\n"
+                    + "Content-Length: " + body.length + "\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            int chunkSize = (body.length + UPLOAD_CHUNKS - 1) / UPLOAD_CHUNKS;
+            for (int offset = 0; offset < body.length; offset += chunkSize) {
+                Thread.sleep(CHUNK_DELAY_MILLIS);
+                out.write(body, offset, Math.min(chunkSize, body.length - offset));
+                out.flush();
+            }
+            String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+            assertEquals("HTTP/1.1 200", response.substring(0, Math.min(12, response.length())), response);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static byte[] multipartBody(byte[] csr) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"csr\"; filename=\"load.csr\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(csr);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    /**
+     * Request latencies of one run in milliseconds and the highest number of requests the server
+     * handled at the same time.
+     */
+    private record LoadResult(long[] latencies, int maxInFlight) {
+
+        long percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)];
+        }
+
+        void report(String mode) {
+            log.info("{} requests={} maxInFlight={} p50={}ms p99={}ms max={}ms", mode,
+                    latencies.length, maxInFlight, percentile(50), percentile(99), percentile(100));
+        }
+    }
+
+    /**
+     * Latencies of a connection run and the peak number of live platform threads during it.
+     */
+    private record ConnectionResult(LoadResult latencies, int peakThreads) {
+
+        void report(String mode) {
+            log.info("{} requests={} peakThreads={} p50={}ms p99={}ms max={}ms", mode,
+                    latencies.latencies().length, peakThreads, latencies.percentile(50), latencies.percentile(99),
+                    latencies.percentile(100));
+        }
+    }
+}
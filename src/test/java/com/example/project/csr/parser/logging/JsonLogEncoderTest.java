@@ -0,0 +1,50 @@
+package com.example.project.csr.parser.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+
+class JsonLogEncoderTest {
+
+    @Test
+    void shouldEncodeEventsAsSingleJsonLines() throws Exception {
+        // Given
+        LoggerContext context = new LoggerContext();
+        Logger logger = context.getLogger("csr.test");
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "Failed to parse CSR file: {}", new IllegalStateException("broken \"quote\""),
+                new Object[] {"a.csr"});
+        event.setMDCPropertyMap(Map.of("correlationId", "abc-123"));
+
+        // When
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+        JsonNode json = new ObjectMapper().readTree(line);
+
+        // Then
+        assertTrue(line.endsWith("\n"));
+        assertFalse(line.substring(0, line.length() - 1).contains("\n"));
+        assertEquals("ERROR", json.get("level").asText());
+        assertEquals("csr.test", json.get("logger").asText());
+        assertEquals("Failed to parse CSR file: a.csr", json.get("message").asText());
+        assertEquals("abc-123", json.get("correlationId").asText());
+        assertTrue(json.get("stackTrace").asText().contains("IllegalStateException: broken \"quote\""));
+        assertTrue(json.hasNonNull("timestamp"));
+    }
+}
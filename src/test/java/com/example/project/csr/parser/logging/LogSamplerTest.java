@@ -0,0 +1,59 @@
+package com.example.project.csr.parser.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+
+class LogSamplerTest {
+
+    @Test
+    void shouldLogAtMostTheBudgetPerSecond() {
+        // Given
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(5));
+        LogSampler sampler = new LogSampler(1.0, 3, clock::get);
+
+        // When
+        long firstSecond = IntStream.range(0, 10).filter(i -> sampler.sample()).count();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        boolean sameSecond = sampler.sample();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        long nextSecond = IntStream.range(0, 10).filter(i -> sampler.sample()).count();
+
+        // Then
+        assertEquals(3, firstSecond);
+        assertFalse(sameSecond);
+        assertEquals(3, nextSecond);
+    }
+
+    @Test
+    void shouldLogEverySampledLineWithoutBudget() {
+        // Given
+        LogSampler sampler = new LogSampler(1.0, 0, () -> 0L);
+
+        // When
+        long logged = IntStream.range(0, 1000).filter(i -> sampler.sample()).count();
+
+        // Then
+        assertEquals(1000, logged);
+    }
+
+    @Test
+    void shouldLogNothingAtZeroSampleRate() {
+        // Given
+        LogSampler sampler = new LogSampler(0.0, 0, () -> 0L);
+
+        // When
+        boolean anyLogged = IntStream.range(0, 1000).anyMatch(i -> sampler.sample());
+
+        // Then
+        assertFalse(anyLogged);
+        assertTrue(new LogSampler(1.0, 0, () -> 0L).sample());
+    }
+}
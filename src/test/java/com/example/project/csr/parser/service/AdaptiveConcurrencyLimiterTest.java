@@ -0,0 +1,97 @@
+package com.example.project.csr.parser.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void shouldRejectRequestsBeyondTheLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        limiter.release(FAST, false);
+        boolean afterRelease = limiter.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldGrowWhileSaturatedAtStableLatency() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, FAST);
+        }
+
+        // Then
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 4, 100);
+        for (int i = 0; i < 200; i++) {
+            saturate(limiter, FAST);
+        }
+        int before = limiter.getLimit();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, SLOW);
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() < before / 2, "limit " + limiter.getLimit() + " of " + before);
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void shouldNotGrowWhileMostlyIdle() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        // Then
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Fills the current limit and releases all requests with the given latency.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long latency) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(latency, true);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.project.csr.parser.service;
+
+import static com.example.project.csr.parser.container.Container.INVALID_PEM_CSR;
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.util.io.pem.PemReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.project.csr.parser.config.BatchProperties;
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.model.CsrBatchItem;
+import com.example.project.csr.parser.model.ParseOptions;
+
+
+class BatchParsCsrServiceTest {
+
+    private ExecutorService executor;
+    private BatchProperties batchProperties;
+    private StreamProperties streamProperties;
+    private BatchParsCsrService batchParsCsrService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        batchProperties = new BatchProperties();
+        streamProperties = new StreamProperties();
+        CsrParserMetrics metrics = new CsrParserMetrics(new SimpleMeterRegistry());
+        ParsCsrService parsCsrService = ParsCsrServiceFixture.parsCsrService().metrics(metrics).streamProperties(streamProperties).build();
+        batchParsCsrService = new BatchParsCsrService(parsCsrService, executor, metrics, batchProperties, streamProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldParseEveryCsrOfABundleInOrder() throws IOException {
+        // Given
+        MockMultipartFile bundle = pemFile("bundle.pem", SAMPLE_CSR + "\n" + INVALID_PEM_CSR + "\n" + SAMPLE_CSR);
+
+        // When
+        List<CsrBatchItem> result = batchParsCsrService.parseBatch(List.of(bundle), ParseOptions.DEFAULT);
+
+        // Then
+        assertEquals(3, result.size());
+        assertNotNull(result.get(0).getCsr());
+        assertNull(result.get(1).getCsr());
+        assertEquals("Input is not a valid PKCS#10 CSR", result.get(1).getError());
+        assertEquals(2, result.get(2).getIndex());
+        assertEquals("SHA-256 with RSA", result.get(2).getCsr().getPublicKeyAlgorithm());
+    }
+
+    @Test
+    void shouldReportUnsupportedPemType() throws IOException {
+        // Given
+        MockMultipartFile file = pemFile("cert.pem", SAMPLE_CSR.replace("CERTIFICATE REQUEST", "CERTIFICATE"));
+
+        // When
+        List<CsrBatchItem> result = batchParsCsrService.parseBatch(List.of(file), ParseOptions.DEFAULT);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Unsupported PEM object type: CERTIFICATE", result.get(0).getError());
+    }
+
+    @Test
+    void shouldRejectBatchExceedingMaxItems() {
+        // Given
+        batchProperties.setMaxItems(1);
+        MockMultipartFile bundle = pemFile("bundle.pem", SAMPLE_CSR + "\n" + SAMPLE_CSR);
+
+        // When & Then
+        InvalidCsrFileExceptions exception = assertThrows(InvalidCsrFileExceptions.class, () ->
+                batchParsCsrService.parseBatch(List.of(bundle), ParseOptions.DEFAULT)
+        );
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getResponseStatus());
+    }
+
+    @Test
+    void shouldRejectBatchExceedingMaxItemsWithUnreadableFiles() {
+        // Given
+        batchProperties.setMaxItems(1);
+        MockMultipartFile bundle = pemFile("bundle.pem", SAMPLE_CSR);
+        MockMultipartFile unreadable = new MockMultipartFile("csr", "unreadable.pem", "application/x-pem-file", new byte[0]) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        // When & Then
+        InvalidCsrFileExceptions exception = assertThrows(InvalidCsrFileExceptions.class, () ->
+                batchParsCsrService.parseBatch(List.of(bundle, unreadable), ParseOptions.DEFAULT)
+        );
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getResponseStatus());
+    }
+
+    @Test
+    void shouldNotParseTheQueuedCsrsOfARejectedBatch() throws Exception {
+        // Given
+        batchProperties.setMaxItems(2);
+        ExecutorService blocked = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        blocked.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CsrResultCache cache = new CsrResultCache(new ResultCacheProperties());
+        CsrParserMetrics metrics = new CsrParserMetrics(new SimpleMeterRegistry());
+        BatchParsCsrService service = new BatchParsCsrService(
+                ParsCsrServiceFixture.parsCsrService().resultCache(cache).metrics(metrics).build(),
+                blocked, metrics, batchProperties, streamProperties);
+        MockMultipartFile bundle = pemFile("bundle.pem", SAMPLE_CSR + "\n" + SAMPLE_CSR + "\n" + SAMPLE_CSR);
+
+        try {
+            // When
+            assertThrows(InvalidCsrFileExceptions.class, () -> service.parseBatch(List.of(bundle), ParseOptions.DEFAULT));
+            release.countDown();
+            blocked.shutdown();
+
+            // Then
+            assertTrue(blocked.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, cache.getStatistics().getMissCount());
+        } finally {
+            blocked.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStreamPemObjectsInOrder() {
+        // Given
+        byte[] stream = ("preamble line\n" + SAMPLE_CSR + "\n" + INVALID_PEM_CSR + "\n" + SAMPLE_CSR + "\n").getBytes();
+        List<CsrBatchItem> items = new ArrayList<>();
+
+        // When
+        int count = batchParsCsrService.parseStream(new ByteArrayInputStream(stream), ParseOptions.DEFAULT, items::add);
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(3, items.size());
+        assertEquals(0, items.get(0).getIndex());
+        assertEquals("Common Name (CN)= www.domain.de", items.get(0).getCsr().getSubject().get(5));
+        assertEquals("Input is not a valid PKCS#10 CSR", items.get(1).getError());
+        assertNotNull(items.get(2).getCsr());
+    }
+
+    @Test
+    void shouldStreamConcatenatedDerObjects() throws IOException {
+        // Given
+        byte[] der = sampleDer();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < 50; i++) {
+            stream.write(der);
+        }
+        List<CsrBatchItem> items = new ArrayList<>();
+
+        // When
+        batchParsCsrService.parseStream(new ByteArrayInputStream(stream.toByteArray()), ParseOptions.DEFAULT, items::add);
+
+        // Then
+        assertEquals(50, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i).getIndex());
+            assertEquals("SHA-256 with RSA", items.get(i).getCsr().getPublicKeyAlgorithm());
+        }
+    }
+
+    @Test
+    void shouldSkipObjectsExceedingMaxSize() throws IOException {
+        // Given
+        streamProperties.setMaxObjectSize(256);
+        byte[] der = sampleDer();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(der);
+        stream.write((SAMPLE_CSR + "\n").getBytes());
+        List<CsrBatchItem> items = new ArrayList<>();
+
+        // When
+        batchParsCsrService.parseStream(new ByteArrayInputStream(stream.toByteArray()), ParseOptions.DEFAULT, items::add);
+
+        // Then
+        assertEquals(2, items.size());
+        assertEquals("CSR exceeds the maximum size of 256 bytes", items.get(0).getError());
+        assertEquals("CSR exceeds the maximum size of 256 bytes", items.get(1).getError());
+    }
+
+    @Test
+    void shouldReportTruncatedDerAndStop() throws IOException {
+        // Given
+        byte[] der = sampleDer();
+        byte[] truncated = Arrays.copyOf(der, der.length / 2);
+        List<CsrBatchItem> items = new ArrayList<>();
+
+        // When
+        batchParsCsrService.parseStream(new ByteArrayInputStream(truncated), ParseOptions.DEFAULT, items::add);
+
+        // Then
+        assertEquals(1, items.size());
+        assertEquals("Malformed DER data: unexpected end of stream", items.get(0).getError());
+    }
+
+    private static byte[] sampleDer() throws IOException {
+        try (PemReader pemReader = new PemReader(new StringReader(SAMPLE_CSR))) {
+            return pemReader.readPemObject().getContent();
+        }
+    }
+
+    private static MockMultipartFile pemFile(String name, String content) {
+        return new MockMultipartFile("csr", name, "application/x-pem-file", content.getBytes());
+    }
+}
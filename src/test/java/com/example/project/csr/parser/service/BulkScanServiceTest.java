@@ -0,0 +1,198 @@
+package com.example.project.csr.parser.service;
+
+import static com.example.project.csr.parser.container.Container.INVALID_PEM_CSR;
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.project.csr.parser.config.ScanProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.model.ScanFormat;
+import com.example.project.csr.parser.model.ScanSummary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+class BulkScanServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ScanProperties scanProperties;
+    private BulkScanService bulkScanService;
+
+    @BeforeEach
+    void setUp() {
+        scanProperties = new ScanProperties();
+        scanProperties.setParallelism(2);
+        scanProperties.setQueueCapacity(1);
+        StreamProperties streamProperties = new StreamProperties();
+        ParsCsrService parsCsrService = ParsCsrServiceFixture.parsCsrService().streamProperties(streamProperties).build();
+        bulkScanService = new BulkScanService(parsCsrService, scanProperties, streamProperties, new ObjectMapper());
+    }
+
+    @Test
+    void shouldScanDirectoryTreeToNdjson() throws Exception {
+        // Given
+        Path input = Files.createDirectory(tempDir.resolve("input"));
+        Files.writeString(input.resolve("a.csr"), SAMPLE_CSR);
+        Files.createDirectory(input.resolve("sub"));
+        Files.writeString(input.resolve("sub").resolve("b.pem"), SAMPLE_CSR + "\n" + INVALID_PEM_CSR);
+        Files.writeString(input.resolve("notes.txt"), "not scanned");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ScanSummary summary = bulkScanService.scan(input, out);
+
+        // Then
+        assertEquals(2, summary.getFiles());
+        assertEquals(3, summary.getCsrs());
+        assertEquals(1, summary.getFailures());
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals(2, lines.stream().filter(line -> line.contains("\"publicKeyAlgorithm\":\"SHA-256 with RSA\"")).count());
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"source\":\"sub/b.pem\"")
+                && line.contains("\"error\":\"Input is not a valid PKCS#10 CSR\"")));
+    }
+
+    @Test
+    void shouldScanZipArchiveToCsv() throws Exception {
+        // Given
+        scanProperties.setFormat(ScanFormat.CSV);
+        Path input = tempDir.resolve("csrs.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(input))) {
+            for (int i = 0; i < 20; i++) {
+                zip.putNextEntry(new ZipEntry("dir/" + i + ".csr"));
+                zip.write(SAMPLE_CSR.getBytes(StandardCharsets.US_ASCII));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("empty.csr"));
+            zip.closeEntry();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ScanSummary summary = bulkScanService.scan(input, out);
+
+        // Then
+        assertEquals(21, summary.getFiles());
+        assertEquals(1, summary.getFailures());
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("source,index,publicKeyAlgorithm,subject,commonName,subjectAltName,signatureValid,error", lines.get(0));
+        assertEquals(22, lines.size());
+        assertTrue(lines.contains("empty.csr,0,,,,,,No PEM or DER encoded CSR found"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("dir/7.csr,0,SHA-256 with RSA,Country Name (C)= DE; ")));
+    }
+
+    @Test
+    void shouldScanTarArchive() throws Exception {
+        // Given
+        Path input = tempDir.resolve("csrs.tar");
+        try (OutputStream tar = Files.newOutputStream(input)) {
+            writeTarEntry(tar, "a.csr", SAMPLE_CSR.getBytes(StandardCharsets.US_ASCII));
+            writeTarEntry(tar, "readme.md", "ignored".getBytes(StandardCharsets.US_ASCII));
+            writeTarEntry(tar, "b.req", (SAMPLE_CSR + "\n" + SAMPLE_CSR).getBytes(StandardCharsets.US_ASCII));
+            tar.write(new byte[1024]);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ScanSummary summary = bulkScanService.scan(input, out);
+
+        // Then
+        assertEquals(2, summary.getFiles());
+        assertEquals(3, summary.getCsrs());
+        assertEquals(0, summary.getFailures());
+    }
+
+    @Test
+    void shouldScanPemBundleInParallelRegions() throws Exception {
+        // Given
+        StringBuilder pem = new StringBuilder("Bundle exported for audit\n");
+        for (int i = 0; i < 100; i++) {
+            pem.append(i == 42 ? INVALID_PEM_CSR : SAMPLE_CSR).append("\r\n");
+        }
+        Path input = Files.writeString(tempDir.resolve("bundle.pem"), pem);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ScanSummary summary = bulkScanService.scan(input, out);
+
+        // Then
+        assertEquals(1, summary.getFiles());
+        assertEquals(100, summary.getCsrs());
+        assertEquals(1, summary.getFailures());
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(100, lines.size());
+        assertTrue(lines.contains("{\"index\":42,\"source\":\"bundle.pem\",\"error\":\"Input is not a valid PKCS#10 CSR\"}"));
+        assertEquals(100, lines.stream().map(line -> line.substring(0, line.indexOf(','))).distinct().count());
+    }
+
+    @Test
+    void shouldScanDerBundleAndReportTruncatedTail() throws Exception {
+        // Given
+        byte[] der = Base64.getMimeDecoder().decode(SAMPLE_CSR.replaceAll("-----[A-Z ]+-----", ""));
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        for (int i = 0; i < 50; i++) {
+            bundle.writeBytes(der);
+        }
+        bundle.write(der, 0, der.length / 2);
+        Path input = Files.write(tempDir.resolve("bundle.der"), bundle.toByteArray());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ScanSummary summary = bulkScanService.scan(input, out);
+
+        // Then
+        assertEquals(51, summary.getCsrs());
+        assertEquals(1, summary.getFailures());
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"index\":50,\"source\":\"bundle.der\",\"error\":\"Malformed DER data at offset "));
+    }
+
+    @Test
+    void shouldFailOnMissingInput() {
+        // Given
+        Path input = tempDir.resolve("missing.pem");
+
+        // When / Then
+        assertThrows(IOException.class, () -> bulkScanService.scan(input, new ByteArrayOutputStream()));
+    }
+
+    private static void writeTarEntry(OutputStream tar, String name, byte[] content) throws IOException {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        byte[] size = String.format("%011o", content.length).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(size, 0, header, 124, size.length);
+        header[156] = '0';
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        byte[] checksumBytes = String.format("%06o", checksum).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(checksumBytes, 0, header, 148, checksumBytes.length);
+        header[154] = 0;
+        tar.write(header);
+        tar.write(content);
+        tar.write(new byte[(512 - content.length % 512) % 512]);
+    }
+}
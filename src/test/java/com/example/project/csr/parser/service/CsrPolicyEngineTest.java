@@ -0,0 +1,86 @@
+package com.example.project.csr.parser.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.project.csr.parser.config.PolicyProperties;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.PolicyRule;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PublicKeyInfo;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
+
+
+class CsrPolicyEngineTest {
+
+    private static final PublicKeyInfo RSA_2048 = PublicKeyInfo.builder().algorithm(KeyAlgorithm.RSA).keySize(2048).build();
+    private static final List<CsrAttribute> COMMON_NAME_ONLY =
+            List.of(new CsrAttribute(SubjectAttribute.COMMON_NAME, SubjectAttribute.COMMON_NAME.getOid(), "www.domain.de"));
+
+    @Test
+    void shouldReportEveryViolatedRule() {
+        // Given
+        PolicyProperties properties = new PolicyProperties();
+        properties.setEnabled(true);
+        properties.setAllowedSignatureAlgorithms(EnumSet.of(SignatureAlgorithm.SHA256_WITH_ECDSA));
+        properties.setMinKeySize(Map.of(KeyAlgorithm.RSA, 3072));
+        properties.setRequiredSubjectAttributes(EnumSet.of(SubjectAttribute.COUNTRY, SubjectAttribute.ORGANIZATION,
+                SubjectAttribute.COMMON_NAME));
+        properties.setAllowedDomains(List.of("domain.de"));
+        CsrPolicyEngine engine = new CsrPolicyEngine(properties);
+
+        // When
+        List<PolicyViolation> violations = engine.evaluate(SignatureAlgorithm.SHA256_WITH_RSA, SignatureAlgorithm.SHA256_WITH_RSA.getOid(),
+                RSA_2048, COMMON_NAME_ONLY, List.of("www.domain.de", "www.domain.com"));
+        List<PolicyViolation> unknownAlgorithm = engine.evaluate(null, "1.2.3.4", null, COMMON_NAME_ONLY, null);
+
+        // Then
+        assertEquals(List.of(
+                new PolicyViolation(PolicyRule.SIGNATURE_ALGORITHM, "Signature algorithm SHA-256 with RSA is not allowed"),
+                new PolicyViolation(PolicyRule.KEY_SIZE, "RSA key of 2048 bits is below the minimum of 3072 bits"),
+                new PolicyViolation(PolicyRule.SUBJECT_ATTRIBUTE, "Subject lacks the required attribute COUNTRY"),
+                new PolicyViolation(PolicyRule.SUBJECT_ATTRIBUTE, "Subject lacks the required attribute ORGANIZATION"),
+                new PolicyViolation(PolicyRule.SAN_DOMAIN, "DNS name www.domain.com is not within the allowed domains")), violations);
+        assertEquals(PolicyRule.SIGNATURE_ALGORITHM, unknownAlgorithm.get(0).getRule());
+        assertEquals("Signature algorithm 1.2.3.4 is not allowed", unknownAlgorithm.get(0).getMessage());
+    }
+
+    @Test
+    void shouldAllowDomainsAndTheirSubdomainsOnly() {
+        // Given
+        PolicyProperties properties = new PolicyProperties();
+        properties.setEnabled(true);
+        properties.setAllowedDomains(List.of("domain.de", "*.Example.COM", "intra.net."));
+        CsrPolicyEngine engine = new CsrPolicyEngine(properties);
+        List<String> allowed = List.of("domain.de", "www.domain.de", "*.domain.de", "WWW.DOMAIN.DE", "a.b.example.com",
+                "example.com", "host.intra.net.");
+        List<String> denied = List.of("otherdomain.de", "domain.de.evil.com", "de", "*.de", "intra.network", "");
+
+        // When
+        List<PolicyViolation> allowedViolations = engine.evaluate(null, "1.2.3.4", null, List.of(), allowed);
+        List<PolicyViolation> deniedViolations = engine.evaluate(null, "1.2.3.4", null, List.of(), denied);
+
+        // Then
+        assertTrue(allowedViolations.isEmpty());
+        assertEquals(denied.size(), deniedViolations.size());
+    }
+
+    @Test
+    void shouldRejectEmptyAllowedDomain() {
+        // Given
+        PolicyProperties properties = new PolicyProperties();
+        properties.setAllowedDomains(List.of("domain.de", "*."));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new CsrPolicyEngine(properties));
+    }
+}
@@ -1,29 +1,104 @@
 package com.example.project.csr.parser.service;
 
 import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.RDN;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+import org.bouncycastle.util.io.pem.PemReader;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.project.csr.parser.config.PolicyProperties;
+import com.example.project.csr.parser.config.PublicKeyProperties;
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.config.ReuseIndexProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.model.CacheStatistics;
 import com.example.project.csr.parser.model.Csr;
+import com.example.project.csr.parser.model.CsrAttribute;
+import com.example.project.csr.parser.model.CsrExtension;
+import com.example.project.csr.parser.model.CsrField;
+import com.example.project.csr.parser.model.KeyAlgorithm;
+import com.example.project.csr.parser.model.ParseOptions;
+import com.example.project.csr.parser.model.PolicyRule;
+import com.example.project.csr.parser.model.PolicyViolation;
+import com.example.project.csr.parser.model.PssParameters;
+import com.example.project.csr.parser.model.ReuseHits;
+import com.example.project.csr.parser.model.SignatureAlgorithm;
+import com.example.project.csr.parser.model.SubjectAttribute;
 
 
-@ExtendWith(MockitoExtension.class)
 class ParsCsrServiceTest {
 
-    @InjectMocks
+    private CsrResultCache csrResultCache;
+    private SimpleMeterRegistry meterRegistry;
     private ParsCsrService parsCsrService;
 
+    @BeforeEach
+    void setUp() {
+        csrResultCache = new CsrResultCache(new ResultCacheProperties());
+        meterRegistry = new SimpleMeterRegistry();
+        parsCsrService = ParsCsrServiceFixture.parsCsrService().resultCache(csrResultCache).metrics(new CsrParserMetrics(meterRegistry)).build();
+    }
+
     @Test
     void shouldSuccessfullyParseValidCSR() throws IOException {
         // Given
@@ -77,4 +152,515 @@ class ParsCsrServiceTest {
                 parsCsrService.parsePKCS10CertificationRequest(mockFile)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldServeRepeatedCSRFromCache() throws IOException {
+        // Given
+        MultipartFile mockFile = new MockMultipartFile(
+                "test.csr",
+                "test.csr",
+                "application/x-pem-file",
+                SAMPLE_CSR.getBytes()
+        );
+
+        // When
+        Csr first = parsCsrService.parsePKCS10CertificationRequest(mockFile);
+        Csr second = parsCsrService.parsePKCS10CertificationRequest(mockFile);
+
+        // Then
+        assertSame(first, second);
+        CacheStatistics statistics = csrResultCache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+    }
+
+    @Test
+    void shouldParseConcurrentMissesOfTheSameCSROnce() throws Exception {
+        // Given
+        byte[] encoded = new PemReader(new StringReader(SAMPLE_CSR)).readPemObject().getContent();
+        ParseOptions options = ParseOptions.DEFAULT;
+        AtomicInteger parses = new AtomicInteger();
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<byte[], Csr> slowParser = bytes -> {
+            parses.incrementAndGet();
+            parsing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Csr.builder().subject(List.of("CN=test")).build();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Csr> first = executor.submit(() -> csrResultCache.get(encoded, options, slowParser));
+            parsing.await(5, TimeUnit.SECONDS);
+            Future<Csr> second = executor.submit(() -> csrResultCache.get(encoded, options, slowParser));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, parses.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotCacheFailedParses() throws Exception {
+        // Given
+        byte[] encoded = new PemReader(new StringReader(SAMPLE_CSR)).readPemObject().getContent();
+        String parsingThread = Thread.currentThread().getName();
+        Function<byte[], Csr> failingParser = bytes -> {
+            assertEquals(parsingThread, Thread.currentThread().getName());
+            throw new IllegalArgumentException("Input is not a valid PKCS#10 CSR");
+        };
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> csrResultCache.get(encoded, ParseOptions.DEFAULT, failingParser));
+        Csr csr = csrResultCache.get(encoded, ParseOptions.DEFAULT, bytes -> Csr.builder().subject(List.of("CN=test")).build());
+
+        // Then
+        assertEquals(List.of("CN=test"), csr.getSubject());
+        assertEquals(2, csrResultCache.getStatistics().getMissCount());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() throws IOException {
+        // Given
+        ResultCacheProperties properties = new ResultCacheProperties();
+        properties.setEnabled(false);
+        ParsCsrService uncached = ParsCsrServiceFixture.parsCsrService().resultCache(properties).build();
+        MultipartFile mockFile = new MockMultipartFile(
+                "test.csr",
+                "test.csr",
+                "application/x-pem-file",
+                SAMPLE_CSR.getBytes()
+        );
+
+        // When
+        Csr first = uncached.parsePKCS10CertificationRequest(mockFile);
+        Csr second = uncached.parsePKCS10CertificationRequest(mockFile);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first.getSubject(), second.getSubject());
+    }
+
+    @Test
+    void shouldProcessEveryAttributeOfMultiValuedRDN() throws Exception {
+        // Given
+        X500Name subject = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.C, "DE")
+                .addMultiValuedRDN(new ASN1ObjectIdentifier[]{BCStyle.CN, BCStyle.EmailAddress},
+                        new String[]{"www.domain.de", "info@domain.de"})
+                .build();
+        byte[] encoded = generateCsr(subject, null);
+
+        // When
+        Csr result = parsCsrService.parsePKCS10CertificationRequest(encoded);
+
+        // Then
+        assertEquals(List.of("Country Name (C)= DE", "Common Name (CN)= www.domain.de"), result.getSubject());
+        assertEquals(List.of("Email Address= info@domain.de"), result.getSubjectAltName());
+        assertEquals("SHA-256 with ECDSA", result.getPublicKeyAlgorithm());
+    }
+
+    @Test
+    void shouldVerifySignatureOnlyWhenRequested() throws IOException {
+        // Given
+        byte[] encoded = sampleDer();
+        ParseOptions verify = ParseOptions.builder().verifySignature(true).build();
+
+        // When
+        Csr unverified = parsCsrService.parsePKCS10CertificationRequest(encoded);
+        Csr verified = parsCsrService.parsePKCS10CertificationRequest(encoded, verify);
+
+        // Then
+        assertNull(unverified.getSignatureValid());
+        assertEquals(Boolean.TRUE, verified.getSignatureValid());
+        assertEquals(2, csrResultCache.getStatistics().getMissCount());
+    }
+
+    @Test
+    void shouldReportInvalidSignature() throws IOException {
+        // Given
+        byte[] encoded = sampleDer();
+        encoded[encoded.length - 1] ^= 0x01;
+
+        // When
+        Csr result = parsCsrService.parsePKCS10CertificationRequest(encoded, ParseOptions.builder().verifySignature(true).build());
+
+        // Then
+        assertEquals(Boolean.FALSE, result.getSignatureValid());
+    }
+
+    private static byte[] sampleDer() throws IOException {
+        try (PemReader pemReader = new PemReader(new StringReader(SAMPLE_CSR))) {
+            return pemReader.readPemObject().getContent();
+        }
+    }
+
+    @Test
+    void shouldDecodeOnlySelectedExtensions() throws Exception {
+        // Given
+        ExtensionsGenerator extensions = new ExtensionsGenerator();
+        extensions.addExtension(Extension.subjectAlternativeName, false, new GeneralNames(new GeneralName[]{
+                new GeneralName(GeneralName.dNSName, "www.domain.de"),
+                new GeneralName(GeneralName.iPAddress, "192.168.0.1")}));
+        extensions.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.digitalSignature | KeyUsage.keyEncipherment));
+        extensions.addExtension(Extension.extendedKeyUsage, false, new ExtendedKeyUsage(KeyPurposeId.id_kp_serverAuth));
+        extensions.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+        byte[] encoded = generateCsr(new X500Name("CN=www.domain.de"), extensions.generate());
+
+        // When
+        Csr none = parsCsrService.parsePKCS10CertificationRequest(encoded);
+        Csr san = parsCsrService.parsePKCS10CertificationRequest(encoded,
+                ParseOptions.builder().extensions(Set.of(CsrExtension.SUBJECT_ALT_NAME)).build());
+        Csr all = parsCsrService.parsePKCS10CertificationRequest(encoded,
+                ParseOptions.builder().extensions(EnumSet.allOf(CsrExtension.class)).build());
+
+        // Then
+        assertNull(none.getExtensions());
+        assertEquals(List.of("DNS:www.domain.de", "IP:192.168.0.1"), san.getExtensions().getSubjectAltNames());
+        assertNull(san.getExtensions().getKeyUsage());
+        assertEquals(List.of("digitalSignature", "keyEncipherment"), all.getExtensions().getKeyUsage());
+        assertEquals(List.of("serverAuth"), all.getExtensions().getExtendedKeyUsage());
+        assertEquals(Boolean.FALSE, all.getExtensions().getCa());
+    }
+
+    @Test
+    void shouldCheckPolicyDuringExtraction() throws Exception {
+        // Given
+        PolicyProperties properties = new PolicyProperties();
+        properties.setEnabled(true);
+        properties.setMinKeySize(Map.of(KeyAlgorithm.EC, 384));
+        properties.setRequiredSubjectAttributes(EnumSet.of(SubjectAttribute.COMMON_NAME));
+        properties.setAllowedDomains(List.of("domain.de"));
+        ParsCsrService checking = ParsCsrServiceFixture.parsCsrService().policyEngine(new CsrPolicyEngine(properties)).build();
+        ExtensionsGenerator extensions = new ExtensionsGenerator();
+        extensions.addExtension(Extension.subjectAlternativeName, false, new GeneralNames(new GeneralName[]{
+                new GeneralName(GeneralName.dNSName, "www.domain.de"),
+                new GeneralName(GeneralName.dNSName, "www.domain.com")}));
+        byte[] encoded = generateCsr(new X500Name("O=MyCompany"), extensions.generate());
+
+        // When
+        Csr result = checking.parsePKCS10CertificationRequest(encoded, ParseOptions.builder().fields(Set.of(CsrField.ALGORITHM)).build());
+        Csr unchecked = parsCsrService.parsePKCS10CertificationRequest(encoded);
+
+        // Then
+        assertEquals("SHA-256 with ECDSA", result.getPublicKeyAlgorithm());
+        assertNull(result.getPublicKey());
+        assertNull(result.getAttributes());
+        assertEquals(List.of(PolicyRule.KEY_SIZE, PolicyRule.SUBJECT_ATTRIBUTE, PolicyRule.SAN_DOMAIN),
+                result.getViolations().stream().map(PolicyViolation::getRule).toList());
+        assertNull(unchecked.getViolations());
+    }
+
+    @Test
+    void shouldReportSelectedExtensionsAbsentFromCSR() throws IOException {
+        // When
+        Csr result = parsCsrService.parsePKCS10CertificationRequest(sampleDer(),
+                ParseOptions.builder().extensions(EnumSet.allOf(CsrExtension.class)).build());
+
+        // Then
+        assertEquals(List.of(), result.getExtensions().getSubjectAltNames());
+        assertEquals(List.of(), result.getExtensions().getKeyUsage());
+        assertNull(result.getExtensions().getCa());
+    }
+
+    @Test
+    void shouldExtractOnlySelectedFields() throws IOException {
+        // When
+        Csr commonName = parsCsrService.parsePKCS10CertificationRequest(sampleDer(),
+                ParseOptions.builder().fields(Set.of(CsrField.COMMON_NAME)).build());
+        Csr algorithm = parsCsrService.parsePKCS10CertificationRequest(sampleDer(),
+                ParseOptions.builder().fields(Set.of(CsrField.ALGORITHM)).build());
+
+        // Then
+        assertEquals("www.domain.de", commonName.getCommonName());
+        assertNull(commonName.getSubject());
+        assertNull(commonName.getPublicKeyAlgorithm());
+        assertNull(commonName.getSubjectAltName());
+        assertEquals("SHA-256 with RSA", algorithm.getPublicKeyAlgorithm());
+        assertNull(algorithm.getSubject());
+        assertNull(algorithm.getCommonName());
+        assertEquals(2, meterRegistry.get("csr.parse.algorithm").tag("algorithm", "SHA-256 with RSA").counter().count());
+    }
+
+    @Test
+    void shouldRejectMalformedCSRWhenOnlyAlgorithmIsSelected() {
+        // Given
+        ParseOptions options = ParseOptions.builder().fields(Set.of(CsrField.ALGORITHM)).build();
+
+        // Then
+        assertThrows(IllegalArgumentException.class,
+                () -> parsCsrService.parsePKCS10CertificationRequest(new byte[]{0x30, 0x03, 0x02, 0x01, 0x00}, options));
+    }
+
+    @Test
+    void shouldResolveFieldNames() {
+        assertEquals(CsrField.DEFAULT, CsrField.fromParameterNames(List.of()));
+        assertEquals(EnumSet.of(CsrField.COMMON_NAME, CsrField.ALGORITHM), CsrField.fromParameterNames(List.of("cn", "algorithm")));
+        assertEquals(EnumSet.allOf(CsrField.class), CsrField.fromParameterNames(List.of("all")));
+        assertThrows(IllegalArgumentException.class, () -> CsrField.fromParameterNames(List.of("unknown")));
+    }
+
+    @Test
+    void shouldExtractTypedAttributesAndPublicKey() throws Exception {
+        // Given
+        X500Name subject = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.CN, "www.domain.de")
+                .addRDN(BCStyle.EmailAddress, "info@domain.de")
+                .addRDN(BCStyle.SERIALNUMBER, "42")
+                .build();
+        byte[] encoded = generateCsr(subject, null);
+
+        // When
+        Csr result = parsCsrService.parsePKCS10CertificationRequest(encoded,
+                ParseOptions.builder().fields(EnumSet.allOf(CsrField.class)).build());
+
+        // Then
+        assertEquals(List.of(
+                new CsrAttribute(SubjectAttribute.COMMON_NAME, "2.5.4.3", "www.domain.de"),
+                new CsrAttribute(SubjectAttribute.EMAIL_ADDRESS, "1.2.840.113549.1.9.1", "info@domain.de"),
+                new CsrAttribute(null, "2.5.4.5", "42")), result.getAttributes());
+        assertEquals(List.of("Common Name (CN)= www.domain.de"), result.getSubject());
+        assertEquals(List.of("Email Address= info@domain.de"), result.getSubjectAltName());
+        assertEquals(SignatureAlgorithm.SHA256_WITH_ECDSA, result.getSignatureAlgorithm());
+        assertEquals("1.2.840.10045.4.3.2", result.getSignatureAlgorithmOid());
+        assertEquals(KeyAlgorithm.EC, result.getPublicKey().getAlgorithm());
+        assertEquals("1.2.840.10045.2.1", result.getPublicKey().getOid());
+        assertEquals(256, result.getPublicKey().getKeySize());
+        assertEquals("secp256r1", result.getPublicKey().getCurve());
+        assertEquals(64, result.getPublicKey().getFingerprint().length());
+        assertNull(result.getPublicKey().getBlocklisted());
+    }
+
+    @Test
+    void shouldReportRsaKeySize() throws IOException {
+        // When
+        Csr result = parsCsrService.parsePKCS10CertificationRequest(sampleDer(),
+                ParseOptions.builder().fields(Set.of(CsrField.PUBLIC_KEY)).build());
+
+        // Then
+        assertEquals(KeyAlgorithm.RSA, result.getPublicKey().getAlgorithm());
+        assertEquals(2048, result.getPublicKey().getKeySize());
+        assertNull(result.getPublicKey().getCurve());
+        assertNull(result.getSubject());
+    }
+
+    @Test
+    void shouldFlagBlocklistedKeys() throws Exception {
+        // Given
+        ParseOptions options = ParseOptions.builder().fields(Set.of(CsrField.PUBLIC_KEY)).build();
+        String fingerprint = parsCsrService.parsePKCS10CertificationRequest(sampleDer(), options).getPublicKey().getFingerprint();
+        PublicKeyProperties properties = new PublicKeyProperties();
+        properties.setBlocklist(new ByteArrayResource(("# weak keys\n" + fingerprint.toUpperCase() + "\n").getBytes()));
+        ParsCsrService blocking = ParsCsrServiceFixture.parsCsrService().publicKeyAnalyzer(new PublicKeyAnalyzer(properties)).build();
+
+        // When
+        Csr blocked = blocking.parsePKCS10CertificationRequest(sampleDer(), options);
+        Csr other = blocking.parsePKCS10CertificationRequest(generateCsr(new X500Name("CN=www.domain.de"), null), options);
+
+        // Then
+        assertEquals(Boolean.TRUE, blocked.getPublicKey().getBlocklisted());
+        assertEquals(Boolean.FALSE, other.getPublicKey().getBlocklisted());
+    }
+
+    @Test
+    void shouldReportRsaPssParameters() throws Exception {
+        // Given
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSASSA-PSS");
+        generator.initialize(new RSAKeyGenParameterSpec(2048, RSAKeyGenParameterSpec.F4,
+                new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1)));
+        KeyPair keyPair = generator.generateKeyPair();
+        byte[] encoded = new JcaPKCS10CertificationRequestBuilder(new X500Name("CN=www.domain.de"), keyPair.getPublic())
+                .build(new JcaContentSignerBuilder("SHA256withRSAandMGF1").build(keyPair.getPrivate()))
+                .getEncoded();
+
+        // When
+        Csr result = parsCsrService.parsePKCS10CertificationRequest(encoded,
+                ParseOptions.builder().fields(Set.of(CsrField.PUBLIC_KEY)).build());
+
+        // Then
+        assertEquals(KeyAlgorithm.RSASSA_PSS, result.getPublicKey().getAlgorithm());
+        assertEquals(2048, result.getPublicKey().getKeySize());
+        assertEquals(new PssParameters("SHA-256", "SHA-256", 32), result.getPublicKey().getPss());
+    }
+
+    @Test
+    void shouldRejectMalformedBlocklist() {
+        // Given
+        PublicKeyProperties properties = new PublicKeyProperties();
+        properties.setBlocklist(new ByteArrayResource("not a fingerprint\n".getBytes()));
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new PublicKeyAnalyzer(properties));
+    }
+
+    @Test
+    void shouldReportKeyReuseAndRepeatedSubjects() throws Exception {
+        // Given
+        ReuseIndexProperties properties = new ReuseIndexProperties();
+        properties.setEnabled(true);
+        ParsCsrService tracking = reuseTrackingService(properties);
+        X500Name sameSubject = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.C, "de")
+                .addRDN(BCStyle.ST, "BERLIN")
+                .addRDN(BCStyle.L, "berlin")
+                .addRDN(BCStyle.O, "  mycompany ")
+                .addRDN(BCStyle.OU, "it")
+                .addRDN(BCStyle.CN, "WWW.Domain.DE")
+                .addRDN(BCStyle.EmailAddress, "Info@Domain.de")
+                .build();
+
+        // When
+        Csr first = tracking.parsePKCS10CertificationRequest(sampleDer());
+        Csr repeated = tracking.parsePKCS10CertificationRequest(sampleDer());
+        Csr newKey = tracking.parsePKCS10CertificationRequest(generateCsr(sameSubject, null));
+        Csr emptySubject = tracking.parsePKCS10CertificationRequest(generateCsr(new X500Name(new RDN[0]), null));
+
+        // Then
+        assertEquals(new ReuseHits(0, 0), first.getReuse());
+        assertEquals(new ReuseHits(1, 1), repeated.getReuse());
+        assertTrue(repeated.getReuse().isReused());
+        assertEquals(first.getSubject(), repeated.getSubject());
+        assertEquals(new ReuseHits(0, 2), newKey.getReuse());
+        assertEquals(new ReuseHits(0, null), emptySubject.getReuse());
+        assertNull(parsCsrService.parsePKCS10CertificationRequest(sampleDer()).getReuse());
+    }
+
+    @Test
+    void shouldRestoreReuseIndexFromSnapshot(@TempDir Path directory) throws IOException {
+        // Given
+        ReuseIndexProperties properties = new ReuseIndexProperties();
+        properties.setEnabled(true);
+        properties.setSnapshot(directory.resolve("reuse.idx"));
+        CsrReuseIndex index = new CsrReuseIndex(properties);
+        index.record(sampleDer());
+        index.record(sampleDer());
+        index.close();
+
+        // When
+        CsrReuseIndex restored = new CsrReuseIndex(properties);
+        ReuseHits hits = restored.record(sampleDer());
+
+        // Then
+        assertEquals(1, restored.keyCount());
+        assertEquals(1, restored.subjectCount());
+        assertEquals(new ReuseHits(2, 2), hits);
+    }
+
+    @Test
+    void shouldRecordStageTimingsAlgorithmsAndErrors() throws IOException {
+        // Given
+        MultipartFile validFile = new MockMultipartFile("test.csr", "test.csr", "application/x-pem-file", SAMPLE_CSR.getBytes());
+        MultipartFile invalidFile = new MockMultipartFile("invalid.csr", "invalid.csr", "application/x-pem-file",
+                "invalid content".getBytes());
+
+        // When
+        parsCsrService.parsePKCS10CertificationRequest(validFile);
+        assertThrows(IllegalArgumentException.class, () -> parsCsrService.parsePKCS10CertificationRequest(invalidFile));
+
+        // Then
+        assertEquals(2, meterRegistry.get("csr.parse.duration").tag("stage", "pem").timer().count());
+        assertEquals(1, meterRegistry.get("csr.parse.duration").tag("stage", "asn1").timer().count());
+        assertEquals(1, meterRegistry.get("csr.parse.duration").tag("stage", "extraction").timer().count());
+        assertEquals(1, meterRegistry.get("csr.parse.algorithm").tag("algorithm", "SHA-256 with RSA").counter().count());
+        assertEquals(1, meterRegistry.get("csr.parse.errors").tag("type", "invalid").counter().count());
+        assertEquals(0, meterRegistry.get("csr.parse.errors").tag("type", "runtime").counter().count());
+    }
+
+    @Test
+    void shouldDecodeUploadsLikeTheStreamingReader() throws Exception {
+        // Given
+        String body = SAMPLE_CSR.substring(SAMPLE_CSR.indexOf('\n') + 1, SAMPLE_CSR.indexOf("-----END"));
+        List<String> uploads = List.of(
+                SAMPLE_CSR,
+                SAMPLE_CSR.replace("\n", "\r\n"),
+                "Certificate Request:\n    Data: ...\n" + SAMPLE_CSR,
+                "0815 request for host\n" + SAMPLE_CSR,
+                "   " + SAMPLE_CSR,
+                SAMPLE_CSR.replace("CERTIFICATE REQUEST", "NEW CERTIFICATE REQUEST"),
+                SAMPLE_CSR.replace("CERTIFICATE REQUEST", "CERTIFICATE"),
+                SAMPLE_CSR.substring(0, SAMPLE_CSR.indexOf("-----END")),
+                SAMPLE_CSR.replace(body, body.replaceFirst("A", "!")),
+                body,
+                " \n\t",
+                "no armor",
+                "-----BEGIN CERTIFICATE REQUEST-----",
+                SAMPLE_CSR.repeat(150));
+        int maxObjectSize = new StreamProperties().getMaxObjectSize();
+
+        for (String upload : uploads) {
+            byte[] bytes = upload.getBytes();
+
+            // When
+            String decoded = outcome(() -> parsCsrService.decodeUpload(new ByteArrayInputStream(bytes)));
+
+            // Then
+            assertEquals(outcome(() -> new EncodedCsrReader(new ByteArrayInputStream(bytes), maxObjectSize).next()),
+                    decoded, upload);
+        }
+    }
+
+    @Test
+    void shouldSkipPreambleLineStartingWithZero(@TempDir Path directory) throws Exception {
+        // Given
+        byte[] upload = ("0815 request for host\n" + SAMPLE_CSR).getBytes();
+        int maxObjectSize = new StreamProperties().getMaxObjectSize();
+        Path bundle = Files.write(directory.resolve("bundle.pem"), upload);
+        List<byte[]> mapped = new ArrayList<>();
+
+        // When
+        byte[] streamed = new EncodedCsrReader(new ByteArrayInputStream(upload), maxObjectSize).next();
+        byte[] text = EncodedCsrReader.decodeText(upload, maxObjectSize);
+        byte[] pooled = parsCsrService.decodeUpload(new ByteArrayInputStream(upload));
+        CsrFrameDecoder decoder = new CsrFrameDecoder(maxObjectSize);
+        List<CsrFrameDecoder.Frame> frames = new ArrayList<>(decoder.decode(ByteBuffer.wrap(upload)));
+        frames.addAll(decoder.finish());
+        try (MappedCsrBundle csrBundle = MappedCsrBundle.open(bundle, maxObjectSize)) {
+            for (MappedCsrBundle.Region region : csrBundle.split(1)) {
+                csrBundle.scan(region, (offset, encoded, error) -> mapped.add(encoded));
+            }
+        }
+
+        // Then
+        assertArrayEquals(sampleDer(), streamed);
+        assertArrayEquals(sampleDer(), text);
+        assertArrayEquals(sampleDer(), pooled);
+        assertEquals(1, frames.size());
+        assertArrayEquals(sampleDer(), frames.get(0).encoded());
+        assertEquals(1, mapped.size());
+        assertArrayEquals(sampleDer(), mapped.get(0));
+    }
+
+    private static String outcome(Callable<byte[]> decode) {
+        try {
+            byte[] der = decode.call();
+            return der == null ? "null" : HexFormat.of().formatHex(der);
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private static ParsCsrService reuseTrackingService(ReuseIndexProperties properties) {
+        return ParsCsrServiceFixture.parsCsrService().reuseIndex(new CsrReuseIndex(properties)).build();
+    }
+
+    private static byte[] generateCsr(X500Name subject, Extensions extensions) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        KeyPair keyPair = generator.generateKeyPair();
+        JcaPKCS10CertificationRequestBuilder builder = new JcaPKCS10CertificationRequestBuilder(subject, keyPair.getPublic());
+        if (extensions != null) {
+            builder.addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest, extensions);
+        }
+        return builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate())).getEncoded();
+    }
+}
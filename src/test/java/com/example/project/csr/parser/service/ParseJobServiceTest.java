@@ -0,0 +1,276 @@
+package com.example.project.csr.parser.service;
+
+import static com.example.project.csr.parser.container.Container.INVALID_PEM_CSR;
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.project.csr.parser.config.BatchProperties;
+import com.example.project.csr.parser.config.JobProperties;
+import com.example.project.csr.parser.config.StreamProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.exceptions.throwable.InvalidCsrFileExceptions;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.example.project.csr.parser.model.JobPage;
+import com.example.project.csr.parser.model.JobState;
+import com.example.project.csr.parser.model.JobStatus;
+import com.example.project.csr.parser.model.ParseOptions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+class ParseJobServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ExecutorService parserExecutor;
+    private ExecutorService jobExecutor;
+    private JobProperties jobProperties;
+    private BatchParsCsrService batchParsCsrService;
+    private final List<ParseJobService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        parserExecutor = Executors.newFixedThreadPool(2);
+        jobExecutor = Executors.newSingleThreadExecutor();
+        jobProperties = new JobProperties();
+        jobProperties.setDirectory(directory);
+        jobProperties.setPageSize(2);
+        StreamProperties streamProperties = new StreamProperties();
+        CsrParserMetrics metrics = new CsrParserMetrics(new SimpleMeterRegistry());
+        ParsCsrService parsCsrService = ParsCsrServiceFixture.parsCsrService().metrics(metrics).streamProperties(streamProperties).build();
+        batchParsCsrService = new BatchParsCsrService(parsCsrService, parserExecutor, metrics, new BatchProperties(), streamProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ParseJobService::close);
+        jobExecutor.shutdownNow();
+        parserExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldPageResultsOfACompletedJob() throws Exception {
+        // Given
+        ParseJobService service = service(jobExecutor);
+        String bundle = SAMPLE_CSR + "\n" + INVALID_PEM_CSR + "\n" + SAMPLE_CSR + "\n" + SAMPLE_CSR + "\n" + SAMPLE_CSR;
+
+        // When
+        JobStatus submitted = service.submit("tenant-a", body(bundle), ParseOptions.DEFAULT);
+        JobStatus finished = awaitFinished(service, "tenant-a", submitted.getId());
+        JobPage first = service.getPage("tenant-a", submitted.getId(), 0);
+        JobPage last = service.getPage("tenant-a", submitted.getId(), 2);
+        JobPage beyond = service.getPage("tenant-a", submitted.getId(), 3);
+
+        // Then
+        assertEquals(JobState.COMPLETED, finished.getState());
+        assertEquals(5, finished.getItemsProcessed());
+        assertEquals(1, finished.getItemsFailed());
+        assertEquals(3, finished.getPages());
+        assertEquals(1.0, finished.getProgress());
+        assertEquals(2, first.getItems().size());
+        assertEquals("Input is not a valid PKCS#10 CSR", first.getItems().get(1).get("error").asText());
+        assertEquals(1, last.getItems().size());
+        assertEquals(4, last.getItems().get(0).get("index").asInt());
+        assertEquals("SHA-256 with RSA", last.getItems().get(0).get("csr").get("publicKeyAlgorithm").asText());
+        assertTrue(beyond.getItems().isEmpty());
+        assertFalse(Files.exists(directory.resolve(submitted.getId() + ".input")));
+    }
+
+    @Test
+    void shouldLimitActiveJobsPerTenant() throws Exception {
+        // Given
+        jobProperties.setMaxActiveJobsPerTenant(1);
+        CountDownLatch release = new CountDownLatch(1);
+        jobExecutor.execute(() -> awaitQuietly(release));
+        ParseJobService service = service(jobExecutor);
+        JobStatus queued = service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+
+        // When
+        InvalidCsrFileExceptions exception = assertThrows(InvalidCsrFileExceptions.class, () ->
+                service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT)
+        );
+        JobStatus otherTenant = service.submit("tenant-b", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+        release.countDown();
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getResponseStatus());
+        assertEquals(JobState.QUEUED, queued.getState());
+        assertEquals(JobState.COMPLETED, awaitFinished(service, "tenant-a", queued.getId()).getState());
+        assertEquals(JobState.COMPLETED, awaitFinished(service, "tenant-b", otherTenant.getId()).getState());
+        // the slot is released once the job has finished
+        awaitFinished(service, "tenant-a", service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT).getId());
+    }
+
+    @Test
+    void shouldRejectJobsWhenTheQueueIsFull() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService busyExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        busyExecutor.execute(() -> awaitQuietly(release));
+        ParseJobService service = service(busyExecutor);
+
+        try {
+            // When
+            InvalidCsrFileExceptions exception = assertThrows(InvalidCsrFileExceptions.class, () ->
+                    service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT)
+            );
+
+            // Then
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getResponseStatus());
+            assertEquals(0, countFiles());
+        } finally {
+            release.countDown();
+            busyExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldHideJobsOfOtherTenants() throws Exception {
+        // Given
+        ParseJobService service = service(jobExecutor);
+        JobStatus submitted = service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+
+        // When
+        InvalidCsrFileExceptions exception = assertThrows(InvalidCsrFileExceptions.class, () ->
+                service.getPage("tenant-b", submitted.getId(), 0)
+        );
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, exception.getResponseStatus());
+    }
+
+    @Test
+    void shouldRejectUploadsExceedingMaxSize() throws IOException {
+        // Given
+        jobProperties.setMaxUploadSize(100);
+        ParseJobService service = service(jobExecutor);
+
+        // When
+        InvalidCsrFileExceptions exception = assertThrows(InvalidCsrFileExceptions.class, () ->
+                service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT)
+        );
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getResponseStatus());
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void shouldDeleteJobAndItsFiles() throws Exception {
+        // Given
+        Files.writeString(directory.resolve("stale.ndjson"), "{}");
+        ParseJobService service = service(jobExecutor);
+        JobStatus submitted = service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+        awaitFinished(service, "tenant-a", submitted.getId());
+
+        // When
+        JobStatus deleted = service.delete("tenant-a", submitted.getId());
+
+        // Then
+        assertEquals(JobState.COMPLETED, deleted.getState());
+        assertEquals(0, countFiles());
+        assertThrows(InvalidCsrFileExceptions.class, () -> service.getPage("tenant-a", submitted.getId(), 0));
+    }
+
+    @Test
+    void shouldReleaseTheSlotOfADeletedQueuedJob() throws Exception {
+        // Given
+        jobProperties.setMaxActiveJobsPerTenant(1);
+        CountDownLatch release = new CountDownLatch(1);
+        jobExecutor.execute(() -> awaitQuietly(release));
+        ParseJobService service = service(jobExecutor);
+        JobStatus queued = service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+
+        // When
+        JobStatus deleted = service.delete("tenant-a", queued.getId());
+        JobStatus resubmitted = service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+        release.countDown();
+
+        // Then
+        assertEquals(JobState.CANCELLED, deleted.getState());
+        assertEquals(JobState.COMPLETED, awaitFinished(service, "tenant-a", resubmitted.getId()).getState());
+    }
+
+    @Test
+    void shouldRemoveExpiredJobsWithoutRequests() throws Exception {
+        // Given
+        jobProperties.setRetention(Duration.ZERO);
+        jobProperties.setExpiryInterval(Duration.ofMillis(20));
+        ParseJobService service = service(jobExecutor);
+        JobStatus submitted = service.submit("tenant-a", body(SAMPLE_CSR), ParseOptions.DEFAULT);
+
+        // When
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countFiles() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertEquals(0, countFiles());
+        assertThrows(InvalidCsrFileExceptions.class, () -> service.getPage("tenant-a", submitted.getId(), 0));
+    }
+
+    private ParseJobService service(ExecutorService executor) {
+        ParseJobService service = new ParseJobService(batchParsCsrService, executor, jobProperties, new ObjectMapper(), Clock.systemUTC());
+        services.add(service);
+        return service;
+    }
+
+    private static JobStatus awaitFinished(ParseJobService service, String tenant, String id) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            JobStatus status = service.getPage(tenant, id, 0).getJob();
+            if (status.getState().isFinished() || System.nanoTime() > deadline) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
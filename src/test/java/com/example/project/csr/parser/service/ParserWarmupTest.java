@@ -0,0 +1,48 @@
+package com.example.project.csr.parser.service;
+
+import static com.example.project.csr.parser.container.Container.SAMPLE_CSR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.project.csr.parser.config.ResultCacheProperties;
+import com.example.project.csr.parser.config.ReuseIndexProperties;
+import com.example.project.csr.parser.config.WarmupProperties;
+import com.example.project.csr.parser.container.ParsCsrServiceFixture;
+import com.example.project.csr.parser.metrics.CsrParserMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+class ParserWarmupTest {
+
+    @Test
+    void shouldLeaveNoTraceOfTheSample() {
+        // Given
+        CsrResultCache csrResultCache = new CsrResultCache(new ResultCacheProperties());
+        ReuseIndexProperties reuseProperties = new ReuseIndexProperties();
+        reuseProperties.setEnabled(true);
+        CsrReuseIndex reuseIndex = new CsrReuseIndex(reuseProperties);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ParsCsrService parsCsrService = ParsCsrServiceFixture.parsCsrService().resultCache(csrResultCache).reuseIndex(reuseIndex)
+                .metrics(new CsrParserMetrics(meterRegistry)).build();
+        WarmupProperties properties = new WarmupProperties();
+        properties.setIterations(3);
+
+        // When
+        new ParserWarmup(parsCsrService, new ObjectMapper(), properties).afterSingletonsInstantiated();
+
+        // Then
+        assertEquals(0, csrResultCache.getStatistics().getSize());
+        assertEquals(0, reuseIndex.keyCount());
+        assertEquals(0, meterRegistry.get("csr.parse.duration").timers().stream().mapToLong(Timer::count).sum());
+        assertNull(meterRegistry.find("csr.parse.algorithm").counter());
+        byte[] encoded = Base64.getMimeDecoder().decode(SAMPLE_CSR.replaceAll("-----[^-]+-----", ""));
+        assertEquals(0, parsCsrService.parsePKCS10CertificationRequest(encoded).getReuse().getPreviousKeyUses());
+    }
+}